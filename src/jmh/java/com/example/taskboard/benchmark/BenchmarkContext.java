@@ -0,0 +1,101 @@
+package com.example.taskboard.benchmark;
+
+import com.example.taskboard.TaskBoardApplication;
+import com.example.taskboard.service.RankKeys;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application against a private in-memory H2 database for benchmarking,
+ * and seeds it with tasks through JDBC batches.
+ */
+final class BenchmarkContext {
+
+    private static final int SEED_BATCH_SIZE = 5_000;
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * Starts the application without a web server.
+     *
+     * @param databaseName the name of the in-memory database; use a distinct name per benchmark state
+     * @param extraProperties additional properties, e.g. to select an engine or mode
+     * @return the running application context
+     */
+    static ConfigurableApplicationContext start(String databaseName, String... extraProperties) {
+        return start(WebApplicationType.NONE, databaseName, extraProperties);
+    }
+
+    /**
+     * Starts the application.
+     *
+     * @param webApplicationType whether to start an embedded web server
+     * @param databaseName the name of the in-memory database; use a distinct name per benchmark state
+     * @param extraProperties additional properties, e.g. to select an engine or mode
+     * @return the running application context
+     */
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String databaseName,
+                                                String... extraProperties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                "--spring.sql.init.mode=never",
+                "--spring.flyway.locations=classpath:db/migration",
+                "--spring.jpa.show-sql=false",
+                "--spring.main.banner-mode=off",
+                "--server.port=0",
+                "--logging.level.root=WARN"));
+        for (String property : extraProperties) {
+            args.add("--" + property);
+        }
+        SpringApplication application = new SpringApplication(TaskBoardApplication.class);
+        application.setWebApplicationType(webApplicationType);
+        return application.run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Creates task lists and spreads tasks evenly across them.
+     *
+     * @param jdbcTemplate the template of the benchmark context
+     * @param listCount the number of task lists to create
+     * @param taskCount the total number of tasks to create
+     * @return the IDs of the created task lists
+     */
+    static List<Long> seed(JdbcTemplate jdbcTemplate, int listCount, int taskCount) {
+        List<Object[]> lists = new ArrayList<>(listCount);
+        for (int i = 0; i < listCount; i++) {
+            lists.add(new Object[]{"List " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO task_list (name) VALUES (?)", lists);
+        List<Long> listIds = jdbcTemplate.queryForList("SELECT id FROM task_list ORDER BY id", Long.class);
+        listIds = listIds.subList(listIds.size() - listCount, listIds.size());
+        seedTasks(jdbcTemplate, listIds, taskCount);
+        return listIds;
+    }
+
+    /**
+     * Adds tasks to existing task lists, spread evenly across them and ranked in insertion order within each list.
+     *
+     * @param jdbcTemplate the template of the benchmark context
+     * @param listIds the task lists to add tasks to
+     * @param taskCount the total number of tasks to add
+     */
+    static void seedTasks(JdbcTemplate jdbcTemplate, List<Long> listIds, int taskCount) {
+        List<String> rankKeys = RankKeys.between(null, RankKeys.MIDDLE, (taskCount + listIds.size() - 1) / listIds.size());
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < taskCount; i++) {
+            batch.add(new Object[]{"Task " + i, "Description " + i, listIds.get(i % listIds.size()),
+                    rankKeys.get(i / listIds.size())});
+            if (batch.size() == SEED_BATCH_SIZE || i == taskCount - 1) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO task (name, description, task_list_id, rank_key) VALUES (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.taskboard.benchmark;
+
+import com.example.taskboard.service.TaskService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A running application whose database is seeded with {@link #taskCount} tasks,
+ * {@value #TASKS_PER_LIST} per task list. Shared by every thread of a benchmark.
+ */
+@State(Scope.Benchmark)
+public class BoardState {
+
+    /** Number of tasks seeded into each task list. */
+    public static final int TASKS_PER_LIST = 100;
+
+    @Param({"1000", "100000", "1000000"})
+    public int taskCount;
+
+    ConfigurableApplicationContext context;
+
+    TaskService taskService;
+
+    JdbcTemplate jdbcTemplate;
+
+    private List<Long> listIds;
+
+    private long minTaskId;
+
+    private long maxTaskId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(WebApplicationType.SERVLET, "board-" + taskCount);
+        taskService = context.getBean(TaskService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        listIds = BenchmarkContext.seed(jdbcTemplate, Math.max(1, taskCount / TASKS_PER_LIST), taskCount);
+        minTaskId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM task", Long.class);
+        maxTaskId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM task", Long.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * @return the ID of a random seeded task
+     */
+    long randomTaskId() {
+        return ThreadLocalRandom.current().nextLong(minTaskId, maxTaskId + 1);
+    }
+
+    /**
+     * @return the ID of a random seeded task list
+     */
+    long randomListId() {
+        return listIds.get(ThreadLocalRandom.current().nextInt(listIds.size()));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.taskboard.benchmark;
+
+import com.example.taskboard.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures deleting one task list as the number of tasks in it grows.
+ * With set-based deletes the time should stay close to flat instead of growing by one
+ * statement per task.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeleteTaskListBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    private int tasksPerList;
+
+    private ConfigurableApplicationContext context;
+
+    private TaskService taskService;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private Long listId;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContext.start("delete-task-list");
+        taskService = context.getBean(TaskService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void seedList() {
+        List<Long> listIds = BenchmarkContext.seed(jdbcTemplate, 1, tasksPerList);
+        listId = listIds.get(0);
+    }
+
+    @Benchmark
+    public void deleteTaskList() {
+        taskService.deleteTaskList(listId);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+}
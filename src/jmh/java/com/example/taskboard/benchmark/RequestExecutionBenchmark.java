@@ -0,0 +1,92 @@
+package com.example.taskboard.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares request handling on Tomcat's platform thread pool with virtual threads under a burst
+ * of concurrent clients, over real HTTP. Caching is disabled so every request reaches the database
+ * through the bulkhead; rejected (503) and successful requests are reported as separate counters.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(400)
+@State(Scope.Benchmark)
+public class RequestExecutionBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private String baseUrl;
+
+    private List<Long> listIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(WebApplicationType.SERVLET, "requests-" + threads,
+                "spring.threads.virtual.enabled=" + threads.equals("virtual"),
+                "taskboard.cache.enabled=false",
+                "taskboard.search.rebuild-on-startup=false");
+        listIds = BenchmarkContext.seed(context.getBean(JdbcTemplate.class), 1_000, 100_000);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port + "/api";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public void getTaskListSummaryPage(Outcomes outcomes) throws Exception {
+        long after = listIds.get(ThreadLocalRandom.current().nextInt(listIds.size()));
+        send("/tasklists?view=summary&size=50&after=" + after, outcomes);
+    }
+
+    private void send(String path, Outcomes outcomes) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status == 503) {
+            outcomes.rejected++;
+        } else {
+            outcomes.ok++;
+        }
+    }
+
+    /**
+     * Per-thread counts of successful and rejected requests, reported next to the throughput.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long ok;
+
+        public long rejected;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ok = 0;
+            rejected = 0;
+        }
+    }
+}
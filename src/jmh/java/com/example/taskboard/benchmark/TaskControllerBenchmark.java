@@ -0,0 +1,63 @@
+package com.example.taskboard.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Measures the REST hot paths of TaskController through MockMvc, including request mapping,
+ * argument binding and JSON rendering, against an H2 database seeded with 1k, 100k and 1M tasks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TaskControllerBenchmark {
+
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void setUp(BoardState board) {
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) board.context).build();
+    }
+
+    @Benchmark
+    public byte[] getAllTaskLists() throws Exception {
+        return mockMvc.perform(get("/api/tasklists")).andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getTaskListSummaryPage() throws Exception {
+        return mockMvc.perform(get("/api/tasklists").param("view", "summary").param("size", "50"))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getTaskById(BoardState board) throws Exception {
+        return mockMvc.perform(get("/api/tasks/{taskId}", board.randomTaskId()))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] addTaskToList(BoardState board) throws Exception {
+        return mockMvc.perform(post("/api/tasklists/{listId}/tasks", board.randomListId())
+                        .param("name", "Benchmark task").param("description", "Added by benchmark"))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public int moveTaskToList(BoardState board) throws Exception {
+        return mockMvc.perform(put("/api/tasks/{taskId}/move", board.randomTaskId())
+                        .param("newListId", String.valueOf(board.randomListId())))
+                .andReturn().getResponse().getStatus();
+    }
+}
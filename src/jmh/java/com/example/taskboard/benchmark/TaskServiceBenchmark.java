@@ -0,0 +1,62 @@
+package com.example.taskboard.benchmark;
+
+import com.example.taskboard.dto.TaskDetails;
+import com.example.taskboard.dto.TaskListDetails;
+import com.example.taskboard.model.Task;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the TaskService hot paths against an H2 database seeded with 1k, 100k and 1M tasks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskServiceBenchmark {
+
+    @Benchmark
+    public List<TaskListDetails> getAllTaskLists(BoardState board) {
+        return board.taskService.getAllTaskLists();
+    }
+
+    @Benchmark
+    public TaskDetails getTaskById(BoardState board) {
+        return board.taskService.getTaskById(board.randomTaskId());
+    }
+
+    @Benchmark
+    public Task addTaskToList(BoardState board) {
+        return board.taskService.addTaskToList(board.randomListId(), "Benchmark task", "Added by benchmark");
+    }
+
+    @Benchmark
+    public void moveTaskToList(BoardState board) {
+        board.taskService.moveTaskToList(board.randomTaskId(), board.randomListId(), null);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 20)
+    public void deleteTaskList(BoardState board, FreshList list) {
+        board.taskService.deleteTaskList(list.listId);
+    }
+
+    /**
+     * A task list with {@value BoardState#TASKS_PER_LIST} tasks created before each deletion,
+     * so the seeded board keeps its size.
+     */
+    @State(Scope.Thread)
+    public static class FreshList {
+        Long listId;
+
+        @Setup(Level.Invocation)
+        public void create(BoardState board) {
+            listId = BenchmarkContext.seed(board.jdbcTemplate, 1, BoardState.TASKS_PER_LIST).get(0);
+        }
+    }
+}
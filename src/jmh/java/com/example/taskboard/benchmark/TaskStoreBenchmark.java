@@ -0,0 +1,137 @@
+package com.example.taskboard.benchmark;
+
+import com.example.taskboard.dto.TaskDetails;
+import com.example.taskboard.dto.TaskImportItem;
+import com.example.taskboard.dto.TaskItem;
+import com.example.taskboard.model.Task;
+import com.example.taskboard.service.RankKeys;
+import com.example.taskboard.service.TaskService;
+import com.example.taskboard.store.TaskStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares the JPA and in-memory task store engines on the TaskService hot paths, with 100k tasks
+ * spread over 1k lists. The task cache is disabled so every read reaches the engine, and the
+ * benchmark runs on eight threads so the engines' locking is exercised. {@code memory-log} is the
+ * in-memory engine with its write-ahead log in a temporary directory, so each write waits for an
+ * {@code msync} shared with the concurrent writers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(8)
+@State(Scope.Benchmark)
+public class TaskStoreBenchmark {
+
+    private static final int LIST_COUNT = 1_000;
+
+    private static final int TASK_COUNT = 100_000;
+
+    @Param({"jpa", "memory", "memory-log"})
+    public String engine;
+
+    private ConfigurableApplicationContext context;
+
+    private Path logDirectory;
+
+    private TaskService taskService;
+
+    private List<Long> listIds;
+
+    private List<Long> taskIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<String> properties = new ArrayList<>(List.of(
+                "taskboard.cache.enabled=false",
+                "taskboard.bulkhead.max-wait-millis=10000",
+                "taskboard.search.rebuild-on-startup=false"));
+        if (engine.equals("memory-log")) {
+            logDirectory = Files.createTempDirectory("board-log");
+            properties.add("taskboard.store.engine=memory");
+            properties.add("taskboard.store.memory.log.enabled=true");
+            properties.add("taskboard.store.memory.log.directory=" + logDirectory);
+        } else {
+            properties.add("taskboard.store.engine=" + engine);
+        }
+        context = BenchmarkContext.start("store-" + engine, properties.toArray(String[]::new));
+        taskService = context.getBean(TaskService.class);
+        TaskStore taskStore = context.getBean(TaskStore.class);
+        listIds = new ArrayList<>(LIST_COUNT);
+        for (int i = 0; i < LIST_COUNT; i++) {
+            listIds.add(taskStore.createTaskList("List " + i).getId());
+        }
+        // Seed through the store so both engines hold the same board
+        List<String> rankKeys = RankKeys.between(null, RankKeys.MIDDLE, TASK_COUNT / LIST_COUNT);
+        taskIds = new ArrayList<>(TASK_COUNT);
+        List<TaskImportItem> items = new ArrayList<>(LIST_COUNT);
+        List<String> keys = new ArrayList<>(LIST_COUNT);
+        for (String rankKey : rankKeys) {
+            items.clear();
+            keys.clear();
+            for (Long listId : listIds) {
+                items.add(new TaskImportItem(listId, "Task", "Seeded by benchmark"));
+                keys.add(rankKey);
+            }
+            taskIds.addAll(taskStore.insertTasks(items, keys));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        if (logDirectory != null) {
+            try (Stream<Path> files = Files.walk(logDirectory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public TaskDetails getTaskById() {
+        return taskService.getTaskById(randomTaskId());
+    }
+
+    @Benchmark
+    public List<TaskItem> getTaskPage() {
+        return taskService.getTaskPage(randomListId(), null, 20).items();
+    }
+
+    @Benchmark
+    public void updateTask() {
+        taskService.updateTask(randomTaskId(), "Updated", "Updated by benchmark", null);
+    }
+
+    @Benchmark
+    public void moveTaskToList() {
+        taskService.moveTaskToList(randomTaskId(), randomListId(), null);
+    }
+
+    @Benchmark
+    public Task addTaskToList() {
+        return taskService.addTaskToList(randomListId(), "Benchmark task", "Added by benchmark");
+    }
+
+    private long randomTaskId() {
+        return taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+    }
+
+    private long randomListId() {
+        return listIds.get(ThreadLocalRandom.current().nextInt(listIds.size()));
+    }
+}
@@ -2,11 +2,13 @@ package com.example.taskboard;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main class for the Task Board application.
  */
 @SpringBootApplication
+@EnableScheduling
 public class TaskBoardApplication {
 
 	/**
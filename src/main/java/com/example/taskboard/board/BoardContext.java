@@ -0,0 +1,85 @@
+package com.example.taskboard.board;
+
+import java.util.regex.Pattern;
+
+/**
+ * The board the current thread is working on.
+ * <p>
+ * Every task list and task belongs to one board, and everything below the controller reads the
+ * board from here: the database shard a connection is taken from, the Hibernate tenant restriction
+ * on every query, cache keys, change events, the board version and the search index. The
+ * {@link BoardFilter} sets it from the {@value #HEADER} header of each request; background work
+ * opens a {@link Scope} for the board it acts on. Threads outside any scope work on
+ * {@value #DEFAULT}, the board that held every task list before boards existed.
+ */
+public final class BoardContext {
+
+    /** Request header naming the board a request works on. */
+    public static final String HEADER = "X-Board-Id";
+
+    /** The board used when none is named. */
+    public static final String DEFAULT = "default";
+
+    private static final Pattern VALID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private BoardContext() {
+    }
+
+    /**
+     * @return the board the current thread works on
+     */
+    public static String current() {
+        String board = CURRENT.get();
+        return board != null ? board : DEFAULT;
+    }
+
+    /**
+     * Switches the current thread to a board until the returned scope is closed, which restores
+     * the previous board.
+     *
+     * @param board the board ID
+     * @return the scope to close
+     */
+    public static Scope open(String board) {
+        String previous = CURRENT.get();
+        CURRENT.set(board);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * @param board a board ID sent by a client
+     * @return whether it is 1 to 64 letters, digits, hyphens or underscores
+     */
+    public static boolean isValid(String board) {
+        return board != null && VALID.matcher(board).matches();
+    }
+
+    /**
+     * Maps a board to one of {@code shards} database shards. The default board always lives on
+     * shard 0, the database used before sharding, so existing data stays where it is.
+     *
+     * @param board the board ID
+     * @param shards the number of shards
+     * @return the shard index, from 0 to {@code shards - 1}
+     */
+    public static int shardOf(String board, int shards) {
+        return board.equals(DEFAULT) ? 0 : Math.floorMod(board.hashCode(), shards);
+    }
+
+    /**
+     * A board switch that is undone on close.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
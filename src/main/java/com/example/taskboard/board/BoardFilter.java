@@ -0,0 +1,50 @@
+package com.example.taskboard.board;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Runs each request on the board named by its {@value BoardContext#HEADER} header, or on the
+ * default board when the header is absent. Requests naming an invalid board are rejected with
+ * 400, as are requests for any board other than the default one when the in-memory store, which
+ * holds a single board, is in use.
+ */
+@Component
+public class BoardFilter extends OncePerRequestFilter {
+
+    @Value("${taskboard.store.engine:jpa}")
+    private String engine = "jpa";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String board = request.getHeader(BoardContext.HEADER);
+        if (board == null) {
+            board = BoardContext.DEFAULT;
+        } else if (!BoardContext.isValid(board)) {
+            reject(response, "Invalid board ID: must be 1 to 64 letters, digits, hyphens or underscores");
+            return;
+        } else if (!board.equals(BoardContext.DEFAULT) && !engine.equals("jpa")) {
+            reject(response, "The " + engine + " task store only holds the " + BoardContext.DEFAULT + " board");
+            return;
+        }
+        try (BoardContext.Scope scope = BoardContext.open(board)) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private void reject(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.getWriter().write(message);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.taskboard.board;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data source that hands out connections from the shard holding the current board, so boards on
+ * different shards never contend for the same connection pool or database file. The shard is
+ * chosen when a connection is requested, which for transactional work is when the transaction
+ * begins; a transaction therefore never spans two shards.
+ */
+public class BoardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final List<DataSource> shards;
+
+    /**
+     * @param shards one data source per shard, shard 0 first
+     */
+    public BoardRoutingDataSource(List<DataSource> shards) {
+        this.shards = List.copyOf(shards);
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * @return the data source of every shard, shard 0 first
+     */
+    public List<DataSource> getShards() {
+        return shards;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return BoardContext.shardOf(BoardContext.current(), shards.size());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.taskboard.board;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Maps holding in-memory state per board, such as snapshots, versions and search indexes.
+ * <p>
+ * Board IDs come from clients, so any valid ID can reach these maps. To keep the heap bounded, a
+ * board's entry is dropped once the board has not been used for {@link #IDLE_EXPIRY}, or when
+ * more than {@link #MAX_BOARDS} boards have state. A dropped entry is recreated, and if needed
+ * rebuilt from the store, the next time the board is used.
+ */
+public final class BoardStates {
+
+    /** How long a board's state is kept after its last use. */
+    public static final Duration IDLE_EXPIRY = Duration.ofMinutes(30);
+
+    /** The most boards whose state is kept at once. */
+    public static final long MAX_BOARDS = 10_000;
+
+    private BoardStates() {
+    }
+
+    /**
+     * @return an empty, bounded map from board ID to state, in which every lookup counts as a use
+     */
+    public static <V> ConcurrentMap<String, V> newMap() {
+        return Caffeine.newBuilder()
+                .expireAfterAccess(IDLE_EXPIRY)
+                .maximumSize(MAX_BOARDS)
+                .<String, V>build()
+                .asMap();
+    }
+}
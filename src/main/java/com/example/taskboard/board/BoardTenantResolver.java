@@ -0,0 +1,32 @@
+package com.example.taskboard.board;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Gives every Hibernate session the current board as its tenant. Hibernate then fills the
+ * {@code @TenantId} board column of new rows and restricts every query to the session's board,
+ * so boards sharing a database shard never see each other's task lists and tasks.
+ */
+@Component
+public class BoardTenantResolver implements CurrentTenantIdentifierResolver<String>, HibernatePropertiesCustomizer {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return BoardContext.current();
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, this);
+    }
+}
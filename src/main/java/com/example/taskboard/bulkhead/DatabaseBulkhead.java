@@ -0,0 +1,111 @@
+package com.example.taskboard.bulkhead;
+
+import com.example.taskboard.board.BoardContext;
+import com.example.taskboard.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulkhead that bounds how many {@code TaskService} calls may use the database at once.
+ * <p>
+ * With virtual threads there is no request thread pool to cap concurrency, so every request
+ * would otherwise queue inside HikariCP until its connection timeout. Calls instead wait a short,
+ * bounded time for a permit and are rejected with a {@link ServiceOverloadedException} (503) when
+ * none frees up. The bulkhead runs inside the cache interceptor, so cache hits never take a permit,
+ * and outside the transaction interceptor, so a permit is held before a connection is requested.
+ * It is only installed with the JPA task store; the in-memory store uses no connections. Each
+ * database shard has its own connection pool and therefore its own permits, taken by the calls
+ * made on the boards it holds.
+ * <p>
+ * Imports, exports, snapshot builds, rank rebalancing, write-behind flushes and search index
+ * rebuilds take connections without a permit. The permits are therefore fewer than the pool's
+ * connections, by {@code taskboard.bulkhead.reserved-connections}, so that work never leaves the
+ * calls holding a permit queueing inside HikariCP.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "taskboard.store.engine", havingValue = "jpa", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class DatabaseBulkhead {
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseBulkhead.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** Connections in each shard's pool. */
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize = 10;
+
+    /** Connections of each pool kept for work that runs outside the bulkhead. */
+    @Value("${taskboard.bulkhead.reserved-connections:4}")
+    private int reservedConnections = 4;
+
+    /** How long a call waits for a permit before it is rejected. */
+    @Value("${taskboard.bulkhead.max-wait-millis:100}")
+    private long maxWaitMillis = 100;
+
+    /** Number of database shards the boards are spread over. */
+    @Value("${taskboard.shards.count:1}")
+    private int shardCount = 1;
+
+    private Semaphore[] permits;
+
+    private Counter rejections;
+
+    @PostConstruct
+    void init() {
+        int maxConcurrentCalls = Math.max(1, poolSize - reservedConnections);
+        logger.info("Database bulkhead allows {} concurrent calls per shard, {} connections reserved",
+                maxConcurrentCalls, poolSize - maxConcurrentCalls);
+        permits = new Semaphore[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            permits[shard] = new Semaphore(maxConcurrentCalls, true);
+            Gauge.builder("taskboard.bulkhead.available.permits", permits[shard], Semaphore::availablePermits)
+                    .description("Database bulkhead permits currently free")
+                    .tag("shard", Integer.toString(shard))
+                    .register(meterRegistry);
+        }
+        rejections = Counter.builder("taskboard.bulkhead.rejections")
+                .description("TaskService calls rejected because no bulkhead permit was free")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a {@code TaskService} call while holding a permit of the current board's shard.
+     *
+     * @param joinPoint the call
+     * @return the call's result
+     * @throws Throwable whatever the call throws
+     * @throws ServiceOverloadedException if no permit becomes free within the configured wait
+     */
+    @Around("execution(public * com.example.taskboard.service.TaskService.*(..))")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        Semaphore shardPermits = permits[BoardContext.shardOf(BoardContext.current(), shardCount)];
+        if (!shardPermits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+            rejections.increment();
+            logger.warn("Rejected {}: database bulkhead is full", joinPoint.getSignature().getName());
+            throw new ServiceOverloadedException("The service is busy. Please retry shortly.");
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            shardPermits.release();
+        }
+    }
+}
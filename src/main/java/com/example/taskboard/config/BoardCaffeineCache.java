@@ -0,0 +1,68 @@
+package com.example.taskboard.config;
+
+import com.example.taskboard.board.BoardContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Caffeine cache whose entries belong to the current board: every key is qualified with
+ * {@link BoardContext#current()}, so boards never read each other's entries even where IDs
+ * repeat across database shards. Clearing the cache clears every board.
+ */
+class BoardCaffeineCache extends CaffeineCache {
+
+    BoardCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return super.lookup(boardKey(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return super.get(boardKey(key), valueLoader);
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return super.retrieve(boardKey(key));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return super.retrieve(boardKey(key), valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        super.put(boardKey(key), value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return super.putIfAbsent(boardKey(key), value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        super.evict(boardKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return super.evictIfPresent(boardKey(key));
+    }
+
+    private static BoardKey boardKey(Object key) {
+        return new BoardKey(BoardContext.current(), key);
+    }
+
+    private record BoardKey(String board, Object key) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.taskboard.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration for the in-process read-through caches in front of task and task list lookups.
+ * <p>
+ * Caches are bounded Caffeine caches with statistics recording enabled. They are wrapped so that
+ * evictions issued inside a transaction are applied only after it commits; a concurrent reader
+ * can therefore never re-populate an entry with data from before the write. Entries are kept per
+ * board, see {@link BoardCaffeineCache}.
+ * <p>
+ * The cache interceptor runs before any other advice so that cache hits skip the database bulkhead.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    /** Cache of tasks by ID, filled by {@code TaskService#getTaskById}. */
+    public static final String TASKS = "tasks";
+
+    /** Cache of task list references by ID, filled by {@code TaskListRepository#findRefById}. */
+    public static final String TASK_LISTS = "taskLists";
+
+    /**
+     * Creates the cache manager.
+     *
+     * @param enabled whether caching is enabled; when disabled every lookup goes to the database
+     * @param spec the Caffeine specification applied to every cache, e.g. size and TTL bounds
+     * @return the cache manager
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${taskboard.cache.enabled:true}") boolean enabled,
+                                     @Value("${taskboard.cache.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}") String spec) {
+        if (!enabled) {
+            return new NoOpCacheManager();
+        }
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(TASKS, TASK_LISTS) {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new BoardCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        caffeineCacheManager.setCacheSpecification(spec);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.taskboard.config;
+
+import com.example.taskboard.board.BoardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Configuration spreading boards over several databases, each behind its own connection pool.
+ * <p>
+ * Only active when {@code taskboard.shards.count} is greater than 1; otherwise every board lives
+ * in the single {@code spring.datasource} database. Shard 0 is that database, so the default board
+ * keeps its existing data; shard {@code n} is the {@code taskboard.shards.url} database with
+ * {@code {shard}} replaced by {@code n}. Every pool takes the {@code spring.datasource.hikari}
+ * settings and the same credentials, and Flyway migrates every shard on startup.
+ */
+@Configuration
+@ConditionalOnExpression("${taskboard.shards.count:1} > 1")
+public class ShardingConfig {
+
+    /** Flyway location of the sample data, which only belongs to the default board. */
+    static final String SAMPLE_LOCATION = "db/sample";
+
+    /**
+     * Creates the routing data source used by JPA, JDBC and Flyway.
+     *
+     * @param properties the {@code spring.datasource} settings, used for every shard
+     * @param environment the environment holding the {@code spring.datasource.hikari} settings
+     * @param meterRegistry the registry receiving each pool's {@code hikaricp.*} meters
+     * @param count the number of shards
+     * @param url the JDBC URL of shards 1 and up, with a {@code {shard}} placeholder
+     * @return the data source routing each connection request to the current board's shard
+     */
+    @Bean
+    @Primary
+    public BoardRoutingDataSource dataSource(DataSourceProperties properties, Environment environment,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${taskboard.shards.count}") int count,
+                                             @Value("${taskboard.shards.url:jdbc:h2:file:./data/taskboard-{shard}}") String url) {
+        List<DataSource> shards = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            if (shard > 0) {
+                pool.setJdbcUrl(url.replace("{shard}", Integer.toString(shard)));
+            }
+            pool.setPoolName("taskboard-shard-" + shard);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            shards.add(pool);
+        }
+        return new BoardRoutingDataSource(shards);
+    }
+
+    /**
+     * Applies the migrations to every shard, with the settings Spring Boot gave the main Flyway instance.
+     * The sample data only belongs to the default board, so the {@value #SAMPLE_LOCATION} location is
+     * applied to shard 0 alone.
+     *
+     * @param dataSource the routing data source
+     * @return the migration strategy
+     */
+    @Bean
+    public FlywayMigrationStrategy shardMigrationStrategy(BoardRoutingDataSource dataSource) {
+        return flyway -> {
+            List<DataSource> shards = dataSource.getShards();
+            for (int shard = 0; shard < shards.size(); shard++) {
+                FluentConfiguration configuration = Flyway.configure().configuration(flyway.getConfiguration())
+                        .dataSource(shards.get(shard));
+                if (shard > 0) {
+                    configuration.locations(Arrays.stream(configuration.getLocations())
+                            .filter(location -> !location.getPath().equals(SAMPLE_LOCATION))
+                            .toArray(Location[]::new));
+                }
+                configuration.load().migrate();
+            }
+        };
+    }
+}
@@ -1,46 +1,213 @@
 package com.example.taskboard.controller;
 
-import com.example.taskboard.model.Task;
+import com.example.taskboard.board.BoardContext;
+import com.example.taskboard.dto.CursorPage;
+import com.example.taskboard.dto.TaskBatchDelete;
+import com.example.taskboard.dto.TaskBatchMove;
+import com.example.taskboard.dto.TaskBatchResult;
+import com.example.taskboard.dto.TaskBatchUpdate;
+import com.example.taskboard.dto.TaskDetails;
+import com.example.taskboard.dto.TaskFilter;
+import com.example.taskboard.dto.TaskImportItem;
+import com.example.taskboard.dto.TaskItem;
+import com.example.taskboard.dto.TaskLifecycle;
+import com.example.taskboard.dto.TaskListDetails;
+import com.example.taskboard.dto.TaskListSummary;
+import com.example.taskboard.dto.TaskOverview;
+import com.example.taskboard.dto.TaskPosition;
+import com.example.taskboard.dto.TaskSearchResult;
 import com.example.taskboard.model.TaskList;
+import com.example.taskboard.model.TaskStatus;
+import com.example.taskboard.event.BoardEventBroadcaster;
+import com.example.taskboard.exception.TaskVersionConflictException;
+import com.example.taskboard.search.TaskSearchIndex;
+import com.example.taskboard.service.BoardExportService;
+import com.example.taskboard.service.BoardSnapshots;
+import com.example.taskboard.service.BoardVersion;
+import com.example.taskboard.service.ReadCoalescer;
+import com.example.taskboard.service.TaskImportService;
 import com.example.taskboard.service.TaskService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.logging.Logger;
+import java.util.Set;
 
 /**
  * REST controller for managing tasks and task lists.
+ * Responses are DTO records; JPA entities are never serialized.
+ * Requests are logged once each by {@link com.example.taskboard.logging.AccessLogFilter}.
+ * Every request works on the board named by its {@value BoardContext#HEADER} header, see
+ * {@link com.example.taskboard.board.BoardFilter}; IDs only identify task lists and tasks within a board.
  */
 @RestController
 @RequestMapping("/api")
 public class TaskController {
-    private static final Logger logger = Logger.getLogger(TaskController.class.getName());
-
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private ReadCoalescer readCoalescer;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private BoardExportService boardExportService;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BoardVersion boardVersion;
+
+    @Autowired
+    private BoardSnapshots boardSnapshots;
+
+    @Autowired
+    private BoardEventBroadcaster boardEventBroadcaster;
+
     /**
      * Retrieves all task lists.
      *
-     * @return a list of all task lists
+     * @param request the request, answered with 304 when its {@code If-None-Match} matches the board version
+     * @return a list of all task lists, streamed from the per-list encodings of the board snapshot
      */
     @GetMapping("/tasklists")
-    public List<TaskList> getAllTaskLists() {
-        logger.info("GET /api/tasklists - Fetching all task lists");
-        return taskService.getAllTaskLists();
+    public ResponseEntity<Resource> getAllTaskLists(WebRequest request) {
+        if (request.checkNotModified(boardVersion.etag())) {
+            return null;
+        }
+        BoardSnapshots.Snapshot snapshot = boardSnapshots.current();
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).contentLength(snapshot.jsonLength())
+                .body(new InputStreamResource(snapshot.openJson()));
+    }
+
+    /**
+     * Retrieves one page of task lists, including their tasks.
+     *
+     * @param after the ID of the last task list on the previous page; omit for the first page
+     * @param size the maximum number of task lists to return
+     * @param request the request, answered with 304 when its {@code If-None-Match} matches the board version
+     * @return the page of task lists and the cursor for the next page
+     */
+    @GetMapping(value = "/tasklists", params = {"size", "view!=summary"})
+    public CursorPage<TaskListDetails> getTaskListPage(@RequestParam(required = false) Long after, @RequestParam Integer size,
+                                                       WebRequest request) {
+        if (request.checkNotModified(boardVersion.etag())) {
+            return null;
+        }
+        return taskService.getTaskListPage(after, size);
+    }
+
+    /**
+     * Retrieves one page of task list summaries (ID, name and task count) without loading any tasks.
+     *
+     * @param after the ID of the last task list on the previous page; omit for the first page
+     * @param size the maximum number of summaries to return; defaults to {@link TaskService#DEFAULT_PAGE_SIZE}
+     * @param request the request, answered with 304 when its {@code If-None-Match} matches the board version
+     * @return the page of summaries and the cursor for the next page
+     */
+    @GetMapping(value = "/tasklists", params = "view=summary")
+    public CursorPage<TaskListSummary> getTaskListSummaries(@RequestParam(required = false) Long after,
+                                                            @RequestParam(required = false) Integer size,
+                                                            WebRequest request) {
+        if (request.checkNotModified(boardVersion.etag())) {
+            return null;
+        }
+        return taskService.getTaskListSummaries(after, size);
+    }
+
+    /**
+     * Retrieves one page of the tasks of a task list, in board order.
+     *
+     * @param listId the ID of the task list
+     * @param after the ID of the last task on the previous page; omit for the first page
+     * @param size the maximum number of tasks to return; defaults to {@link TaskService#DEFAULT_PAGE_SIZE}
+     * @param request the request, answered with 304 when its {@code If-None-Match} matches the board version
+     * @return the page of tasks and the cursor for the next page
+     */
+    @GetMapping("/tasklists/{listId}/tasks")
+    public CursorPage<TaskItem> getTaskPage(@PathVariable Long listId, @RequestParam(required = false) Long after,
+                                            @RequestParam(required = false) Integer size, WebRequest request) {
+        if (request.checkNotModified(boardVersion.etag())) {
+            return null;
+        }
+        return taskService.getTaskPage(listId, after, size);
     }
 
     /**
      * Retrieves a specific task by ID.
      *
      * @param taskId the ID of the task to retrieve
-     * @return the task with the specified ID
+     * @param request the request, answered with 304 when its {@code If-None-Match} matches the task version
+     * @return the task with the specified ID, serialized once for every request reading it at the same time
      */
     @GetMapping("/tasks/{taskId}")
-    public Task getTaskById(@PathVariable Long taskId) {
-        logger.info("GET /tasks/" + taskId + " - Fetching task with ID: " + taskId);
-        return taskService.getTaskById(taskId);
+    public ResponseEntity<byte[]> getTaskById(@PathVariable Long taskId, WebRequest request) {
+        ReadCoalescer.Serialized<TaskDetails> task = readCoalescer.getTaskById(taskId);
+        if (request.checkNotModified(String.valueOf(task.value().version()))) {
+            return null;
+        }
+        return json(task.json());
+    }
+
+    /**
+     * Retrieves one page of the tasks of the board that match a filter, in ID order. For instance
+     * {@code ?assignee=ada&status=TODO&status=IN_PROGRESS} lists someone's open tasks, and
+     * {@code ?status=TODO&status=IN_PROGRESS&dueBefore=2024-05-01} the open tasks overdue on that day.
+     *
+     * @param status the statuses the tasks may have; repeat for several, omit for any
+     * @param assignee who the tasks must be assigned to; optional
+     * @param dueBefore the day the tasks must be due before (exclusive), as {@code yyyy-MM-dd}; optional
+     * @param after the ID of the last task on the previous page; omit for the first page
+     * @param size the maximum number of tasks to return; defaults to {@link TaskService#DEFAULT_PAGE_SIZE}
+     * @return the page of tasks with their lifecycle fields, and the cursor for the next page
+     */
+    @GetMapping("/tasks")
+    public CursorPage<TaskOverview> findTasks(@RequestParam(required = false) Set<TaskStatus> status,
+                                              @RequestParam(required = false) String assignee,
+                                              @RequestParam(required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueBefore,
+                                              @RequestParam(required = false) Long after,
+                                              @RequestParam(required = false) Integer size) {
+        return taskService.findTasks(new TaskFilter(status, assignee, dueBefore), after, size);
+    }
+
+    /**
+     * Searches task names and descriptions. Results are ranked by relevance and served from an
+     * in-memory index, without querying the database.
+     *
+     * @param q the free-text query
+     * @param page the zero-based page number
+     * @param size the page size
+     * @return the requested page of ranked results
+     */
+    @GetMapping("/tasks/search")
+    public TaskSearchResult searchTasks(@RequestParam String q, @RequestParam(defaultValue = "0") int page,
+                                        @RequestParam(defaultValue = "20") int size) {
+        return taskSearchIndex.search(q, Math.max(page, 0), Math.min(Math.max(size, 1), TaskService.MAX_PAGE_SIZE));
     }
 
     /**
@@ -50,9 +217,9 @@ public class TaskController {
      * @return the created task list
      */
     @PostMapping("/tasklists")
-    public TaskList createTaskList(@RequestParam String name) {
-        logger.info("POST /api/tasklists - Creating a new task list with name: " + name);
-        return taskService.createTaskList(name);
+    public TaskListDetails createTaskList(@RequestParam String name) {
+        TaskList taskList = taskService.createTaskList(name);
+        return new TaskListDetails(taskList.getId(), taskList.getName(), List.of());
     }
 
     /**
@@ -64,9 +231,37 @@ public class TaskController {
      * @return the created task
      */
     @PostMapping("/tasklists/{listId}/tasks")
-    public Task addTaskToList(@PathVariable Long listId, @RequestParam String name, @RequestParam String description) {
-        logger.info("POST /api/tasklists/" + listId + "/tasks - Adding a new task to list ID: " + listId);
-        return taskService.addTaskToList(listId, name, description);
+    public TaskDetails addTaskToList(@PathVariable Long listId, @RequestParam String name, @RequestParam String description) {
+        return TaskDetails.of(taskService.addTaskToList(listId, name, description));
+    }
+
+    /**
+     * Imports many tasks in one request. The body is either a JSON array or newline-delimited JSON
+     * of {@code {"listId", "name", "description"}} objects and is read as a stream. One result per
+     * item is streamed back as newline-delimited JSON once the item's chunk has been committed.
+     *
+     * @param chunkSize the number of items committed per transaction; defaults to the configured chunk size
+     * @param body the request body
+     * @param response the response the results are written to
+     * @throws IOException if the request cannot be read or the response cannot be written
+     */
+    @PostMapping(value = "/tasks/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public void importTasks(@RequestParam(required = false) Integer chunkSize, InputStream body,
+                            HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (MappingIterator<TaskImportItem> items = objectMapper.readerFor(TaskImportItem.class).readValues(body);
+             SequenceWriter results = objectMapper.writer()
+                     .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                     .withRootValueSeparator("\n")
+                     .writeValues(response.getOutputStream())) {
+            taskImportService.importTasks(items, chunkSize, result -> {
+                try {
+                    results.write(result);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
     }
 
     /**
@@ -75,12 +270,28 @@ public class TaskController {
      * @param taskId the ID of the task to update
      * @param name the new name of the task
      * @param description the new description of the task
-     * @return the updated task
+     * @param ifMatch the entity tag the task must still have, as returned by {@code GET /api/tasks/{taskId}}; optional
+     * @return the updated task, with its new entity tag
      */
     @PutMapping("/tasks/{taskId}")
-    public Task updateTask(@PathVariable Long taskId, @RequestParam String name, @RequestParam String description) {
-        logger.info("PUT /tasks/" + taskId + " - Updating task ID: " + taskId);
-        return taskService.updateTask(taskId, name, description);
+    public ResponseEntity<TaskDetails> updateTask(@PathVariable Long taskId, @RequestParam String name,
+                                                  @RequestParam String description,
+                                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        taskService.updateTask(taskId, name, description, versionOf(ifMatch));
+        return written(taskId);
+    }
+
+    /**
+     * Replaces the status, priority, due date and assignee of a task.
+     *
+     * @param taskId the ID of the task to update
+     * @param lifecycle the new lifecycle fields; a missing status or priority is reset to its default
+     * @param ifMatch the entity tag the task must still have, as returned by {@code GET /api/tasks/{taskId}}; optional
+     */
+    @PutMapping("/tasks/{taskId}/lifecycle")
+    public void updateTaskLifecycle(@PathVariable Long taskId, @RequestBody TaskLifecycle lifecycle,
+                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        taskService.updateTaskLifecycle(taskId, lifecycle, versionOf(ifMatch));
     }
 
     /**
@@ -90,7 +301,6 @@ public class TaskController {
      */
     @DeleteMapping("/tasks/{taskId}")
     public void deleteTask(@PathVariable Long taskId) {
-        logger.info("DELETE /tasks/" + taskId + " - Deleting task ID: " + taskId);
         taskService.deleteTask(taskId);
     }
 
@@ -101,20 +311,134 @@ public class TaskController {
      */
     @DeleteMapping("/tasklists/{listId}")
     public void deleteTaskList(@PathVariable Long listId) {
-        logger.info("DELETE /api/tasklists/" + listId + " - Deleting task list ID: " + listId);
         taskService.deleteTaskList(listId);
     }
 
     /**
-     * Moves a task to a different task list.
+     * Moves a task to a different task list, or to a different position within its list.
      *
      * @param taskId the ID of the task to move
      * @param newListId the ID of the new task list
-     * @return the moved task
+     * @param afterTaskId a task of the new list to place the task directly after; optional
+     * @param beforeTaskId a task of the new list to place the task directly before; optional
+     * @param ifMatch the entity tag the task must still have, as returned by {@code GET /api/tasks/{taskId}}; optional
+     * @return the moved task, with its new entity tag
      */
     @PutMapping("/tasks/{taskId}/move")
-    public Task moveTaskToList(@PathVariable Long taskId, @RequestParam Long newListId) {
-        logger.info("PUT /tasks/" + taskId + "/move - Moving task ID: " + taskId + " to list ID: " + newListId);
-        return taskService.moveTaskToList(taskId, newListId);
+    public ResponseEntity<TaskDetails> moveTaskToList(@PathVariable Long taskId, @RequestParam Long newListId,
+                                                      @RequestParam(required = false) Long afterTaskId,
+                                                      @RequestParam(required = false) Long beforeTaskId,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskDetails task = taskService.moveTaskToList(taskId, newListId, new TaskPosition(afterTaskId, beforeTaskId),
+                versionOf(ifMatch));
+        return written(task);
+    }
+
+    /**
+     * Moves many tasks to a task list in one transaction. The tasks are appended to the end of the list
+     * in the given order, each with a new rank key after the list's last key.
+     *
+     * @param request the IDs of the tasks and the ID of the task list to move them to
+     * @return which tasks were moved and which were not found
+     */
+    @PostMapping("/tasks/batch/move")
+    public TaskBatchResult moveTasks(@RequestBody TaskBatchMove request) {
+        return taskService.moveTasks(request.taskIds(), request.newListId());
+    }
+
+    /**
+     * Gives many tasks the same name and description in one transaction.
+     *
+     * @param request the IDs of the tasks and their new name and description
+     * @return which tasks were updated and which were not found
+     */
+    @PostMapping("/tasks/batch/update")
+    public TaskBatchResult updateTasks(@RequestBody TaskBatchUpdate request) {
+        return taskService.updateTasks(request.taskIds(), request.name(), request.description());
+    }
+
+    /**
+     * Deletes many tasks in one transaction.
+     *
+     * @param request the IDs of the tasks to delete
+     * @return which tasks were deleted and which were not found
+     */
+    @PostMapping("/tasks/batch/delete")
+    public TaskBatchResult deleteTasks(@RequestBody TaskBatchDelete request) {
+        return taskService.deleteTasks(request.taskIds());
+    }
+
+    /**
+     * Exports the whole board as newline-delimited JSON: every task list, then every task.
+     * The export is streamed straight to the response, so it is never held in memory. It is written
+     * on another thread, which is switched to the request's board.
+     *
+     * @return the streaming export
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBoard() {
+        String board = BoardContext.current();
+        StreamingResponseBody body = out -> {
+            try (BoardContext.Scope scope = BoardContext.open(board)) {
+                boardExportService.exportBoard(out);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Streams board changes as Server-Sent Events, replacing polling of the board. Each change is an
+     * event named {@code change} whose data is the change as JSON. An event named {@code resync}
+     * means events were dropped and the client should re-fetch the board before applying further changes.
+     *
+     * @param lastEventId the ID of the last event received, sent automatically by reconnecting clients
+     * @return the event stream
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return boardEventBroadcaster.subscribe(lastEventId);
+    }
+
+    /**
+     * Answers a write with the task as it now is. The write evicted the cached task, so this is one
+     * projection query, or a read of the queued state with the write-behind store.
+     */
+    private ResponseEntity<TaskDetails> written(Long taskId) {
+        return written(taskService.getTaskById(taskId));
+    }
+
+    /**
+     * Answers a write with the task the write returned, tagged with its version.
+     */
+    private static ResponseEntity<TaskDetails> written(TaskDetails task) {
+        return ResponseEntity.ok().eTag(String.valueOf(task.version())).body(task);
+    }
+
+    /**
+     * Answers with a response body that has already been serialized.
+     */
+    private static ResponseEntity<byte[]> json(byte[] body) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Reads the task version from an {@code If-Match} header.
+     *
+     * @return the expected version, or {@code null} when the header is absent or {@code *}
+     * @throws TaskVersionConflictException if the header is not a task entity tag, since it cannot match
+     */
+    private static Long versionOf(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException ex) {
+            throw new TaskVersionConflictException("If-Match " + ifMatch + " does not match any task version");
+        }
     }
 }
@@ -0,0 +1,14 @@
+package com.example.taskboard.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated result.
+ *
+ * @param items the items on this page, in cursor order
+ * @param nextCursor the cursor to pass as {@code after} to fetch the next page,
+ *                   or {@code null} when this is the last page
+ * @param <T> the item type
+ */
+public record CursorPage<T>(List<T> items, Long nextCursor) {
+}
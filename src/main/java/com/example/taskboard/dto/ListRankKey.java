@@ -0,0 +1,10 @@
+package com.example.taskboard.dto;
+
+/**
+ * The last rank key of a task list, as selected by a constructor expression.
+ *
+ * @param listId the ID of the task list
+ * @param rankKey the greatest rank key of the list's tasks
+ */
+public record ListRankKey(Long listId, String rankKey) {
+}
@@ -0,0 +1,11 @@
+package com.example.taskboard.dto;
+
+/**
+ * The rank keys on either side of a position in a task list, as selected by a constructor expression.
+ *
+ * @param lower the key of the task before the position, or {@code null} at the start of the list
+ * @param upper the key of the task after the position, or {@code null} at the end of the list
+ * @param tied whether another task shares the anchor's key, so the gap may lie on the far side of it
+ */
+public record RankGap(String lower, String upper, boolean tied) {
+}
@@ -0,0 +1,12 @@
+package com.example.taskboard.dto;
+
+/**
+ * A task as listed inside its task list, with the rank key that places it there.
+ *
+ * @param id the ID of the task
+ * @param name the name of the task
+ * @param description the description of the task
+ * @param rankKey the rank key of the task
+ */
+public record RankedTaskItem(Long id, String name, String description, String rankKey) {
+}
@@ -0,0 +1,11 @@
+package com.example.taskboard.dto;
+
+import java.util.List;
+
+/**
+ * Request to delete many tasks.
+ *
+ * @param taskIds the IDs of the tasks to delete
+ */
+public record TaskBatchDelete(List<Long> taskIds) {
+}
@@ -0,0 +1,12 @@
+package com.example.taskboard.dto;
+
+import java.util.List;
+
+/**
+ * Request to move many tasks to one task list.
+ *
+ * @param taskIds the IDs of the tasks to move
+ * @param newListId the ID of the task list to move them to
+ */
+public record TaskBatchMove(List<Long> taskIds, Long newListId) {
+}
@@ -0,0 +1,12 @@
+package com.example.taskboard.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch operation, per requested task ID. Duplicate IDs are reported once.
+ *
+ * @param succeeded the IDs of the tasks the operation was applied to, in request order
+ * @param notFound the IDs that did not refer to an existing task, in request order
+ */
+public record TaskBatchResult(List<Long> succeeded, List<Long> notFound) {
+}
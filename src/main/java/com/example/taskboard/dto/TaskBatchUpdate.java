@@ -0,0 +1,13 @@
+package com.example.taskboard.dto;
+
+import java.util.List;
+
+/**
+ * Request to give many tasks the same name and description.
+ *
+ * @param taskIds the IDs of the tasks to update
+ * @param name the new name of the tasks
+ * @param description the new description of the tasks
+ */
+public record TaskBatchUpdate(List<Long> taskIds, String name, String description) {
+}
@@ -0,0 +1,35 @@
+package com.example.taskboard.dto;
+
+import com.example.taskboard.model.Task;
+
+/**
+ * Read-only view of a task and the list it belongs to.
+ *
+ * @param id the ID of the task
+ * @param name the name of the task
+ * @param description the description of the task
+ * @param version the version of the task, which changes on every update
+ * @param taskList the task list the task belongs to
+ */
+public record TaskDetails(Long id, String name, String description, Long version, TaskListRef taskList) {
+
+    /**
+     * Constructor used by JPQL constructor expressions, which cannot nest records.
+     */
+    public TaskDetails(Long id, String name, String description, Long version, Long taskListId, String taskListName) {
+        this(id, name, description, version, taskListId == null ? null : new TaskListRef(taskListId, taskListName));
+    }
+
+    /**
+     * Creates the view of a task that has just been written.
+     *
+     * @param task the task; its task list must be loaded
+     * @return the view of the task
+     */
+    public static TaskDetails of(Task task) {
+        return task.getTaskList() == null
+                ? new TaskDetails(task.getId(), task.getName(), task.getDescription(), task.getVersion(), null)
+                : new TaskDetails(task.getId(), task.getName(), task.getDescription(), task.getVersion(),
+                        task.getTaskList().getId(), task.getTaskList().getName());
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.taskboard.dto;
+
+import com.example.taskboard.model.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Conditions a task must meet to be listed by {@code GET /api/tasks}. Every condition is optional.
+ *
+ * @param statuses the statuses the task may have; empty for any
+ * @param assignee who the task must be assigned to, or {@code null} for anybody or nobody
+ * @param dueBefore the day the task must be due before (exclusive), or {@code null} for any due date;
+ *                  tasks without a due date never match it
+ */
+public record TaskFilter(Set<TaskStatus> statuses, String assignee, LocalDate dueBefore) {
+
+    public TaskFilter {
+        statuses = statuses == null ? Set.of() : Set.copyOf(statuses);
+    }
+
+    /**
+     * Tests a task against the filter in memory, with the semantics of the database query.
+     *
+     * @return whether a task with these fields meets every condition
+     */
+    public boolean matches(TaskStatus status, String assignee, LocalDate dueDate) {
+        return (statuses.isEmpty() || statuses.contains(status))
+                && (this.assignee == null || this.assignee.equals(assignee))
+                && (dueBefore == null || dueDate != null && dueDate.isBefore(dueBefore));
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.taskboard.dto;
+
+/**
+ * One task in a bulk import request.
+ *
+ * @param listId the ID of the task list the task belongs to
+ * @param name the name of the task
+ * @param description the description of the task
+ */
+public record TaskImportItem(Long listId, String name, String description) {
+}
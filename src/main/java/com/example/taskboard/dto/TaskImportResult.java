@@ -0,0 +1,39 @@
+package com.example.taskboard.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of importing a single item of a bulk import request.
+ *
+ * @param index the zero-based position of the item in the request
+ * @param status whether the item was stored
+ * @param taskId the ID of the created task, if it was created
+ * @param error the reason the item was not stored, if it was not
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskImportResult(long index, Status status, Long taskId, String error) {
+
+    /**
+     * Import status of a single item.
+     */
+    public enum Status {
+        /** The task was inserted. */
+        CREATED,
+        /** The item was invalid or referenced a missing task list and was skipped. */
+        REJECTED,
+        /** The item was valid but the chunk containing it could not be written. */
+        FAILED
+    }
+
+    public static TaskImportResult created(long index, Long taskId) {
+        return new TaskImportResult(index, Status.CREATED, taskId, null);
+    }
+
+    public static TaskImportResult rejected(long index, String error) {
+        return new TaskImportResult(index, Status.REJECTED, null, error);
+    }
+
+    public static TaskImportResult failed(long index, String error) {
+        return new TaskImportResult(index, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.taskboard.dto;
+
+/**
+ * A task as listed inside its task list.
+ *
+ * @param id the ID of the task
+ * @param name the name of the task
+ * @param description the description of the task
+ */
+public record TaskItem(Long id, String name, String description) {
+}
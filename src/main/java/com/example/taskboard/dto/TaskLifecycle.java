@@ -0,0 +1,22 @@
+package com.example.taskboard.dto;
+
+import com.example.taskboard.model.TaskPriority;
+import com.example.taskboard.model.TaskStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Request to replace the lifecycle fields of a task. A missing status or priority is reset to its default.
+ *
+ * @param status where the task is in its lifecycle; defaults to {@link TaskStatus#TODO}
+ * @param priority how urgent the task is; defaults to {@link TaskPriority#MEDIUM}
+ * @param dueDate the day the task is due, or {@code null} for none
+ * @param assignee who the task is assigned to, or {@code null} for nobody
+ */
+public record TaskLifecycle(TaskStatus status, TaskPriority priority, LocalDate dueDate, String assignee) {
+
+    public TaskLifecycle {
+        status = status == null ? TaskStatus.TODO : status;
+        priority = priority == null ? TaskPriority.MEDIUM : priority;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.taskboard.dto;
+
+import java.util.List;
+
+/**
+ * Read-only view of a task list with its tasks.
+ *
+ * @param id the ID of the task list
+ * @param name the name of the task list
+ * @param tasks the tasks of the list, in ID order; unmodifiable
+ */
+public record TaskListDetails(Long id, String name, List<TaskItem> tasks) {
+}
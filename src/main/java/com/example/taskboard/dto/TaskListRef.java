@@ -0,0 +1,10 @@
+package com.example.taskboard.dto;
+
+/**
+ * Reference to the task list a task belongs to.
+ *
+ * @param id the ID of the task list
+ * @param name the name of the task list
+ */
+public record TaskListRef(Long id, String name) {
+}
@@ -0,0 +1,14 @@
+package com.example.taskboard.dto;
+
+/**
+ * One row of a task list joined with one of its tasks, as selected by a constructor expression.
+ * The task columns are {@code null} for a list without tasks.
+ *
+ * @param listId the ID of the task list
+ * @param listName the name of the task list
+ * @param taskId the ID of the task, or {@code null}
+ * @param taskName the name of the task, or {@code null}
+ * @param taskDescription the description of the task, or {@code null}
+ */
+public record TaskListRow(Long listId, String listName, Long taskId, String taskName, String taskDescription) {
+}
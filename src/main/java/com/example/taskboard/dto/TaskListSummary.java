@@ -0,0 +1,12 @@
+package com.example.taskboard.dto;
+
+/**
+ * Lightweight view of a task list: its identity and how many tasks it holds.
+ * The task count is computed by the database, so no tasks are loaded.
+ *
+ * @param id the ID of the task list
+ * @param name the name of the task list
+ * @param taskCount the number of tasks in the list
+ */
+public record TaskListSummary(Long id, String name, long taskCount) {
+}
@@ -0,0 +1,23 @@
+package com.example.taskboard.dto;
+
+import com.example.taskboard.model.TaskPriority;
+import com.example.taskboard.model.TaskStatus;
+
+import java.time.LocalDate;
+
+/**
+ * View of a task with its lifecycle, as listed by {@code GET /api/tasks}.
+ *
+ * @param id the ID of the task
+ * @param name the name of the task
+ * @param description the description of the task
+ * @param version the version of the task, which changes on every update
+ * @param status where the task is in its lifecycle
+ * @param priority how urgent the task is
+ * @param dueDate the day the task is due, or {@code null}
+ * @param assignee who the task is assigned to, or {@code null}
+ * @param taskListId the ID of the task list the task belongs to
+ */
+public record TaskOverview(Long id, String name, String description, Long version, TaskStatus status,
+                           TaskPriority priority, LocalDate dueDate, String assignee, Long taskListId) {
+}
@@ -0,0 +1,19 @@
+package com.example.taskboard.dto;
+
+/**
+ * Target position of a task within a task list, given relative to a task already in that list.
+ *
+ * @param afterTaskId the task to place the task directly after, or {@code null}
+ * @param beforeTaskId the task to place the task directly before, or {@code null}; ignored when {@code afterTaskId} is set
+ */
+public record TaskPosition(Long afterTaskId, Long beforeTaskId) {
+
+    /**
+     * Whether a position was given at all.
+     *
+     * @return {@code true} if neither neighbour is set
+     */
+    public boolean isUnspecified() {
+        return afterTaskId == null && beforeTaskId == null;
+    }
+}
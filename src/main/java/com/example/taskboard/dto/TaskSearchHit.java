@@ -0,0 +1,13 @@
+package com.example.taskboard.dto;
+
+/**
+ * A task matching a search query.
+ *
+ * @param id the ID of the task
+ * @param taskListId the ID of the task list the task belongs to
+ * @param name the name of the task
+ * @param description the description of the task
+ * @param score the relevance of the task to the query; higher is more relevant
+ */
+public record TaskSearchHit(Long id, Long taskListId, String name, String description, double score) {
+}
@@ -0,0 +1,15 @@
+package com.example.taskboard.dto;
+
+import java.util.List;
+
+/**
+ * One page of ranked search results.
+ *
+ * @param query the query that was searched for
+ * @param totalHits the number of tasks matching the query
+ * @param page the zero-based page number
+ * @param size the page size
+ * @param hits the matching tasks on this page, most relevant first
+ */
+public record TaskSearchResult(String query, long totalHits, int page, int size, List<TaskSearchHit> hits) {
+}
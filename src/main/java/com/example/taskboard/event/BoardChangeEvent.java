@@ -0,0 +1,62 @@
+package com.example.taskboard.event;
+
+import com.example.taskboard.board.BoardContext;
+
+/**
+ * Application event describing one change to the board.
+ * <p>
+ * Events are published by the write paths of the service layer. Listeners that must only see
+ * committed changes use {@code @TransactionalEventListener}, which delays delivery until the
+ * publishing transaction has committed.
+ *
+ * @param type what happened
+ * @param taskId the ID of the affected task, or {@code null} for task list events
+ * @param taskListId the ID of the affected task list: the owning list for created tasks, the target
+ *                   list for moved tasks, or {@code null} when the change does not involve a list
+ * @param name the new name of the task or task list, if it is known
+ * @param description the new description of the task, if it is known
+ * @param board the board the change was made on; the factories take the current board
+ */
+public record BoardChangeEvent(Type type, Long taskId, Long taskListId, String name, String description, String board) {
+
+    /**
+     * Kind of change.
+     */
+    public enum Type {
+        TASK_CREATED,
+        TASK_UPDATED,
+        TASK_LIFECYCLE_CHANGED,
+        TASK_MOVED,
+        TASK_DELETED,
+        TASK_LIST_CREATED,
+        TASK_LIST_DELETED
+    }
+
+    public static BoardChangeEvent taskCreated(Long taskId, Long taskListId, String name, String description) {
+        return new BoardChangeEvent(Type.TASK_CREATED, taskId, taskListId, name, description, BoardContext.current());
+    }
+
+    public static BoardChangeEvent taskUpdated(Long taskId, String name, String description) {
+        return new BoardChangeEvent(Type.TASK_UPDATED, taskId, null, name, description, BoardContext.current());
+    }
+
+    public static BoardChangeEvent taskLifecycleChanged(Long taskId) {
+        return new BoardChangeEvent(Type.TASK_LIFECYCLE_CHANGED, taskId, null, null, null, BoardContext.current());
+    }
+
+    public static BoardChangeEvent taskMoved(Long taskId, Long newTaskListId) {
+        return new BoardChangeEvent(Type.TASK_MOVED, taskId, newTaskListId, null, null, BoardContext.current());
+    }
+
+    public static BoardChangeEvent taskDeleted(Long taskId) {
+        return new BoardChangeEvent(Type.TASK_DELETED, taskId, null, null, null, BoardContext.current());
+    }
+
+    public static BoardChangeEvent taskListCreated(Long taskListId, String name) {
+        return new BoardChangeEvent(Type.TASK_LIST_CREATED, null, taskListId, name, null, BoardContext.current());
+    }
+
+    public static BoardChangeEvent taskListDeleted(Long taskListId) {
+        return new BoardChangeEvent(Type.TASK_LIST_DELETED, null, taskListId, null, null, BoardContext.current());
+    }
+}
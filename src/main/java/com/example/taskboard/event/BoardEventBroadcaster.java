@@ -0,0 +1,237 @@
+package com.example.taskboard.event;
+
+import com.example.taskboard.board.BoardContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams committed {@link BoardChangeEvent}s to Server-Sent Events subscribers.
+ * <p>
+ * Every event gets a sequence number and is kept in a fixed-size ring buffer, so a client that
+ * reconnects with {@code Last-Event-ID} receives what it missed. Each subscriber has a bounded
+ * queue drained by its own virtual thread, so a slow client never delays a commit or another
+ * client. When a queue overflows, or a client resumes from an event that is no longer buffered,
+ * its pending events are dropped and a single {@value #RESYNC} event tells it to re-fetch the
+ * board; events after that are streamed normally. A subscriber only receives the events of the
+ * board it subscribed on. Keep-alive comments are written by the sender whenever its queue stays
+ * empty for a heartbeat interval, so they never take queue space from events.
+ */
+@Component
+public class BoardEventBroadcaster {
+    private static final Logger logger = LoggerFactory.getLogger(BoardEventBroadcaster.class);
+
+    /** SSE event name of board changes; the data is the {@link BoardChangeEvent} as JSON. */
+    public static final String CHANGE = "change";
+
+    /** SSE event name telling the client to re-fetch the board because events were dropped. */
+    public static final String RESYNC = "resync";
+
+    /** Distinguishes event IDs of this run from those issued before a restart. */
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE);
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** Number of recent events kept for {@code Last-Event-ID} resumption. */
+    @Value("${taskboard.events.history-size:1024}")
+    private int historySize = 1024;
+
+    /** Number of undelivered events a subscriber may fall behind before it is resynced. */
+    @Value("${taskboard.events.subscriber-buffer-size:256}")
+    private int subscriberBufferSize = 256;
+
+    /** How long an SSE connection stays open before the client has to reconnect. */
+    @Value("${taskboard.events.timeout-millis:1800000}")
+    private long timeoutMillis = 1_800_000;
+
+    /**
+     * How long a subscriber may go without a write before it is sent a keep-alive comment, so dead
+     * connections are detected and proxies do not close quiet ones.
+     */
+    @Value("${taskboard.events.heartbeat-millis:15000}")
+    private long heartbeatMillis = 15_000;
+
+    private SequencedEvent[] history;
+
+    private long lastSequence;
+
+    private Counter resyncs;
+
+    @PostConstruct
+    void init() {
+        history = new SequencedEvent[historySize];
+        Gauge.builder("taskboard.events.subscribers", subscribers, List::size)
+                .description("Open Server-Sent Events connections")
+                .register(meterRegistry);
+        resyncs = Counter.builder("taskboard.events.resyncs")
+                .description("Subscribers told to re-fetch the board because events were dropped")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a new subscription to the changes of the current board.
+     *
+     * @param lastEventId the {@code Last-Event-ID} sent by a reconnecting client, or {@code null}
+     * @return the emitter to return from the request handler
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        register(emitter, lastEventId);
+        return emitter;
+    }
+
+    /**
+     * Appends a committed change to the history and queues it for every subscriber.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChange(BoardChangeEvent event) {
+        synchronized (this) {
+            SequencedEvent sequenced = new SequencedEvent(++lastSequence, event);
+            history[slotOf(sequenced.sequence())] = sequenced;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offerIfWatched(sequenced);
+            }
+        }
+    }
+
+    /**
+     * Registers an emitter on the current board, replaying the events after {@code lastEventId}
+     * first. Registration and replay happen under the same lock as publishing, so no event is
+     * missed or repeated.
+     */
+    void register(SseEmitter emitter, String lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter, BoardContext.current());
+        synchronized (this) {
+            if (lastEventId != null) {
+                long resumeAfter = sequenceOf(lastEventId);
+                if (resumeAfter < 0 || resumeAfter > lastSequence || resumeAfter < lastSequence - history.length) {
+                    subscriber.resync(lastSequence);
+                } else {
+                    for (long sequence = resumeAfter + 1; sequence <= lastSequence; sequence++) {
+                        subscriber.offerIfWatched(history[slotOf(sequence)]);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+        subscriber.start();
+    }
+
+    private int slotOf(long sequence) {
+        return (int) (sequence % history.length);
+    }
+
+    private String idOf(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * @return the sequence number of an event ID issued by this run, or -1 for any other ID
+     */
+    private long sequenceOf(String eventId) {
+        String prefix = epoch + "-";
+        if (!eventId.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(prefix.length()));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * A board change with its position in the stream. A {@code null} event marks a resync
+     * issued after the event with the given sequence number.
+     */
+    private record SequencedEvent(long sequence, BoardChangeEvent event) {
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+
+        private final String board;
+
+        private final BlockingQueue<SequencedEvent> queue = new ArrayBlockingQueue<>(subscriberBufferSize);
+
+        private volatile Thread sender;
+
+        Subscriber(SseEmitter emitter, String board) {
+            this.emitter = emitter;
+            this.board = board;
+        }
+
+        void offerIfWatched(SequencedEvent event) {
+            if (event.event().board().equals(board) && !queue.offer(event)) {
+                resync(event.sequence());
+            }
+        }
+
+        void resync(long sequence) {
+            queue.clear();
+            queue.offer(new SequencedEvent(sequence, null));
+            resyncs.increment();
+        }
+
+        void start() {
+            sender = Thread.ofVirtual().name("board-events").start(this::send);
+        }
+
+        void close() {
+            subscribers.remove(this);
+            Thread thread = sender;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        private void send() {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    SequencedEvent next = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                    } else if (next.event() == null) {
+                        emitter.send(SseEmitter.event().id(idOf(next.sequence())).name(RESYNC).data("{}"));
+                    } else {
+                        emitter.send(SseEmitter.event().id(idOf(next.sequence())).name(CHANGE)
+                                .data(next.event(), MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException ex) {
+                logger.debug("Closing event subscriber: {}", ex.getMessage());
+                emitter.completeWithError(ex);
+            } finally {
+                subscribers.remove(this);
+            }
+        }
+    }
+}
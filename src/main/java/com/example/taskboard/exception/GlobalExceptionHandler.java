@@ -1,34 +1,56 @@
 package com.example.taskboard.exception;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.util.logging.Logger;
 
 /**
  * Global exception handler for the task board application.
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
-    private static final Logger logger = Logger.getLogger(GlobalExceptionHandler.class.getName());
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
     @ExceptionHandler(TaskNotFoundException.class)
     public ResponseEntity<String> handleTaskNotFoundException(TaskNotFoundException ex) {
-        logger.severe("Task not found: " + ex.getMessage());
+        logger.error("Task not found: {}", ex.getMessage());
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(TaskListNotFoundException.class)
     public ResponseEntity<String> handleTaskListNotFoundException(TaskListNotFoundException ex) {
-        logger.severe("Task list not found: " + ex.getMessage());
+        logger.error("Task list not found: {}", ex.getMessage());
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InvalidTaskException.class)
+    public ResponseEntity<String> handleInvalidTaskException(InvalidTaskException ex) {
+        logger.warn("Invalid task: {}", ex.getMessage());
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(TaskVersionConflictException.class)
+    public ResponseEntity<String> handleTaskVersionConflictException(TaskVersionConflictException ex) {
+        logger.warn("Task version conflict: {}", ex.getMessage());
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<String> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        logger.warn("Service overloaded: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGenericException(Exception ex) {
-        logger.severe("An error occurred: " + ex.getMessage());
+        logger.error("An error occurred: {}", ex.getMessage(), ex);
         return new ResponseEntity<>("An unexpected error occurred. Please try again later.", HttpStatus.INTERNAL_SERVER_ERROR);
     }
 }
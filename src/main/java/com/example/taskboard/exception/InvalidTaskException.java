@@ -0,0 +1,10 @@
+package com.example.taskboard.exception;
+
+/**
+ * Custom exception thrown when a write would give a task a value it cannot hold.
+ */
+public class InvalidTaskException extends RuntimeException {
+    public InvalidTaskException(String message) {
+        super(message);
+    }
+}
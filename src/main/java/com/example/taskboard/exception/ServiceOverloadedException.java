@@ -0,0 +1,10 @@
+package com.example.taskboard.exception;
+
+/**
+ * Custom exception thrown when a request is shed because the database is saturated.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.taskboard.exception;
+
+/**
+ * Custom exception thrown when a conditional write finds the task at a different version than expected.
+ */
+public class TaskVersionConflictException extends RuntimeException {
+    public TaskVersionConflictException(String message) {
+        super(message);
+    }
+}
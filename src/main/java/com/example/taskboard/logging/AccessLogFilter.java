@@ -0,0 +1,84 @@
+package com.example.taskboard.logging;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes one access log line per sampled request: method, path, status and duration.
+ * <p>
+ * Only a configurable fraction of requests is logged, so the cost of logging stays flat as
+ * traffic grows; server errors are always logged. Nothing is formatted for requests that are
+ * not logged.
+ * <p>
+ * An asynchronous request, such as an event stream, is logged when it completes, with its final
+ * status and full duration. A request whose handler throws is logged as a {@code 500}, the status
+ * the container answers with.
+ */
+@Component
+public class AccessLogFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(AccessLogFilter.class);
+
+    /** Fraction of requests logged, from 0 (none) to 1 (all). */
+    @Value("${taskboard.access-log.sample-rate:1.0}")
+    private double sampleRate = 1.0;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!logger.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (failed) {
+                log(request, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, start);
+            } else if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        log(request, response.getStatus(), start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        event.getAsyncContext().addListener(this);
+                    }
+                });
+            } else {
+                log(request, response.getStatus(), start);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, long start) {
+        if (status >= 500 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            logger.info("{} {} {} {}ms", request.getMethod(), request.getRequestURI(), status,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
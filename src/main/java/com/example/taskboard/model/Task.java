@@ -2,9 +2,17 @@ package com.example.taskboard.model;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDate;
 
 /**
  * Represents a task in the task board application.
@@ -13,7 +21,12 @@ import jakarta.persistence.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Task {
+    /** Longest assignee the {@code assignee} column holds. */
+    public static final int MAX_ASSIGNEE_LENGTH = 64;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -21,7 +34,49 @@ public class Task {
     private String name;
     private String description;
 
+    /** Optimistic-locking version, incremented by every update; existing rows start at 0. */
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    /**
+     * Position within the task list: tasks are ordered by this key, compared as a string, then by ID.
+     * See {@link com.example.taskboard.service.RankKeys}.
+     */
+    @Column(name = "rank_key")
+    private String rankKey;
+
+    /**
+     * The board this task belongs to. Set from the current board when the row is inserted, and
+     * every query is restricted to the current board; see {@link com.example.taskboard.board.BoardContext}.
+     */
+    @TenantId
+    @Column(name = "board_id", nullable = false, updatable = false)
+    private String boardId;
+
     @ManyToOne
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "task_list_id")
     private TaskList taskList;
+
+    /** Where the task is in its lifecycle; new tasks are to do. */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @ColumnDefault("'TODO'")
+    private TaskStatus status = TaskStatus.TODO;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @ColumnDefault("'MEDIUM'")
+    private TaskPriority priority = TaskPriority.MEDIUM;
+
+    /** The day the task is due, or {@code null} if it has no due date. */
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    /** Who the task is assigned to, or {@code null} if nobody is. */
+    @Column(length = MAX_ASSIGNEE_LENGTH)
+    private String assignee;
 }
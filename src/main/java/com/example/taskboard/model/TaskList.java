@@ -2,9 +2,16 @@ package com.example.taskboard.model;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
 import java.util.List;
 
 /**
@@ -14,13 +21,36 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class TaskList {
+    /** Number of task collections initialized per {@code IN (...)} query when tasks are loaded lazily. */
+    public static final int TASKS_BATCH_SIZE = 100;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private String name;
 
+    /** Optimistic-locking version, incremented by every update; existing rows start at 0. */
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    /**
+     * The board this task list belongs to. Set from the current board when the row is inserted, and
+     * every query is restricted to the current board; see {@link com.example.taskboard.board.BoardContext}.
+     */
+    @TenantId
+    @Column(name = "board_id", nullable = false, updatable = false)
+    private String boardId;
+
     @OneToMany(mappedBy = "taskList", cascade = CascadeType.ALL, orphanRemoval = true)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @BatchSize(size = TaskList.TASKS_BATCH_SIZE)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Task> tasks;
 }
@@ -0,0 +1,10 @@
+package com.example.taskboard.model;
+
+/**
+ * How urgent a task is. Stored by name.
+ */
+public enum TaskPriority {
+    LOW,
+    MEDIUM,
+    HIGH
+}
@@ -0,0 +1,10 @@
+package com.example.taskboard.model;
+
+/**
+ * Where a task is in its lifecycle. Stored by name.
+ */
+public enum TaskStatus {
+    TODO,
+    IN_PROGRESS,
+    DONE
+}
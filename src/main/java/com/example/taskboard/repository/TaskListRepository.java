@@ -1,11 +1,26 @@
 package com.example.taskboard.repository;
 
-import com.example.taskboard.model.Task;
+import com.example.taskboard.config.CacheConfig;
+import com.example.taskboard.dto.TaskListRef;
+import com.example.taskboard.dto.TaskListRow;
+import com.example.taskboard.dto.TaskListSummary;
 import com.example.taskboard.model.TaskList;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for TaskList entities.
@@ -13,4 +28,108 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface TaskListRepository extends JpaRepository<TaskList, Long> {
 
-}
\ No newline at end of file
+    /**
+     * Retrieves a task list of the current board by ID, without its tasks. This is a query rather
+     * than a lookup by primary key, which Hibernate does not restrict to the current board. The
+     * entity is not cached: a cached entity would be shared, mutable and detached.
+     *
+     * @param id the ID of the task list
+     * @return the task list, or empty if it does not exist on the current board
+     */
+    @Override
+    @Query("select l from TaskList l where l.id = :id")
+    Optional<TaskList> findById(@Param("id") Long id);
+
+    /**
+     * Retrieves the ID and name of a task list of the current board through the task list cache.
+     *
+     * @param id the ID of the task list
+     * @return the task list reference, or empty if the list does not exist on the current board
+     */
+    @Cacheable(cacheNames = CacheConfig.TASK_LISTS, sync = true)
+    @Query("select new com.example.taskboard.dto.TaskListRef(l.id, l.name) from TaskList l where l.id = :id")
+    Optional<TaskListRef> findRefById(@Param("id") Long id);
+
+    /**
+     * Retrieves every task list joined with its tasks in a single query, selecting only the
+     * columns of the response. Lists without tasks yield one row with {@code null} task columns.
+     *
+     * @return one row per task, or per empty task list, ordered by task list, then task rank key and ID
+     */
+    @Query("select new com.example.taskboard.dto.TaskListRow(l.id, l.name, t.id, t.name, t.description) "
+            + "from TaskList l left join l.tasks t "
+            + "order by l.id, t.rankKey, t.id")
+    List<TaskListRow> findAllRows();
+
+    /**
+     * Retrieves the given task lists joined with their tasks in a single query, selecting only
+     * the columns of the response. Lists without tasks yield one row with {@code null} task columns.
+     *
+     * @param ids the IDs of the task lists to load
+     * @return one row per task, or per empty task list, ordered by task list, then task rank key and ID
+     */
+    @Query("select new com.example.taskboard.dto.TaskListRow(l.id, l.name, t.id, t.name, t.description) "
+            + "from TaskList l left join l.tasks t "
+            + "where l.id in :ids "
+            + "order by l.id, t.rankKey, t.id")
+    List<TaskListRow> findRowsByListIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves the IDs of the next page of task lists after the given cursor.
+     *
+     * @param after the ID to continue after (exclusive)
+     * @param limit the maximum number of IDs to return
+     * @return task list IDs greater than {@code after}, in ascending order
+     */
+    @Query("select l.id from TaskList l where l.id > :after order by l.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Retrieves the next page of task list summaries after the given cursor.
+     * Task counts are aggregated in SQL so the tasks themselves are never loaded.
+     *
+     * @param after the ID to continue after (exclusive)
+     * @param limit the maximum number of summaries to return
+     * @return summaries of task lists with an ID greater than {@code after}, in ascending ID order
+     */
+    @Query("select new com.example.taskboard.dto.TaskListSummary(l.id, l.name, count(t.id)) "
+            + "from TaskList l left join l.tasks t "
+            + "where l.id > :after "
+            + "group by l.id, l.name "
+            + "order by l.id")
+    List<TaskListSummary> findSummariesAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Retrieves which of the given task list IDs exist.
+     *
+     * @param ids the task list IDs to check
+     * @return the subset of {@code ids} that refer to existing task lists
+     */
+    @Query("select l.id from TaskList l where l.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams every task list without its tasks, ordered by ID.
+     * The stream is forward-only and read-only and must be consumed inside a transaction and closed.
+     *
+     * @return a stream over all task lists
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + TaskRepository.STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select l from TaskList l order by l.id")
+    Stream<TaskList> streamAll();
+
+    /**
+     * Deletes a task list with a single DELETE, without loading it or cascading to its tasks.
+     * The tasks must already have been deleted.
+     *
+     * @param id the ID of the task list
+     * @return the number of task lists deleted: 1 if the list exists, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from TaskList l where l.id = :id")
+    int deleteListById(@Param("id") Long id);
+}
@@ -0,0 +1,24 @@
+package com.example.taskboard.repository;
+
+import com.example.taskboard.dto.TaskOverview;
+import com.example.taskboard.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Filtered task listings, built with the Criteria API. Part of {@link TaskRepository}.
+ */
+public interface TaskOverviewRepository {
+
+    /**
+     * Retrieves the tasks matching a specification in ID order, starting after a cursor. Only the
+     * columns of the overview are selected, and the task list is read from the foreign key without a join.
+     *
+     * @param specification the conditions the tasks must meet; see {@link TaskSpecifications}
+     * @param after the task ID to continue after (exclusive), or {@code null} to start at the beginning
+     * @param limit the maximum number of tasks to return
+     * @return the matching tasks, in ascending ID order
+     */
+    List<TaskOverview> findOverviews(Specification<Task> specification, Long after, int limit);
+}
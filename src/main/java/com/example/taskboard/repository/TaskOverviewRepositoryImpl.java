@@ -0,0 +1,41 @@
+package com.example.taskboard.repository;
+
+import com.example.taskboard.dto.TaskOverview;
+import com.example.taskboard.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Criteria implementation of {@link TaskOverviewRepository}, picked up by Spring Data as a
+ * fragment of {@link TaskRepository}.
+ */
+public class TaskOverviewRepositoryImpl implements TaskOverviewRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskOverview> findOverviews(Specification<Task> specification, Long after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskOverview> query = cb.createQuery(TaskOverview.class);
+        Root<Task> task = query.from(Task.class);
+        query.select(cb.construct(TaskOverview.class, task.get("id"), task.get("name"), task.get("description"),
+                task.get("version"), task.get("status"), task.get("priority"), task.get("dueDate"),
+                task.get("assignee"), task.get("taskList").get("id")));
+        Predicate where = specification.and(TaskSpecifications.idAfter(after)).toPredicate(task, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(cb.asc(task.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
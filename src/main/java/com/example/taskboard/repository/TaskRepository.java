@@ -1,14 +1,297 @@
 package com.example.taskboard.repository;
 
+import com.example.taskboard.dto.ListRankKey;
+import com.example.taskboard.dto.RankGap;
+import com.example.taskboard.dto.RankedTaskItem;
+import com.example.taskboard.dto.TaskDetails;
+import com.example.taskboard.dto.TaskItem;
 import com.example.taskboard.model.Task;
 import com.example.taskboard.model.TaskList;
+import com.example.taskboard.model.TaskPriority;
+import com.example.taskboard.model.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
- * Repository interface for Task entities.
+ * Repository interface for Task entities. Filtered task listings are built with the Criteria API
+ * in {@link TaskOverviewRepository}.
  */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskOverviewRepository {
+
+    /** JDBC fetch size used by streaming queries. */
+    int STREAM_FETCH_SIZE = 500;
+
+    /** Whether a task other than anchor {@code a} and the task being placed shares the anchor's rank key. */
+    String TIED = "case when exists (select 1 from Task d where d.taskList.id = :listId and d.rankKey = a.rankKey "
+            + "and d.id <> a.id and d.id <> :taskId) then true else false end";
+
+    /**
+     * Retrieves a task of the current board by ID. This is a query rather than a lookup by primary
+     * key, which Hibernate does not restrict to the current board.
+     *
+     * @param id the ID of the task
+     * @return the task, or empty if it does not exist on the current board
+     */
+    @Override
+    @Query("select t from Task t where t.id = :id")
+    Optional<Task> findById(@Param("id") Long id);
+
+    /**
+     * Retrieves a task and the name of its task list, selecting only the columns of the response.
+     *
+     * @param id the ID of the task
+     * @return the task, or empty if it does not exist
+     */
+    @Query("select new com.example.taskboard.dto.TaskDetails(t.id, t.name, t.description, t.version, l.id, l.name) "
+            + "from Task t left join t.taskList l "
+            + "where t.id = :id")
+    Optional<TaskDetails> findDetailsById(@Param("id") Long id);
+
+    /**
+     * Retrieves the first tasks of a task list in rank order, reading the list through the
+     * {@code (task_list_id, rank_key)} index. The bound on the key, which every key satisfies,
+     * is what makes the planner prefer that index over the plain {@code task_list_id} index.
+     * Tasks that have not been given a key yet are skipped.
+     *
+     * @param listId the ID of the task list
+     * @param limit the maximum number of tasks to return
+     * @return the tasks, ordered by rank key and ID
+     */
+    @Query("select new com.example.taskboard.dto.TaskItem(t.id, t.name, t.description) "
+            + "from Task t "
+            + "where t.taskList.id = :listId and t.rankKey >= '' "
+            + "order by t.rankKey, t.id")
+    List<TaskItem> findItemsByListId(@Param("listId") Long listId, Limit limit);
+
+    /**
+     * Retrieves every task of a task list in rank order with its rank key, reading the list through
+     * the {@code (task_list_id, rank_key)} index like {@link #findItemsByListId}.
+     *
+     * @param listId the ID of the task list
+     * @return the tasks, ordered by rank key and ID
+     */
+    @Query("select new com.example.taskboard.dto.RankedTaskItem(t.id, t.name, t.description, t.rankKey) "
+            + "from Task t "
+            + "where t.taskList.id = :listId and t.rankKey >= '' "
+            + "order by t.rankKey, t.id")
+    List<RankedTaskItem> findRankedItemsByListId(@Param("listId") Long listId);
+
+    /**
+     * Retrieves the tasks of a task list that follow a given task in rank order, reading the list
+     * through the {@code (task_list_id, rank_key)} index from the cursor task's key onwards.
+     *
+     * @param listId the ID of the task list
+     * @param after the ID of the task to continue after (exclusive)
+     * @param limit the maximum number of tasks to return
+     * @return the tasks, ordered by rank key and ID; empty if the cursor task no longer exists
+     */
+    @Query("select new com.example.taskboard.dto.TaskItem(t.id, t.name, t.description) "
+            + "from Task t "
+            + "where t.taskList.id = :listId "
+            + "and t.rankKey >= (select a.rankKey from Task a where a.id = :after) "
+            + "and (t.rankKey > (select a.rankKey from Task a where a.id = :after) or t.id > :after) "
+            + "order by t.rankKey, t.id")
+    List<TaskItem> findItemsByListIdAfter(@Param("listId") Long listId, @Param("after") Long after, Limit limit);
+
+    /**
+     * Retrieves the greatest rank key of a task list.
+     *
+     * @param listId the ID of the task list
+     * @return the last key, or {@code null} if the list has no ranked tasks
+     */
+    @Query("select max(t.rankKey) from Task t where t.taskList.id = :listId")
+    String findLastRankKey(@Param("listId") Long listId);
+
+    /**
+     * Retrieves the greatest rank key of each of the given task lists.
+     *
+     * @param listIds the IDs of the task lists
+     * @return one entry per list that has ranked tasks
+     */
+    @Query("select new com.example.taskboard.dto.ListRankKey(t.taskList.id, max(t.rankKey)) "
+            + "from Task t "
+            + "where t.taskList.id in :listIds "
+            + "group by t.taskList.id")
+    List<ListRankKey> findLastRankKeys(@Param("listIds") Collection<Long> listIds);
+
+    /**
+     * Retrieves the keys around the position directly after an anchor task, ignoring the task being placed,
+     * and whether another task shares the anchor's key.
+     *
+     * @param listId the ID of the task list the anchor must belong to
+     * @param anchorId the ID of the task to place after
+     * @param taskId the ID of the task being placed
+     * @return the anchor's key and the next greater key, or empty if the anchor is not in the list
+     */
+    @Query("select new com.example.taskboard.dto.RankGap(a.rankKey, "
+            + "(select min(t.rankKey) from Task t where t.taskList.id = :listId and t.rankKey > a.rankKey and t.id <> :taskId), "
+            + TIED + ") "
+            + "from Task a "
+            + "where a.id = :anchorId and a.taskList.id = :listId")
+    Optional<RankGap> findGapAfter(@Param("listId") Long listId, @Param("anchorId") Long anchorId,
+                                   @Param("taskId") Long taskId);
+
+    /**
+     * Retrieves the keys around the position directly before an anchor task, ignoring the task being placed,
+     * and whether another task shares the anchor's key.
+     *
+     * @param listId the ID of the task list the anchor must belong to
+     * @param anchorId the ID of the task to place before
+     * @param taskId the ID of the task being placed
+     * @return the next smaller key and the anchor's key, or empty if the anchor is not in the list
+     */
+    @Query("select new com.example.taskboard.dto.RankGap("
+            + "(select max(t.rankKey) from Task t where t.taskList.id = :listId and t.rankKey < a.rankKey and t.id <> :taskId), "
+            + "a.rankKey, " + TIED + ") "
+            + "from Task a "
+            + "where a.id = :anchorId and a.taskList.id = :listId")
+    Optional<RankGap> findGapBefore(@Param("listId") Long listId, @Param("anchorId") Long anchorId,
+                                    @Param("taskId") Long taskId);
+
+    /**
+     * Retrieves the task lists holding tasks without a rank key or with a key longer than the given length.
+     *
+     * @param maxLength the longest acceptable key
+     * @return the IDs of the task lists to rebalance
+     */
+    @Query("select distinct t.taskList.id from Task t "
+            + "where t.taskList is not null and (t.rankKey is null or length(t.rankKey) > :maxLength)")
+    List<Long> findListIdsToRebalance(@Param("maxLength") int maxLength);
+
+    /**
+     * Streams every task, with its task list, ordered by task list and task ID.
+     * The stream is forward-only and read-only and must be consumed inside a transaction and closed.
+     *
+     * @return a stream over all tasks
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select t from Task t join fetch t.taskList l order by l.id, t.id")
+    Stream<Task> streamAll();
+
+    /**
+     * Changes the name and description of a task and increments its version with a single UPDATE.
+     *
+     * @param taskId the ID of the task to update
+     * @param name the new name of the task
+     * @param description the new description of the task
+     * @param expectedVersion the version the task must still have, or {@code null} to update it unconditionally
+     * @return the number of tasks updated: 1 if the task exists (at the expected version), 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("update Task t set t.name = :name, t.description = :description, t.version = t.version + 1 "
+            + "where t.id = :taskId and (:expectedVersion is null or t.version = :expectedVersion)")
+    int updateDetails(@Param("taskId") Long taskId, @Param("name") String name, @Param("description") String description,
+                      @Param("expectedVersion") Long expectedVersion);
+
+    /**
+     * Replaces the lifecycle fields of a task and increments its version with a single UPDATE.
+     *
+     * @param taskId the ID of the task to update
+     * @param status the new status
+     * @param priority the new priority
+     * @param dueDate the new due date, or {@code null} for none
+     * @param assignee the new assignee, or {@code null} for nobody
+     * @param expectedVersion the version the task must still have, or {@code null} to update it unconditionally
+     * @return the number of tasks updated: 1 if the task exists (at the expected version), 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("update Task t set t.status = :status, t.priority = :priority, t.dueDate = :dueDate, "
+            + "t.assignee = :assignee, t.version = t.version + 1 "
+            + "where t.id = :taskId and (:expectedVersion is null or t.version = :expectedVersion)")
+    int updateLifecycle(@Param("taskId") Long taskId, @Param("status") TaskStatus status,
+                        @Param("priority") TaskPriority priority, @Param("dueDate") LocalDate dueDate,
+                        @Param("assignee") String assignee, @Param("expectedVersion") Long expectedVersion);
+
+    /**
+     * Writes the whole state of a task, including its version, with a single UPDATE, provided it
+     * still has the version the state was derived from.
+     *
+     * @param taskId the ID of the task to write
+     * @param name the name of the task
+     * @param description the description of the task
+     * @param listId the ID of the task list the task belongs to
+     * @param rankKey the rank key of the task, or {@code null} to keep the current one
+     * @param version the version to give the task
+     * @param expectedVersion the version the task must still have
+     * @return the number of tasks updated: 1 if the task exists at the expected version, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("update Task t set t.name = :name, t.description = :description, t.taskList.id = :listId, "
+            + "t.rankKey = coalesce(:rankKey, t.rankKey), t.version = :version "
+            + "where t.id = :taskId and t.version = :expectedVersion")
+    int writeBack(@Param("taskId") Long taskId, @Param("name") String name, @Param("description") String description,
+                  @Param("listId") Long listId, @Param("rankKey") String rankKey, @Param("version") long version,
+                  @Param("expectedVersion") long expectedVersion);
+
+    /**
+     * Moves the given tasks to a task list and increments their versions with a single set-based UPDATE.
+     * Their rank keys are not changed. A missing target list surfaces as a foreign key violation.
+     *
+     * @param ids the IDs of the tasks to move
+     * @param listId the ID of the target task list
+     * @return the number of tasks updated
+     */
+    @Transactional
+    @Modifying
+    @Query("update Task t set t.taskList.id = :listId, t.version = t.version + 1 where t.id in :ids")
+    int moveAllToList(@Param("ids") Collection<Long> ids, @Param("listId") Long listId);
+
+    /**
+     * Gives the given tasks the same name and description and increments their versions with a
+     * single set-based UPDATE.
+     *
+     * @param ids the IDs of the tasks to update
+     * @param name the new name of the tasks
+     * @param description the new description of the tasks
+     * @return the number of tasks updated
+     */
+    @Transactional
+    @Modifying
+    @Query("update Task t set t.name = :name, t.description = :description, t.version = t.version + 1 "
+            + "where t.id in :ids")
+    int updateAllDetails(@Param("ids") Collection<Long> ids, @Param("name") String name,
+                         @Param("description") String description);
+
+    /**
+     * Deletes the given tasks with a single set-based DELETE.
+     *
+     * @param ids the IDs of the tasks to delete
+     * @return the number of tasks deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Task t where t.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 
+    /**
+     * Deletes every task of a task list with a single set-based DELETE.
+     *
+     * @param listId the ID of the task list whose tasks are deleted
+     * @return the number of tasks deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Task t where t.taskList.id = :listId")
+    int deleteAllByTaskListId(@Param("listId") Long listId);
 }
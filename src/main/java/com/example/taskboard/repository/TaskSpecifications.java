@@ -0,0 +1,62 @@
+package com.example.taskboard.repository;
+
+import com.example.taskboard.dto.TaskFilter;
+import com.example.taskboard.model.Task;
+import com.example.taskboard.model.TaskStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Criteria conditions on tasks, for {@link TaskOverviewRepository}. A condition given no value
+ * matches every task. Hibernate adds the restriction to the current board to every query, so the
+ * combined conditions line up with the {@code (board_id, assignee, status, id)} and
+ * {@code (board_id, status, due_date)} indexes.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * @param filter the conditions of a task listing
+     * @return a specification matching the tasks that meet every condition of the filter
+     */
+    public static Specification<Task> matching(TaskFilter filter) {
+        return Specification.allOf(hasStatusIn(filter.statuses()), assignedTo(filter.assignee()),
+                dueBefore(filter.dueBefore()));
+    }
+
+    /**
+     * @param statuses the accepted statuses; empty for any
+     * @return a specification matching the tasks with one of the statuses
+     */
+    public static Specification<Task> hasStatusIn(Collection<TaskStatus> statuses) {
+        return (task, query, cb) -> statuses.isEmpty() ? null : task.get("status").in(statuses);
+    }
+
+    /**
+     * @param assignee the assignee, or {@code null} for any
+     * @return a specification matching the tasks assigned to the assignee
+     */
+    public static Specification<Task> assignedTo(String assignee) {
+        return (task, query, cb) -> assignee == null ? null : cb.equal(task.get("assignee"), assignee);
+    }
+
+    /**
+     * @param day the day tasks must be due before (exclusive), or {@code null} for any
+     * @return a specification matching the tasks due before the day; tasks without a due date never match
+     */
+    public static Specification<Task> dueBefore(LocalDate day) {
+        return (task, query, cb) -> day == null ? null : cb.lessThan(task.get("dueDate"), day);
+    }
+
+    /**
+     * @param after the task ID to continue after (exclusive), or {@code null} to start at the beginning
+     * @return a specification matching the tasks with a greater ID
+     */
+    public static Specification<Task> idAfter(Long after) {
+        return (task, query, cb) -> after == null ? null : cb.greaterThan(task.get("id"), after);
+    }
+}
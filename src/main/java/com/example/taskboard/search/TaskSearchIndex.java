@@ -0,0 +1,271 @@
+package com.example.taskboard.search;
+
+import com.example.taskboard.board.BoardContext;
+import com.example.taskboard.board.BoardStates;
+import com.example.taskboard.dto.TaskSearchHit;
+import com.example.taskboard.dto.TaskSearchResult;
+import com.example.taskboard.event.BoardChangeEvent;
+import com.example.taskboard.store.TaskStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over task names and descriptions, one per board.
+ * <p>
+ * An index is built from a scan of every task of its board in the {@link TaskStore} and then kept
+ * up to date from committed {@link BoardChangeEvent}s, so searches never query the store. Results
+ * are ranked with BM25. Task fields are stored in the index so hits can be returned as they are.
+ */
+@Component
+public class TaskSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    /** BM25 term frequency saturation. */
+    private static final double K1 = 1.2;
+
+    /** BM25 document length normalization. */
+    private static final double B = 0.75;
+
+    /** The default board's index, which is never dropped. */
+    private final BoardIndex defaultIndex = new BoardIndex();
+
+    /** The indexes of the other boards; a dropped index is rebuilt on the board's next search. */
+    private final Map<String, BoardIndex> boards = BoardStates.newMap();
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Value("${taskboard.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup = true;
+
+    public TaskSearchIndex() {
+        // The default board is rebuilt on startup, if at all, and kept up to date from events alone
+        defaultIndex.built = true;
+    }
+
+    /**
+     * Searches task names and descriptions on the current board. Every term of the query is
+     * optional; tasks matching more (and rarer) terms rank higher.
+     *
+     * @param query the free-text query
+     * @param page the zero-based page number
+     * @param size the page size
+     * @return the requested page of hits, most relevant first
+     */
+    public TaskSearchResult search(String query, int page, int size) {
+        BoardIndex index = indexOf(BoardContext.current());
+        if (!index.built) {
+            index.rebuild();
+        }
+        return index.search(query, page, size);
+    }
+
+    /**
+     * Applies a committed change to the index of its board.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChange(BoardChangeEvent event) {
+        indexOf(event.board()).apply(event);
+    }
+
+    /**
+     * Rebuilds the index of the default board from the store once the application is ready.
+     * Changes committed while the rebuild runs wait for it and are applied afterwards.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Discards the index of the current board and rebuilds it from a scan of every task.
+     */
+    public void rebuild() {
+        indexOf(BoardContext.current()).rebuild();
+    }
+
+    private BoardIndex indexOf(String board) {
+        return board.equals(BoardContext.DEFAULT) ? defaultIndex : boards.computeIfAbsent(board, key -> new BoardIndex());
+    }
+
+    /**
+     * The index of one board. Only the default board's index is built on startup; the others
+     * are built on their first search, and receive events from their creation on.
+     */
+    private final class BoardIndex {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private final Map<Long, Document> documents = new HashMap<>();
+
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+        private final Map<Long, Set<Long>> tasksByList = new HashMap<>();
+
+        private long totalLength;
+
+        private volatile boolean built;
+
+        TaskSearchResult search(String query, int page, int size) {
+            List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+            lock.readLock().lock();
+            try {
+                Map<Long, Double> scores = new HashMap<>();
+                double averageLength = documents.isEmpty() ? 0 : (double) totalLength / documents.size();
+                for (String term : terms) {
+                    Map<Long, Integer> termPostings = postings.get(term);
+                    if (termPostings == null) {
+                        continue;
+                    }
+                    double idf = Math.log(1 + (documents.size() - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+                    termPostings.forEach((taskId, frequency) -> {
+                        double norm = K1 * (1 - B + B * documents.get(taskId).length() / averageLength);
+                        scores.merge(taskId, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                    });
+                }
+                List<TaskSearchHit> hits = scores.entrySet().stream()
+                        .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                                .thenComparing(Map.Entry.comparingByKey()))
+                        .skip((long) page * size)
+                        .limit(size)
+                        .map(entry -> documents.get(entry.getKey()).toHit(entry.getKey(), entry.getValue()))
+                        .toList();
+                return new TaskSearchResult(query, scores.size(), page, size, hits);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void apply(BoardChangeEvent event) {
+            lock.writeLock().lock();
+            try {
+                switch (event.type()) {
+                    case TASK_CREATED -> put(event.taskId(), event.taskListId(), event.name(), event.description());
+                    case TASK_UPDATED -> {
+                        Document existing = documents.get(event.taskId());
+                        if (existing != null) {
+                            put(event.taskId(), existing.taskListId(), event.name(), event.description());
+                        }
+                    }
+                    case TASK_MOVED -> {
+                        Document existing = documents.get(event.taskId());
+                        if (existing != null) {
+                            put(event.taskId(), event.taskListId(), existing.name(), existing.description());
+                        }
+                    }
+                    case TASK_DELETED -> remove(event.taskId());
+                    case TASK_LIST_DELETED -> {
+                        Set<Long> taskIds = tasksByList.remove(event.taskListId());
+                        if (taskIds != null) {
+                            new ArrayList<>(taskIds).forEach(this::remove);
+                        }
+                    }
+                    case TASK_LIST_CREATED -> {
+                        // Empty lists have nothing to index
+                    }
+                    case TASK_LIFECYCLE_CHANGED -> {
+                        // Only names and descriptions are indexed
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Scans the tasks of the current board, which is the board of this index.
+         */
+        void rebuild() {
+            lock.writeLock().lock();
+            try {
+                documents.clear();
+                postings.clear();
+                tasksByList.clear();
+                totalLength = 0;
+                taskStore.forEachTask(row -> put(row.taskId(), row.listId(), row.taskName(), row.taskDescription()));
+                built = true;
+                logger.info("Rebuilt search index of board {} with {} tasks", BoardContext.current(), documents.size());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void put(Long taskId, Long taskListId, String name, String description) {
+            remove(taskId);
+            Map<String, Integer> frequencies = new HashMap<>();
+            List<String> terms = tokenize(name);
+            terms.addAll(tokenize(description));
+            terms.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(taskId, frequency));
+            documents.put(taskId, new Document(taskListId, name, description, frequencies.keySet(), terms.size()));
+            tasksByList.computeIfAbsent(taskListId, key -> new HashSet<>()).add(taskId);
+            totalLength += terms.size();
+        }
+
+        private void remove(Long taskId) {
+            Document document = documents.remove(taskId);
+            if (document == null) {
+                return;
+            }
+            for (String term : document.terms()) {
+                Map<Long, Integer> termPostings = postings.get(term);
+                termPostings.remove(taskId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            Set<Long> listTasks = tasksByList.get(document.taskListId());
+            if (listTasks != null) {
+                listTasks.remove(taskId);
+                if (listTasks.isEmpty()) {
+                    tasksByList.remove(document.taskListId());
+                }
+            }
+            totalLength -= document.length();
+        }
+    }
+
+    /**
+     * Splits text into lower-case terms on anything that is not a letter or digit.
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String term : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private record Document(Long taskListId, String name, String description, Set<String> terms, int length) {
+        TaskSearchHit toHit(Long taskId, double score) {
+            return new TaskSearchHit(taskId, taskListId, name, description, score);
+        }
+    }
+}
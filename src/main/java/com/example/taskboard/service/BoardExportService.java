@@ -0,0 +1,91 @@
+package com.example.taskboard.service;
+
+import com.example.taskboard.repository.TaskRepository;
+import com.example.taskboard.store.TaskStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Service for exporting the whole board as newline-delimited JSON.
+ * <p>
+ * Task lists and tasks are read one at a time from the {@link TaskStore} (through forward-only
+ * streaming queries with the JPA engine) and written straight to the output, so memory use does
+ * not grow with the size of the board.
+ */
+@Service
+public class BoardExportService {
+    private static final Logger logger = LoggerFactory.getLogger(BoardExportService.class);
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Writes every task list, then every task, as one JSON object per line.
+     * Task list lines look like {@code {"type":"taskList","id":1,"name":"Work"}} and task lines like
+     * {@code {"type":"task","id":7,"taskListId":1,"name":"Report","description":"Quarterly"}}.
+     *
+     * @param out the stream to write to; it is flushed but not closed
+     * @throws IOException if writing to {@code out} fails
+     */
+    @Transactional(readOnly = true)
+    public void exportBoard(OutputStream out) throws IOException {
+        logger.info("Exporting board");
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        long[] count = {0};
+        taskStore.forEachTaskList(lineWriter(taskList -> {
+            generator.writeStartObject();
+            generator.writeStringField("type", "taskList");
+            generator.writeNumberField("id", taskList.id());
+            generator.writeStringField("name", taskList.name());
+            generator.writeEndObject();
+        }, generator, count));
+        taskStore.forEachTask(lineWriter(row -> {
+            generator.writeStartObject();
+            generator.writeStringField("type", "task");
+            generator.writeNumberField("id", row.taskId());
+            generator.writeNumberField("taskListId", row.listId());
+            generator.writeStringField("name", row.taskName());
+            generator.writeStringField("description", row.taskDescription());
+            generator.writeEndObject();
+        }, generator, count));
+        generator.close();
+        logger.info("Exported {} board records", count[0]);
+    }
+
+    /**
+     * Writes each row as one line, flushing the output every {@value TaskRepository#STREAM_FETCH_SIZE} rows.
+     */
+    private static <T> Consumer<T> lineWriter(RowWriter<T> writer, JsonGenerator generator, long[] count) {
+        return row -> {
+            try {
+                writer.write(row);
+                generator.writeRaw('\n');
+                if (++count[0] % TaskRepository.STREAM_FETCH_SIZE == 0) {
+                    generator.flush();
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(T row) throws IOException;
+    }
+}
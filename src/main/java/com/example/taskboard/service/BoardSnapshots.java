@@ -0,0 +1,401 @@
+package com.example.taskboard.service;
+
+import com.example.taskboard.board.BoardContext;
+import com.example.taskboard.board.BoardStates;
+import com.example.taskboard.dto.TaskDetails;
+import com.example.taskboard.dto.TaskItem;
+import com.example.taskboard.dto.TaskListDetails;
+import com.example.taskboard.dto.TaskListRef;
+import com.example.taskboard.store.TaskStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Immutable, pre-serialized views of whole boards, behind {@code GET /api/tasklists}.
+ * <p>
+ * Each board's snapshot is built from the store on its first read and published through an
+ * atomic reference, so reads take no lock and never reach the store. After every committed write
+ * {@link TaskService} tells the snapshot which tasks and lists it touched; a new snapshot is then
+ * derived copy-on-write from the previous one, reloading only the affected lists from the store
+ * and re-encoding only their JSON. A task update whose list is unchanged is patched in place from
+ * a single lookup of the task. Writers find the lists holding a task through an index kept next
+ * to the snapshot, and the JSON is served as the sequence of the lists' own encodings, so the work
+ * of a refresh grows with the lists it reloads rather than with the board.
+ * <p>
+ * Refreshes of a board are serialized with each other and with the board's first build, and always
+ * read the store's current state, so the last snapshot published is never older than any write
+ * that preceded it: a write committed while the first snapshot is being built waits for it and
+ * then refreshes it.
+ * <p>
+ * Boards are kept in a bounded map ({@link BoardStates}). The snapshot of a board that has not been
+ * read or written for a while is dropped, and is built again on its next read. Writers refresh before they
+ * publish their change event, so a board {@code ETag} is never issued ahead of the snapshot it tags.
+ */
+@Component
+public class BoardSnapshots {
+    private static final Logger logger = LoggerFactory.getLogger(BoardSnapshots.class);
+
+    private final Map<String, Board> boards = BoardStates.newMap();
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Returns the snapshot of the current board, building it from the store if it has never been read.
+     *
+     * @return the snapshot
+     */
+    public Snapshot current() {
+        Board board = board();
+        Snapshot snapshot = board.snapshot.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        board.lock.lock();
+        try {
+            snapshot = board.snapshot.get();
+            if (snapshot == null) {
+                List<TaskListDetails> taskLists = TaskService.toTaskLists(taskStore.findAllRows());
+                snapshot = new Snapshot(taskLists.toArray(TaskListDetails[]::new),
+                        taskLists.stream().map(this::encode).toArray(byte[][]::new));
+                board.listOfTask.clear();
+                taskLists.forEach(board::index);
+                board.snapshot.set(snapshot);
+                logger.debug("Built the snapshot of board {} with {} task lists", BoardContext.current(), taskLists.size());
+            }
+            return snapshot;
+        } finally {
+            board.lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the snapshot of the current board, so the next read builds it again from the store.
+     * Needed only when the board is changed behind the services' back, such as by restoring its database.
+     */
+    public void discard() {
+        Board board = board();
+        board.lock.lock();
+        try {
+            board.snapshot.set(null);
+            board.listOfTask.clear();
+        } finally {
+            board.lock.unlock();
+        }
+    }
+
+    /**
+     * Brings the current board's snapshot up to date after a write, if the board has one.
+     * Every list that holds one of the tasks, or held it in the previous snapshot, is reloaded,
+     * as is every given list; lists that no longer exist are dropped.
+     *
+     * @param taskIds the IDs of the tasks created, changed, moved or deleted
+     * @param listIds the IDs of the task lists created, deleted or given tasks
+     */
+    public void refresh(Collection<Long> taskIds, Collection<Long> listIds) {
+        Board board = board();
+        board.lock.lock();
+        try {
+            // Checked under the lock: a first build in progress holds it, and is refreshed once it is published
+            Snapshot snapshot = board.snapshot.get();
+            if (snapshot == null) {
+                return;
+            }
+            Set<Long> reload = new HashSet<>(listIds);
+            Set<Long> tasks = new HashSet<>(taskIds);
+            for (Long taskId : tasks) {
+                Long listId = board.listOfTask.get(taskId);
+                if (listId != null) {
+                    reload.add(listId);
+                }
+            }
+            Map<Long, TaskListDetails> changed = load(reload, snapshot);
+            changed.values().stream()
+                    .filter(Objects::nonNull)
+                    .forEach(taskList -> taskList.tasks().forEach(task -> tasks.remove(task.id())));
+            // Tasks left were moved to another list concurrently, or deleted
+            Set<Long> more = new HashSet<>();
+            for (Long taskId : tasks) {
+                taskStore.findTaskDetails(taskId)
+                        .map(task -> task.taskList().id())
+                        .filter(listId -> !changed.containsKey(listId))
+                        .ifPresent(more::add);
+            }
+            changed.putAll(load(more, snapshot));
+            publish(board, snapshot, changed);
+        } finally {
+            board.lock.unlock();
+        }
+    }
+
+    /**
+     * Brings the current board's snapshot up to date after a task list was created or deleted.
+     *
+     * @param listId the ID of the task list
+     */
+    public void listChanged(Long listId) {
+        refresh(List.of(), List.of(listId));
+    }
+
+    /**
+     * Brings the current board's snapshot up to date after a task was created, moved or deleted.
+     *
+     * @param taskId the ID of the task
+     * @param listId the ID of the task list the task was created in or moved to, or {@code null}
+     */
+    public void taskChanged(Long taskId, Long listId) {
+        refresh(List.of(taskId), listId == null ? List.of() : List.of(listId));
+    }
+
+    /**
+     * Brings the current board's snapshot up to date after the name or description of a task
+     * changed. If the task is still in the list the snapshot shows it in, only that task is
+     * replaced; otherwise the task is refreshed like any other write.
+     *
+     * @param taskId the ID of the task
+     */
+    public void taskUpdated(Long taskId) {
+        Board board = board();
+        board.lock.lock();
+        try {
+            Snapshot snapshot = board.snapshot.get();
+            if (snapshot == null) {
+                return;
+            }
+            Long listId = board.listOfTask.get(taskId);
+            int list = listId == null ? -1 : snapshot.indexOfList(listId);
+            Optional<TaskDetails> task = taskStore.findTaskDetails(taskId);
+            if (list >= 0 && task.isPresent() && task.get().taskList().id().equals(snapshot.lists[list].id())) {
+                TaskListDetails taskList = snapshot.lists[list];
+                List<TaskItem> tasks = new ArrayList<>(taskList.tasks());
+                tasks.replaceAll(item -> item.id().equals(taskId)
+                        ? new TaskItem(taskId, task.get().name(), task.get().description()) : item);
+                publish(board, snapshot,
+                        Map.of(taskList.id(), new TaskListDetails(taskList.id(), taskList.name(), List.copyOf(tasks))));
+                return;
+            }
+        } finally {
+            board.lock.unlock();
+        }
+        refresh(List.of(taskId), List.of());
+    }
+
+    /**
+     * Publishes the snapshot derived from {@code snapshot} with the given lists changed, moving the
+     * tasks of those lists in the board's index. Must be called holding the board's lock.
+     */
+    private void publish(Board board, Snapshot snapshot, Map<Long, TaskListDetails> changed) {
+        changed.forEach((listId, taskList) -> {
+            int index = snapshot.indexOfList(listId);
+            if (index >= 0) {
+                snapshot.lists[index].tasks().forEach(task -> board.listOfTask.remove(task.id(), listId));
+            }
+        });
+        changed.values().stream().filter(Objects::nonNull).forEach(board::index);
+        board.snapshot.set(snapshot.with(changed, this::encode));
+    }
+
+    /**
+     * Reads the given task lists from the store, mapping the ones that no longer exist to {@code null}.
+     */
+    private Map<Long, TaskListDetails> load(Set<Long> listIds, Snapshot snapshot) {
+        Map<Long, TaskListDetails> loaded = new LinkedHashMap<>();
+        if (listIds.isEmpty()) {
+            return loaded;
+        }
+        Set<Long> existing = new HashSet<>(taskStore.findExistingTaskListIds(listIds));
+        for (Long listId : listIds) {
+            if (!existing.contains(listId)) {
+                loaded.put(listId, null);
+                continue;
+            }
+            int index = snapshot.indexOfList(listId);
+            String name = index >= 0
+                    ? snapshot.lists[index].name()
+                    : taskStore.findTaskListRef(listId).map(TaskListRef::name).orElse(null);
+            List<TaskItem> tasks = taskStore.findAllTaskItems(listId);
+            loaded.put(listId, new TaskListDetails(listId, name, List.copyOf(tasks)));
+        }
+        return loaded;
+    }
+
+    private byte[] encode(TaskListDetails taskList) {
+        try {
+            return objectMapper.writeValueAsBytes(taskList);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private Board board() {
+        return boards.computeIfAbsent(BoardContext.current(), board -> new Board());
+    }
+
+    /**
+     * The published snapshot of one board, the lock serializing its refreshes, and the index of the
+     * list each task of the snapshot is in, which only writers holding the lock use.
+     */
+    private static final class Board {
+
+        final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+        final ReentrantLock lock = new ReentrantLock();
+
+        final Map<Long, Long> listOfTask = new HashMap<>();
+
+        void index(TaskListDetails taskList) {
+            taskList.tasks().forEach(task -> listOfTask.put(task.id(), taskList.id()));
+        }
+    }
+
+    /**
+     * An immutable view of every task list of a board with its tasks in rank order, together
+     * with its JSON representation. Task lists are held in ascending ID order in an array, each
+     * with its own encoded JSON, so a refresh copies the references and re-encodes only the lists
+     * that changed. The JSON array is never joined into one buffer; readers stream the lists'
+     * encodings one after the other.
+     */
+    public static final class Snapshot {
+
+        private static final byte[] OPEN = {'['};
+
+        private static final byte[] SEPARATOR = {','};
+
+        private static final byte[] CLOSE = {']'};
+
+        private final TaskListDetails[] lists;
+
+        private final byte[][] encodedLists;
+
+        private final long jsonLength;
+
+        private Snapshot(TaskListDetails[] lists, byte[][] encodedLists) {
+            this.lists = lists;
+            this.encodedLists = encodedLists;
+            long length = 2 + Math.max(0, encodedLists.length - 1);
+            for (byte[] encoded : encodedLists) {
+                length += encoded.length;
+            }
+            this.jsonLength = length;
+        }
+
+        /**
+         * @return the task lists, in ascending ID order; the view cannot be modified
+         */
+        public List<TaskListDetails> taskLists() {
+            return Collections.unmodifiableList(Arrays.asList(lists));
+        }
+
+        /**
+         * Opens a stream over the task lists serialized as a JSON array, reading the encoded lists
+         * shared with other readers in place.
+         *
+         * @return the stream, which needs no closing
+         */
+        public InputStream openJson() {
+            List<InputStream> parts = new ArrayList<>(2 * encodedLists.length + 1);
+            parts.add(new ByteArrayInputStream(OPEN));
+            for (int i = 0; i < encodedLists.length; i++) {
+                if (i > 0) {
+                    parts.add(new ByteArrayInputStream(SEPARATOR));
+                }
+                parts.add(new ByteArrayInputStream(encodedLists[i]));
+            }
+            parts.add(new ByteArrayInputStream(CLOSE));
+            return new SequenceInputStream(Collections.enumeration(parts));
+        }
+
+        /**
+         * @return the length in bytes of the JSON array streamed by {@link #openJson()}
+         */
+        public long jsonLength() {
+            return jsonLength;
+        }
+
+        /**
+         * Derives a snapshot in which the given task lists are replaced, added, or removed where
+         * they map to {@code null}. Unchanged lists and their JSON are shared with this snapshot.
+         */
+        Snapshot with(Map<Long, TaskListDetails> changed, Function<TaskListDetails, byte[]> encoder) {
+            TreeSet<Long> added = new TreeSet<>();
+            changed.forEach((listId, taskList) -> {
+                if (taskList != null && indexOfList(listId) < 0) {
+                    added.add(listId);
+                }
+            });
+            List<TaskListDetails> nextLists = new ArrayList<>(lists.length + added.size());
+            List<byte[]> nextEncoded = new ArrayList<>(lists.length + added.size());
+            Long[] newIds = added.toArray(Long[]::new);
+            int next = 0;
+            for (int i = 0; i <= lists.length; i++) {
+                long bound = i < lists.length ? lists[i].id() : Long.MAX_VALUE;
+                for (; next < newIds.length && newIds[next] < bound; next++) {
+                    TaskListDetails taskList = changed.get(newIds[next]);
+                    nextLists.add(taskList);
+                    nextEncoded.add(encoder.apply(taskList));
+                }
+                if (i == lists.length) {
+                    break;
+                }
+                if (!changed.containsKey(lists[i].id())) {
+                    nextLists.add(lists[i]);
+                    nextEncoded.add(encodedLists[i]);
+                } else if (changed.get(lists[i].id()) != null) {
+                    TaskListDetails taskList = changed.get(lists[i].id());
+                    nextLists.add(taskList);
+                    nextEncoded.add(encoder.apply(taskList));
+                }
+            }
+            return new Snapshot(nextLists.toArray(TaskListDetails[]::new), nextEncoded.toArray(byte[][]::new));
+        }
+
+        /**
+         * @return the position of the list, or -1 if the snapshot does not hold it
+         */
+        int indexOfList(Long listId) {
+            int low = 0;
+            int high = lists.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int order = Long.compare(lists[mid].id(), listId);
+                if (order == 0) {
+                    return mid;
+                }
+                if (order < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return -1;
+        }
+    }
+}
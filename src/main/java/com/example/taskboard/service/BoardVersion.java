@@ -0,0 +1,55 @@
+package com.example.taskboard.service;
+
+import com.example.taskboard.board.BoardContext;
+import com.example.taskboard.board.BoardStates;
+import com.example.taskboard.event.BoardChangeEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregate version of each board, used as the entity tag of board-wide reads.
+ * <p>
+ * Every committed change advances one clock shared by all boards, and the changed board's version
+ * becomes the clock's new value, so reading a version costs nothing. Versions are kept in a bounded
+ * map ({@link BoardStates}). When a board's version is dropped and recreated, it starts at the
+ * current clock. That value is either newer than any tag issued for the board, or equal to one
+ * issued when nothing anywhere has changed since. The version is combined with a random epoch
+ * chosen at startup, so tags issued before a restart never match afterwards. Readers must take the
+ * tag <em>before</em> reading the board: a change committed in between then yields a newer tag on
+ * the next poll instead of a stale 304.
+ */
+@Component
+public class BoardVersion {
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final Map<String, AtomicLong> versions = BoardStates.newMap();
+
+    /**
+     * @return the current entity tag of the current board, without quotes
+     */
+    public String etag() {
+        return epoch + "-" + versionOf(BoardContext.current()).get();
+    }
+
+    /**
+     * Advances the version once a change has been committed.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChange(BoardChangeEvent event) {
+        long now = clock.incrementAndGet();
+        versionOf(event.board()).accumulateAndGet(now, Math::max);
+    }
+
+    private AtomicLong versionOf(String board) {
+        return versions.computeIfAbsent(board, key -> new AtomicLong(clock.get()));
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.taskboard.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fractional rank keys for ordering tasks within a list.
+ * <p>
+ * A key is a string of base-36 digits ({@code 0-9a-z}) read as a fraction between 0 and 1, so keys
+ * compare correctly as plain strings and there is always another key between any two of them.
+ * Keys never end in {@code 0}, which keeps every key strictly greater than any key it is a prefix of.
+ * Placing a task between two others therefore only needs a new key for that task; its neighbours
+ * keep theirs. Keys grow when the same gap is split repeatedly, which {@link TaskRankRebalancer}
+ * undoes in the background.
+ */
+public final class RankKeys {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    private static final int BASE = DIGITS.length();
+
+    /** The key halfway through the key space. Rebalanced lists are spread below it, leaving the rest for appends. */
+    public static final String MIDDLE = between(null, null);
+
+    private RankKeys() {
+    }
+
+    /**
+     * Returns the shortest key strictly between two keys.
+     *
+     * @param lower the key to sort after, or {@code null} for the start of the list
+     * @param upper the key to sort before, or {@code null} for the end of the list
+     * @return a new key
+     * @throws IllegalArgumentException if {@code lower} does not sort before {@code upper}
+     */
+    public static String between(String lower, String upper) {
+        String low = lower == null ? "" : lower;
+        if (upper != null && low.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("Rank key " + lower + " does not sort before " + upper);
+        }
+        return midpoint(low, upper);
+    }
+
+    /**
+     * Returns {@code count} ascending keys strictly between two keys, spread evenly so that their
+     * length only grows with the logarithm of {@code count}.
+     *
+     * @param lower the key to sort after, or {@code null} for the start of the list
+     * @param upper the key to sort before, or {@code null} for the end of the list
+     * @param count the number of keys to generate
+     * @return the keys, in ascending order
+     */
+    public static List<String> between(String lower, String upper, int count) {
+        List<String> keys = new ArrayList<>(count);
+        bisect(lower, upper, count, keys);
+        return keys;
+    }
+
+    /**
+     * Returns the shortest key after the given one, for appending to the end of a list.
+     *
+     * @param last the last key of the list, or {@code null} if the list has no keys
+     * @return a key sorting after {@code last}
+     */
+    public static String after(String last) {
+        if (last == null || last.isEmpty()) {
+            return MIDDLE;
+        }
+        int first = DIGITS.indexOf(last.charAt(0));
+        if (first < BASE - 1) {
+            return String.valueOf(DIGITS.charAt(first + 1));
+        }
+        return DIGITS.charAt(first) + after(last.substring(1));
+    }
+
+    private static void bisect(String lower, String upper, int count, List<String> keys) {
+        if (count == 0) {
+            return;
+        }
+        String middle = between(lower, upper);
+        int below = (count - 1) / 2;
+        bisect(lower, middle, below, keys);
+        keys.add(middle);
+        bisect(middle, upper, count - 1 - below, keys);
+    }
+
+    /**
+     * Midpoint of two digit strings, where {@code upper == null} stands for 1.
+     */
+    private static String midpoint(String lower, String upper) {
+        if (upper != null) {
+            // Keep the common prefix, reading missing digits of lower as 0
+            int common = 0;
+            while (common < upper.length() && digitAt(lower, common) == upper.charAt(common)) {
+                common++;
+            }
+            if (common > 0) {
+                return upper.substring(0, common)
+                        + midpoint(lower.substring(Math.min(common, lower.length())), upper.substring(common));
+            }
+        }
+        int low = lower.isEmpty() ? 0 : DIGITS.indexOf(lower.charAt(0));
+        int high = upper == null ? BASE : DIGITS.indexOf(upper.charAt(0));
+        if (high - low > 1) {
+            return String.valueOf(DIGITS.charAt((low + high + 1) / 2));
+        }
+        // Adjacent first digits: a longer upper key has room right below it, otherwise go one digit deeper
+        if (upper != null && upper.length() > 1) {
+            return upper.substring(0, 1);
+        }
+        return DIGITS.charAt(low) + midpoint(lower.isEmpty() ? "" : lower.substring(1), null);
+    }
+
+    private static char digitAt(String key, int index) {
+        return index < key.length() ? key.charAt(index) : DIGITS.charAt(0);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.taskboard.service;
+
+import com.example.taskboard.board.BoardContext;
+import com.example.taskboard.dto.TaskDetails;
+import com.example.taskboard.event.BoardChangeEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads of a task (single flight).
+ * <p>
+ * When many clients open the same task at once, the first caller for a key loads it through
+ * {@link TaskService} and serializes it to JSON; callers arriving while that load is in flight
+ * wait for it and share its result, so they neither query the store, take a bulkhead permit nor
+ * serialize again. Nothing is kept once the load completes, so the next caller starts a new one.
+ * <p>
+ * A committed change removes the in-flight loads of its board before any other listener sees it,
+ * in particular before {@link BoardVersion} advances: a caller that observes the change, or a tag
+ * issued after it, therefore never joins a load that may have started before it.
+ */
+@Component
+public class ReadCoalescer {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Key, CompletableFuture<Serialized<?>>> inFlight = new ConcurrentHashMap<>();
+
+    private Counter coalesced;
+
+    @PostConstruct
+    void init() {
+        coalesced = Counter.builder("taskboard.reads.coalesced")
+                .description("Reads served by joining an identical read already in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reads a task of the current board, joining an identical read in flight if there is one.
+     *
+     * @param taskId the ID of the task
+     * @return the task and its JSON representation
+     * @throws com.example.taskboard.exception.TaskNotFoundException if the task does not exist
+     */
+    @SuppressWarnings("unchecked")
+    public Serialized<TaskDetails> getTaskById(Long taskId) {
+        return (Serialized<TaskDetails>) load(new Key(BoardContext.current(), taskId),
+                () -> taskService.getTaskById(taskId));
+    }
+
+    /**
+     * Detaches the reads in flight on the board of a committed change, so later callers start
+     * a read that sees it. Runs before every other listener of the change.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onBoardChange(BoardChangeEvent event) {
+        inFlight.keySet().removeIf(key -> key.board().equals(event.board()));
+    }
+
+    private Serialized<?> load(Key key, Supplier<?> loader) {
+        CompletableFuture<Serialized<?>> flight = new CompletableFuture<>();
+        CompletableFuture<Serialized<?>> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            try {
+                return existing.join();
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+        try {
+            Object value = loader.get();
+            Serialized<?> result = new Serialized<>(value, objectMapper.writeValueAsBytes(value));
+            inFlight.remove(key, flight);
+            flight.complete(result);
+            return result;
+        } catch (JsonProcessingException ex) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(new UncheckedIOException(ex));
+            throw new UncheckedIOException(ex);
+        } catch (RuntimeException | Error ex) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * A read result together with its JSON representation, shared by every caller of the read.
+     *
+     * @param value the result
+     * @param json the result serialized with the application's object mapper
+     */
+    public record Serialized<T>(T value, byte[] json) {
+    }
+
+    /**
+     * A read of one task of a board.
+     */
+    private record Key(String board, Long taskId) {
+    }
+}
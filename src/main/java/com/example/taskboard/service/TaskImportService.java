@@ -0,0 +1,199 @@
+package com.example.taskboard.service;
+
+import com.example.taskboard.dto.TaskImportItem;
+import com.example.taskboard.dto.TaskImportResult;
+import com.example.taskboard.event.BoardChangeEvent;
+import com.example.taskboard.store.TaskStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Service for importing large numbers of tasks at once.
+ * <p>
+ * Items are consumed from an iterator and written in chunks, each chunk in its own transaction
+ * using one {@link TaskStore#insertTasks} call (a JDBC batch insert with the JPA engine). Only the
+ * current chunk is held in memory, and results are handed to the caller as soon as their chunk
+ * has been committed.
+ * <p>
+ * Imported tasks are appended to the end of their lists in request order. Each chunk reads the
+ * current last rank key of its lists in one query and spreads the new keys evenly after it.
+ */
+@Service
+public class TaskImportService {
+    private static final Logger logger = LoggerFactory.getLogger(TaskImportService.class);
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private TaskRankRebalancer rankRebalancer;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BoardSnapshots boardSnapshots;
+
+    @Value("${taskboard.import.chunk-size:1000}")
+    private int defaultChunkSize = 1000;
+
+    /** Upper bound on the chunk size a client may request, which bounds the items held in memory. */
+    @Value("${taskboard.import.max-chunk-size:5000}")
+    private int maxChunkSize = 5000;
+
+    /**
+     * Imports tasks, reporting the outcome of every item in request order.
+     *
+     * @param items the items to import; consumed lazily
+     * @param chunkSize the number of items committed per transaction, or {@code null} for the configured default;
+     *                  larger values than {@code taskboard.import.max-chunk-size} are lowered to it
+     * @param results receives one result per item, in request order, after the item's chunk is committed
+     */
+    public void importTasks(Iterator<TaskImportItem> items, Integer chunkSize, Consumer<TaskImportResult> results) {
+        int size = clampChunkSize(chunkSize);
+        logger.info("Importing tasks in chunks of {}", size);
+        Set<Long> knownListIds = new HashSet<>();
+        Set<Long> missingListIds = new HashSet<>();
+        List<TaskImportItem> chunk = new ArrayList<>(size);
+        long index = 0;
+        while (items.hasNext()) {
+            chunk.add(items.next());
+            if (chunk.size() == size || !items.hasNext()) {
+                importChunk(index, chunk, knownListIds, missingListIds, results);
+                index += chunk.size();
+                chunk.clear();
+            }
+        }
+        logger.info("Imported {} task import items", index);
+    }
+
+    /**
+     * @return the requested chunk size, or the default if none is requested, at most the configured maximum
+     */
+    int clampChunkSize(Integer chunkSize) {
+        int size = chunkSize == null || chunkSize < 1 ? defaultChunkSize : chunkSize;
+        return Math.min(size, maxChunkSize);
+    }
+
+    private void importChunk(long firstIndex, List<TaskImportItem> chunk, Set<Long> knownListIds,
+                             Set<Long> missingListIds, Consumer<TaskImportResult> results) {
+        resolveTaskLists(chunk, knownListIds, missingListIds);
+
+        TaskImportResult[] outcomes = new TaskImportResult[chunk.size()];
+        List<TaskImportItem> accepted = new ArrayList<>(chunk.size());
+        List<Integer> acceptedPositions = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            TaskImportItem item = chunk.get(i);
+            long index = firstIndex + i;
+            if (item == null || item.listId() == null) {
+                outcomes[i] = TaskImportResult.rejected(index, "Task list ID is required");
+            } else if (item.name() == null || item.name().isBlank()) {
+                outcomes[i] = TaskImportResult.rejected(index, "Task name is required");
+            } else if (missingListIds.contains(item.listId())) {
+                outcomes[i] = TaskImportResult.rejected(index, "Task list with ID " + item.listId() + " not found");
+            } else {
+                accepted.add(item);
+                acceptedPositions.add(i);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            List<Long> taskIds = null;
+            try {
+                taskIds = insertBatch(accepted);
+                for (int i = 0; i < taskIds.size(); i++) {
+                    int position = acceptedPositions.get(i);
+                    outcomes[position] = TaskImportResult.created(firstIndex + position, taskIds.get(i));
+                }
+            } catch (DataAccessException ex) {
+                logger.error("Failed to import chunk starting at item {}: {}", firstIndex, ex.getMessage());
+                for (int position : acceptedPositions) {
+                    outcomes[position] = TaskImportResult.failed(firstIndex + position, "Chunk could not be written");
+                }
+            }
+            if (taskIds != null) {
+                publishCreated(accepted, taskIds);
+            }
+        }
+
+        for (TaskImportResult outcome : outcomes) {
+            results.accept(outcome);
+        }
+    }
+
+    /**
+     * Looks up every task list referenced by the chunk that has not been seen before, in one query.
+     */
+    private void resolveTaskLists(List<TaskImportItem> chunk, Set<Long> knownListIds, Set<Long> missingListIds) {
+        Set<Long> unresolved = new HashSet<>();
+        for (TaskImportItem item : chunk) {
+            if (item != null && item.listId() != null
+                    && !knownListIds.contains(item.listId()) && !missingListIds.contains(item.listId())) {
+                unresolved.add(item.listId());
+            }
+        }
+        if (unresolved.isEmpty()) {
+            return;
+        }
+        List<Long> existing = taskStore.findExistingTaskListIds(unresolved);
+        knownListIds.addAll(existing);
+        existing.forEach(unresolved::remove);
+        missingListIds.addAll(unresolved);
+    }
+
+    private List<Long> insertBatch(List<TaskImportItem> accepted) {
+        return transactionTemplate.execute(status -> taskStore.insertTasks(accepted, appendRankKeys(accepted)));
+    }
+
+    /**
+     * Reports a committed chunk: the board snapshot reloads each of its lists once, then a change
+     * event is published per task.
+     */
+    private void publishCreated(List<TaskImportItem> accepted, List<Long> taskIds) {
+        boardSnapshots.refresh(List.of(), accepted.stream().map(TaskImportItem::listId).distinct().toList());
+        for (int i = 0; i < taskIds.size(); i++) {
+            TaskImportItem item = accepted.get(i);
+            eventPublisher.publishEvent(
+                    BoardChangeEvent.taskCreated(taskIds.get(i), item.listId(), item.name(), item.description()));
+        }
+    }
+
+    /**
+     * Returns rank keys placing the items, in order, after the current last task of their lists.
+     */
+    private List<String> appendRankKeys(List<TaskImportItem> accepted) {
+        Map<Long, Integer> counts = new HashMap<>();
+        accepted.forEach(item -> counts.merge(item.listId(), 1, Integer::sum));
+        Map<Long, String> lastKeys = new HashMap<>();
+        taskStore.findLastRankKeys(counts.keySet()).forEach(last -> lastKeys.put(last.listId(), last.rankKey()));
+        Map<Long, Iterator<String>> keysByList = new HashMap<>();
+        counts.forEach((listId, count) -> {
+            List<String> keys = RankKeys.between(lastKeys.get(listId), null, count);
+            keys.forEach(key -> rankRebalancer.keyAssigned(listId, key));
+            keysByList.put(listId, keys.iterator());
+        });
+        List<String> rankKeys = new ArrayList<>(accepted.size());
+        for (TaskImportItem item : accepted) {
+            rankKeys.add(keysByList.get(item.listId()).next());
+        }
+        return rankKeys;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.taskboard.service;
+
+import com.example.taskboard.board.BoardContext;
+import com.example.taskboard.store.TaskStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps task rank keys short.
+ * <p>
+ * Repeatedly placing tasks into the same gap makes rank keys longer. Writers report every key
+ * they assign, and lists that received a key longer than the configured length are rewritten in
+ * the background with evenly spread short keys in the same order, on the board they belong to.
+ * Lists found to hold tasks sharing a key, which concurrent appends can produce, are rewritten the
+ * same way, which gives every task its own key.
+ * Tasks without a key, such as rows written before ranks existed, are given one on startup; those
+ * rows all predate boards, so only the default board is scanned.
+ */
+@Component
+public class TaskRankRebalancer {
+    private static final Logger logger = LoggerFactory.getLogger(TaskRankRebalancer.class);
+
+    private final Set<PendingList> pendingLists = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    private TaskStore taskStore;
+
+    /** Longest rank key tolerated before the list is rebalanced. */
+    @Value("${taskboard.rank.max-length:16}")
+    private int maxLength = 16;
+
+    /**
+     * Records a key assigned to a task of the current board, scheduling its list for rebalancing
+     * if the key is too long.
+     *
+     * @param listId the ID of the task list
+     * @param rankKey the assigned key
+     */
+    public void keyAssigned(Long listId, String rankKey) {
+        if (rankKey.length() > maxLength) {
+            pendingLists.add(new PendingList(BoardContext.current(), listId));
+        }
+    }
+
+    /**
+     * Records that a task list of the current board holds tasks sharing a rank key, scheduling it for rebalancing.
+     *
+     * @param listId the ID of the task list
+     */
+    public void keysTied(Long listId) {
+        pendingLists.add(new PendingList(BoardContext.current(), listId));
+    }
+
+    /**
+     * Rebalances the lists that received over-long or tied keys since the last run.
+     */
+    @Scheduled(fixedDelayString = "${taskboard.rank.rebalance-delay-millis:1000}")
+    public void rebalancePending() {
+        for (Iterator<PendingList> lists = pendingLists.iterator(); lists.hasNext(); ) {
+            PendingList list = lists.next();
+            lists.remove();
+            try (BoardContext.Scope scope = BoardContext.open(list.board())) {
+                rebalance(list.listId());
+            }
+        }
+    }
+
+    /**
+     * Rebalances every list holding tasks without a key or with an over-long key, once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebalanceOnStartup() {
+        List<Long> listIds = taskStore.findListIdsToRebalance(maxLength);
+        listIds.forEach(this::rebalance);
+        if (!listIds.isEmpty()) {
+            logger.info("Rebalanced rank keys of {} task lists", listIds.size());
+        }
+    }
+
+    /**
+     * Rewrites the rank keys of a task list with evenly spread short keys, keeping the current order.
+     * The list's tasks are locked while their keys are rewritten.
+     *
+     * @param listId the ID of a task list of the current board
+     * @return the number of tasks whose key changed
+     */
+    public int rebalance(Long listId) {
+        int rewritten = taskStore.rebalanceRanks(listId);
+        logger.debug("Rebalanced {} rank keys in list ID: {}", rewritten, listId);
+        return rewritten;
+    }
+
+    private record PendingList(String board, Long listId) {
+    }
+}
@@ -1,56 +1,172 @@
 package com.example.taskboard.service;
 
+import com.example.taskboard.config.CacheConfig;
+import com.example.taskboard.config.MetricsConfig;
+import com.example.taskboard.dto.CursorPage;
+import com.example.taskboard.dto.RankGap;
+import com.example.taskboard.dto.TaskBatchResult;
+import com.example.taskboard.dto.TaskDetails;
+import com.example.taskboard.dto.TaskFilter;
+import com.example.taskboard.dto.TaskItem;
+import com.example.taskboard.dto.TaskLifecycle;
+import com.example.taskboard.dto.TaskListDetails;
+import com.example.taskboard.dto.TaskListRow;
+import com.example.taskboard.dto.TaskListSummary;
+import com.example.taskboard.dto.TaskOverview;
+import com.example.taskboard.dto.TaskPosition;
+import com.example.taskboard.event.BoardChangeEvent;
+import com.example.taskboard.exception.InvalidTaskException;
 import com.example.taskboard.exception.TaskListNotFoundException;
 import com.example.taskboard.exception.TaskNotFoundException;
+import com.example.taskboard.exception.TaskVersionConflictException;
 import com.example.taskboard.model.Task;
 import com.example.taskboard.model.TaskList;
-import com.example.taskboard.repository.TaskListRepository;
-import com.example.taskboard.repository.TaskRepository;
+import com.example.taskboard.store.TaskStore;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.logging.Logger;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
- * Service class for managing tasks and task lists.
+ * Service class for managing tasks and task lists, kept in the configured {@link TaskStore}.
+ * <p>
+ * Every public method is timed under {@value MetricsConfig#SERVICE_TIMER}, tagged with its method name.
  */
 @Service
+@Timed(value = MetricsConfig.SERVICE_TIMER, percentiles = {0.5, 0.99}, histogram = true)
 public class TaskService {
-    private static final Logger logger = Logger.getLogger(TaskService.class.getName());
+    private static final Logger logger = LoggerFactory.getLogger(TaskService.class);
+
+    /** Page size used when the client does not ask for one. */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /** Upper bound on the page size a client may request. */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    private TaskRepository taskRepository;
+    private TaskRankRebalancer rankRebalancer;
 
     @Autowired
-    private TaskListRepository taskListRepository;
+    private BoardSnapshots boardSnapshots;
 
     /**
-     * Retrieves all task lists.
+     * Retrieves all task lists with their tasks in a single query. Requests read them from
+     * {@link BoardSnapshots} instead, which uses this query to build a board's first snapshot.
      *
      * @return a list of all task lists
      */
-    public List<TaskList> getAllTaskLists() {
-        logger.info("Fetching all task lists");
-        return taskListRepository.findAll();
+    public List<TaskListDetails> getAllTaskLists() {
+        logger.debug("Fetching all task lists");
+        return toTaskLists(taskStore.findAllRows());
+    }
+
+    /**
+     * Retrieves one page of task lists, including their tasks, using keyset pagination.
+     * With the JPA engine the page costs two queries, one for the IDs and one for the lists joined
+     * with their tasks, whatever the number of lists on it.
+     *
+     * @param after the ID of the last task list on the previous page, or {@code null} for the first page
+     * @param size the requested page size
+     * @return the page of task lists and the cursor for the next page
+     */
+    public CursorPage<TaskListDetails> getTaskListPage(Long after, Integer size) {
+        logger.debug("Fetching task list page after ID: {}", after);
+        int limit = clampPageSize(size);
+        List<TaskListDetails> taskLists = toTaskLists(taskStore.findRowsAfter(cursorOf(after), limit));
+        return toPage(taskLists, limit, TaskListDetails::id);
+    }
+
+    /**
+     * Retrieves one page of task list summaries using keyset pagination.
+     * Only the ID, name and task count of each list are read from the store.
+     *
+     * @param after the ID of the last task list on the previous page, or {@code null} for the first page
+     * @param size the requested page size
+     * @return the page of summaries and the cursor for the next page
+     */
+    public CursorPage<TaskListSummary> getTaskListSummaries(Long after, Integer size) {
+        logger.debug("Fetching task list summaries after ID: {}", after);
+        int limit = clampPageSize(size);
+        List<TaskListSummary> summaries = taskStore.findSummariesAfter(cursorOf(after), limit);
+        return toPage(summaries, limit, TaskListSummary::id);
+    }
+
+    /**
+     * Retrieves one page of the tasks of a task list, in rank order, using keyset pagination.
+     * With the JPA engine the page is a single query reading the list through the
+     * {@code (task_list_id, rank_key)} index.
+     *
+     * @param listId the ID of the task list
+     * @param after the ID of the last task on the previous page, or {@code null} for the first page
+     * @param size the requested page size
+     * @return the page of tasks and the cursor for the next page
+     * @throws TaskListNotFoundException if the page is empty because the list does not exist
+     */
+    public CursorPage<TaskItem> getTaskPage(Long listId, Long after, Integer size) {
+        logger.debug("Fetching tasks of list ID: {} after task ID: {}", listId, after);
+        int limit = clampPageSize(size);
+        List<TaskItem> tasks = taskStore.findTaskItems(listId, after, limit);
+        if (tasks.isEmpty() && after == null && taskStore.findTaskListRef(listId).isEmpty()) {
+            throw new TaskListNotFoundException("Task list with ID " + listId + " not found");
+        }
+        return toPage(tasks, limit, TaskItem::id);
+    }
+
+    /**
+     * Retrieves one page of the tasks of the board that match a filter, in ID order, using keyset
+     * pagination. With the JPA engine the page is a single Criteria query: filtering by assignee
+     * reads the {@code (board_id, assignee, status, id)} index, and filtering by status and due date
+     * reads the {@code (board_id, status, due_date)} index.
+     *
+     * @param filter the conditions the tasks must meet
+     * @param after the ID of the last task on the previous page, or {@code null} for the first page
+     * @param size the requested page size
+     * @return the page of tasks and the cursor for the next page
+     */
+    public CursorPage<TaskOverview> findTasks(TaskFilter filter, Long after, Integer size) {
+        logger.debug("Fetching tasks matching {} after task ID: {}", filter, after);
+        int limit = clampPageSize(size);
+        return toPage(taskStore.findTasks(filter, after, limit), limit, TaskOverview::id);
     }
 
     /**
-     * Creates a new task list.
+     * Creates a new task list. Any cached absence of the new ID is evicted.
      *
      * @param name the name of the new task list
      * @return the created task list
      */
+    @CacheEvict(cacheNames = CacheConfig.TASK_LISTS, key = "#result.id")
     public TaskList createTaskList(String name) {
-        logger.info("Creating a new task list with name: " + name);
-        TaskList taskList = new TaskList();
-        taskList.setName(name);
-        return taskListRepository.save(taskList);
+        logger.debug("Creating a new task list with name: {}", name);
+        TaskList savedTaskList = taskStore.createTaskList(name);
+        boardSnapshots.listChanged(savedTaskList.getId());
+        eventPublisher.publishEvent(BoardChangeEvent.taskListCreated(savedTaskList.getId(), name));
+        return savedTaskList;
     }
 
     /**
-     * Adds a new task to an existing task list.
+     * Adds a new task to the end of an existing task list.
      *
      * @param listId the ID of the task list
      * @param name the name of the new task
@@ -58,38 +174,67 @@ public class TaskService {
      * @return the created task
      */
     public Task addTaskToList(Long listId, String name, String description) {
-        logger.info("Adding a new task to list ID: " + listId);
-        Optional<TaskList> taskListOptional = taskListRepository.findById(listId);
+        logger.debug("Adding a new task to list ID: {}", listId);
+        Optional<TaskList> taskListOptional = taskStore.findTaskList(listId);
         if (taskListOptional.isPresent()) {
             Task task = new Task();
             task.setName(name);
             task.setDescription(description);
             task.setTaskList(taskListOptional.get());
-            return taskRepository.save(task);
+            Task savedTask = taskStore.withRankLock(listId, () -> {
+                task.setRankKey(RankKeys.after(taskStore.findLastRankKey(listId)));
+                rankRebalancer.keyAssigned(listId, task.getRankKey());
+                return taskStore.createTask(task);
+            });
+            boardSnapshots.taskChanged(savedTask.getId(), listId);
+            eventPublisher.publishEvent(BoardChangeEvent.taskCreated(savedTask.getId(), listId, name, description));
+            return savedTask;
         } else {
             throw new TaskListNotFoundException("Task list with ID " + listId + " not found");
         }
     }
 
     /**
-     * Updates an existing task.
+     * Updates an existing task and increments its version without loading it.
      *
      * @param taskId the ID of the task to update
      * @param name the new name of the task
      * @param description the new description of the task
-     * @return the updated task
+     * @param expectedVersion the version the task must still have, or {@code null} to update it unconditionally
+     * @throws TaskVersionConflictException if the task exists but no longer has the expected version
      */
-    public Task updateTask(Long taskId, String name, String description) {
-        logger.info("Updating task ID: " + taskId);
-        Optional<Task> taskOptional = taskRepository.findById(taskId);
-        if (taskOptional.isPresent()) {
-            Task task = taskOptional.get();
-            task.setName(name);
-            task.setDescription(description);
-            return taskRepository.save(task);
-        } else {
-            throw new TaskNotFoundException("Task with ID " + taskId + " not found");
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#taskId")
+    public void updateTask(Long taskId, String name, String description, Long expectedVersion) {
+        logger.debug("Updating task ID: {}", taskId);
+        if (taskStore.updateTask(taskId, name, description, expectedVersion) == 0) {
+            throw missingOrConflicting(taskId, expectedVersion);
         }
+        boardSnapshots.taskUpdated(taskId);
+        eventPublisher.publishEvent(BoardChangeEvent.taskUpdated(taskId, name, description));
+    }
+
+    /**
+     * Replaces the status, priority, due date and assignee of a task and increments its version
+     * without loading it. Board snapshots hold no lifecycle fields, so they are left as they are.
+     *
+     * @param taskId the ID of the task to update
+     * @param lifecycle the new lifecycle fields of the task
+     * @param expectedVersion the version the task must still have, or {@code null} to update it unconditionally
+     * @throws InvalidTaskException if the assignee is blank or longer than {@value Task#MAX_ASSIGNEE_LENGTH} characters
+     * @throws TaskVersionConflictException if the task exists but no longer has the expected version
+     */
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#taskId")
+    public void updateTaskLifecycle(Long taskId, TaskLifecycle lifecycle, Long expectedVersion) {
+        logger.debug("Updating the lifecycle of task ID: {}", taskId);
+        String assignee = lifecycle.assignee();
+        if (assignee != null && (assignee.isBlank() || assignee.length() > Task.MAX_ASSIGNEE_LENGTH)) {
+            throw new InvalidTaskException("Assignee must be non-blank and at most " + Task.MAX_ASSIGNEE_LENGTH
+                    + " characters long");
+        }
+        if (taskStore.updateLifecycle(taskId, lifecycle, expectedVersion) == 0) {
+            throw missingOrConflicting(taskId, expectedVersion);
+        }
+        eventPublisher.publishEvent(BoardChangeEvent.taskLifecycleChanged(taskId));
     }
 
     /**
@@ -97,66 +242,245 @@ public class TaskService {
      *
      * @param taskId the ID of the task to delete
      */
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#taskId")
     public void deleteTask(Long taskId) {
-        logger.info("Deleting task ID: " + taskId);
-        if (taskRepository.existsById(taskId)) {
-            taskRepository.deleteById(taskId);
+        logger.debug("Deleting task ID: {}", taskId);
+        if (taskStore.deleteTask(taskId)) {
+            boardSnapshots.taskChanged(taskId, null);
+            eventPublisher.publishEvent(BoardChangeEvent.taskDeleted(taskId));
         } else {
             throw new TaskNotFoundException("Task with ID " + taskId + " not found");
         }
     }
 
     /**
-     * Deletes a task list and all its tasks.
+     * Deletes a task list and all its tasks at once; with the JPA engine this is two set-based
+     * DELETE statements, so the cost does not grow with one statement per task. Because the cached
+     * tasks of the list are not known individually, the whole task cache is cleared.
      *
      * @param listId the ID of the task list to delete
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TASK_LISTS, key = "#listId"),
+            @CacheEvict(cacheNames = CacheConfig.TASKS, allEntries = true)
+    })
     public void deleteTaskList(Long listId) {
-        logger.info("Deleting task list ID: " + listId);
-        if (taskListRepository.existsById(listId)) {
-            taskListRepository.deleteById(listId);
-        } else {
+        logger.debug("Deleting task list ID: {}", listId);
+        if (!taskStore.deleteTaskList(listId)) {
             throw new TaskListNotFoundException("Task list with ID " + listId + " not found");
         }
+        boardSnapshots.listChanged(listId);
+        eventPublisher.publishEvent(BoardChangeEvent.taskListDeleted(listId));
     }
 
     /**
-     * Moves a task to a different task list.
+     * Moves a task to the end of a task list and increments its version without loading it.
+     * The task is given a key after the list's last key, so it never shares a key with a task already
+     * there. The key is read and the task written under the list's rank lock, so concurrent appends to
+     * the list never share a key either. The write returns the moved task, so it is not read again.
      *
      * @param taskId the ID of the task to move
      * @param newListId the ID of the new task list
-     * @return the moved task
-     */
-    public Task moveTaskToList(Long taskId, Long newListId) {
-        logger.info("Moving task ID: " + taskId + " to list ID: " + newListId);
-        Optional<Task> taskOptional = taskRepository.findById(taskId);
-        Optional<TaskList> newTaskListOptional = taskListRepository.findById(newListId);
-        if (taskOptional.isPresent() && newTaskListOptional.isPresent()) {
-            Task task = taskOptional.get();
-            task.setTaskList(newTaskListOptional.get());
-            return taskRepository.save(task);
-        } else {
-            if (!taskOptional.isPresent()) {
-                throw new TaskNotFoundException("Task with ID " + taskId + " not found");
-            }
-            if (!newTaskListOptional.isPresent()) {
-                throw new TaskListNotFoundException("Task list with ID " + newListId + " not found");
+     * @param expectedVersion the version the task must still have, or {@code null} to move it unconditionally
+     * @return the moved task, with its new version
+     * @throws TaskVersionConflictException if the task exists but no longer has the expected version
+     */
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#taskId")
+    public TaskDetails moveTaskToList(Long taskId, Long newListId, Long expectedVersion) {
+        logger.debug("Moving task ID: {} to list ID: {}", taskId, newListId);
+        Optional<TaskDetails> moved;
+        try {
+            moved = taskStore.withRankLock(newListId, () -> {
+                String rankKey = RankKeys.after(taskStore.findLastRankKey(newListId));
+                rankRebalancer.keyAssigned(newListId, rankKey);
+                return taskStore.moveTaskToRank(taskId, newListId, rankKey, expectedVersion);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            throw new TaskListNotFoundException("Task list with ID " + newListId + " not found");
+        }
+        TaskDetails task = moved.orElseThrow(() -> missingOrConflicting(taskId, expectedVersion));
+        boardSnapshots.taskChanged(taskId, newListId);
+        eventPublisher.publishEvent(BoardChangeEvent.taskMoved(taskId, newListId));
+        return task;
+    }
+
+    /**
+     * Moves a task to a position in a task list, which may be the list it is already in.
+     * The rank keys around the position are read and the task is given a key between them and
+     * its version incremented; no other task is written. Both happen under the list's rank lock, so
+     * a concurrent rebalance cannot change the keys in between. When another task shares the
+     * anchor's key the list is queued for rebalancing, since positions between the two cannot be
+     * told apart.
+     *
+     * @param taskId the ID of the task to move
+     * @param newListId the ID of the task list to move the task to
+     * @param position the neighbour to place the task next to; when unspecified the task is moved to the end
+     * @param expectedVersion the version the task must still have, or {@code null} to move it unconditionally
+     * @return the moved task, with its new version
+     * @throws TaskNotFoundException if the task, or the neighbour within the target list, does not exist
+     * @throws TaskVersionConflictException if the task exists but no longer has the expected version
+     */
+    @CacheEvict(cacheNames = CacheConfig.TASKS, key = "#taskId")
+    public TaskDetails moveTaskToList(Long taskId, Long newListId, TaskPosition position, Long expectedVersion) {
+        if (position == null || position.isUnspecified()) {
+            return moveTaskToList(taskId, newListId, expectedVersion);
+        }
+        logger.debug("Moving task ID: {} to list ID: {} at {}", taskId, newListId, position);
+        Long anchorId = position.afterTaskId() != null ? position.afterTaskId() : position.beforeTaskId();
+        Optional<TaskDetails> moved = taskStore.withRankLock(newListId, () -> {
+            Optional<RankGap> gap = position.afterTaskId() != null
+                    ? taskStore.findGapAfter(newListId, anchorId, taskId)
+                    : taskStore.findGapBefore(newListId, anchorId, taskId);
+            RankGap bounds = gap.orElseThrow(() ->
+                    new TaskNotFoundException("Task with ID " + anchorId + " not found in list " + newListId));
+            if (bounds.tied()) {
+                rankRebalancer.keysTied(newListId);
             }
-            return null; // This line should never be reached
+            String rankKey = RankKeys.between(bounds.lower(), bounds.upper());
+            rankRebalancer.keyAssigned(newListId, rankKey);
+            return taskStore.moveTaskToRank(taskId, newListId, rankKey, expectedVersion);
+        });
+        TaskDetails task = moved.orElseThrow(() -> missingOrConflicting(taskId, expectedVersion));
+        boardSnapshots.taskChanged(taskId, newListId);
+        eventPublisher.publishEvent(BoardChangeEvent.taskMoved(taskId, newListId));
+        return task;
+    }
+
+    /**
+     * Moves many tasks to the end of a task list at once, in the given order, each with its own rank key.
+     * With the JPA engine this is one transaction, with one query to find the existing tasks, one
+     * batch of key writes and one set-based UPDATE per chunk of IDs. Tasks that do not exist are
+     * reported rather than failing the batch.
+     *
+     * @param taskIds the IDs of the tasks to move; duplicates are ignored
+     * @param newListId the ID of the task list to move the tasks to
+     * @return which tasks were moved and which were not found
+     * @throws TaskListNotFoundException if the task list does not exist, in which case no task is moved
+     */
+    @CacheEvict(cacheNames = CacheConfig.TASKS, allEntries = true)
+    public TaskBatchResult moveTasks(Collection<Long> taskIds, Long newListId) {
+        logger.debug("Moving {} tasks to list ID: {}", taskIds == null ? 0 : taskIds.size(), newListId);
+        if (newListId == null || taskStore.findTaskListRef(newListId).isEmpty()) {
+            throw new TaskListNotFoundException("Task list with ID " + newListId + " not found");
         }
+        List<Long> ids = distinct(taskIds);
+        TaskBatchResult result;
+        try {
+            result = taskStore.withRankLock(newListId, () -> {
+                List<String> rankKeys = RankKeys.between(taskStore.findLastRankKey(newListId), null, ids.size());
+                rankKeys.forEach(key -> rankRebalancer.keyAssigned(newListId, key));
+                return taskStore.moveTasks(ids, newListId, rankKeys);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // The list was deleted after the lookup above
+            throw new TaskListNotFoundException("Task list with ID " + newListId + " not found");
+        }
+        boardSnapshots.refresh(result.succeeded(), List.of(newListId));
+        result.succeeded().forEach(taskId -> eventPublisher.publishEvent(BoardChangeEvent.taskMoved(taskId, newListId)));
+        return result;
+    }
+
+    /**
+     * Gives many tasks the same name and description at once, incrementing their versions.
+     * With the JPA engine this is one transaction, with one query to find the existing tasks and one
+     * set-based UPDATE per chunk of IDs. Tasks that do not exist are reported rather than failing the batch.
+     *
+     * @param taskIds the IDs of the tasks to update; duplicates are ignored
+     * @param name the new name of the tasks
+     * @param description the new description of the tasks
+     * @return which tasks were updated and which were not found
+     */
+    @CacheEvict(cacheNames = CacheConfig.TASKS, allEntries = true)
+    public TaskBatchResult updateTasks(Collection<Long> taskIds, String name, String description) {
+        logger.debug("Updating {} tasks", taskIds == null ? 0 : taskIds.size());
+        TaskBatchResult result = taskStore.updateTasks(distinct(taskIds), name, description);
+        boardSnapshots.refresh(result.succeeded(), List.of());
+        result.succeeded().forEach(taskId ->
+                eventPublisher.publishEvent(BoardChangeEvent.taskUpdated(taskId, name, description)));
+        return result;
+    }
+
+    /**
+     * Deletes many tasks at once.
+     * With the JPA engine this is one transaction, with one query to find the existing tasks and one
+     * set-based DELETE per chunk of IDs. Tasks that do not exist are reported rather than failing the batch.
+     *
+     * @param taskIds the IDs of the tasks to delete; duplicates are ignored
+     * @return which tasks were deleted and which were not found
+     */
+    @CacheEvict(cacheNames = CacheConfig.TASKS, allEntries = true)
+    public TaskBatchResult deleteTasks(Collection<Long> taskIds) {
+        logger.debug("Deleting {} tasks", taskIds == null ? 0 : taskIds.size());
+        TaskBatchResult result = taskStore.deleteTasks(distinct(taskIds));
+        boardSnapshots.refresh(result.succeeded(), List.of());
+        result.succeeded().forEach(taskId -> eventPublisher.publishEvent(BoardChangeEvent.taskDeleted(taskId)));
+        return result;
     }
 
     /**
-     * Retrieves a specific task by ID.
+     * Retrieves a specific task by ID through the task cache. Cached entries are evicted after
+     * every committed change to the task.
      *
      * @param taskId the ID of the task to retrieve
      * @return the task with the specified ID
      */
-    public Task getTaskById(Long taskId) {
-        logger.info("Fetching task with ID: " + taskId);
-        return taskRepository.findById(taskId)
+    @Cacheable(cacheNames = CacheConfig.TASKS, sync = true)
+    public TaskDetails getTaskById(Long taskId) {
+        logger.debug("Fetching task with ID: {}", taskId);
+        return taskStore.findTaskDetails(taskId)
                 .orElseThrow(() -> new TaskNotFoundException("Task with ID " + taskId + " not found"));
     }
 
-}
+    /**
+     * Explains why a conditional write matched no row. The extra lookup only runs on failure.
+     */
+    private RuntimeException missingOrConflicting(Long taskId, Long expectedVersion) {
+        if (expectedVersion != null && taskStore.taskExists(taskId)) {
+            return new TaskVersionConflictException("Task with ID " + taskId + " is no longer at version " + expectedVersion);
+        }
+        return new TaskNotFoundException("Task with ID " + taskId + " not found");
+    }
+
+    /**
+     * Drops duplicate and {@code null} IDs, keeping the first occurrence of each.
+     */
+    private static List<Long> distinct(Collection<Long> taskIds) {
+        Set<Long> requested = taskIds == null ? new LinkedHashSet<>() : new LinkedHashSet<>(taskIds);
+        requested.remove(null);
+        return new ArrayList<>(requested);
+    }
 
+    /**
+     * Groups task list rows, ordered by task list, into one view per task list.
+     */
+    static List<TaskListDetails> toTaskLists(List<TaskListRow> rows) {
+        List<TaskListDetails> taskLists = new ArrayList<>();
+        List<TaskItem> tasks = null;
+        for (TaskListRow row : rows) {
+            if (taskLists.isEmpty() || !taskLists.get(taskLists.size() - 1).id().equals(row.listId())) {
+                tasks = new ArrayList<>();
+                taskLists.add(new TaskListDetails(row.listId(), row.listName(), Collections.unmodifiableList(tasks)));
+            }
+            if (row.taskId() != null) {
+                tasks.add(new TaskItem(row.taskId(), row.taskName(), row.taskDescription()));
+            }
+        }
+        return taskLists;
+    }
+
+    private static int clampPageSize(Integer size) {
+        if (size == null || size < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private static Long cursorOf(Long after) {
+        return after == null ? 0L : after;
+    }
+
+    private static <T> CursorPage<T> toPage(List<T> items, int limit, Function<T, Long> idOf) {
+        Long nextCursor = items.size() == limit ? idOf.apply(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+}
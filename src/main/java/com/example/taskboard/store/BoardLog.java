@@ -0,0 +1,651 @@
+package com.example.taskboard.store;
+
+import com.example.taskboard.model.TaskPriority;
+import com.example.taskboard.model.TaskStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Write-ahead log and snapshots that make the in-memory task store durable.
+ * <p>
+ * Changes are appended as records to memory-mapped segment files ({@code segment-<n>.log}). Each
+ * record is its payload length, a CRC-32C of the payload and the payload, whose first byte is the
+ * record type. A full segment is closed with a seal record and forced before the next one is
+ * created, so every segment but the newest is complete on disk. Appending
+ * only copies the record into the mapping; {@link #sync()} makes it durable. Concurrent writers
+ * share one {@code msync}: whichever writer forces the log covers every record appended before it,
+ * and the writers queued behind it find their records already durable.
+ * <p>
+ * {@link #roll()} and {@link #writeSnapshot} compact the log: the board state at a roll is written to
+ * {@code snapshot-<n>.bin}, named after the segment the roll started, after which the older segments
+ * and snapshots are deleted. Recovery loads the newest snapshot and replays the segments from its
+ * number on. A record that fails its checksum at the end of the last segment is the torn tail of a
+ * write that never completed; it is discarded and the segment sealed before it. Anywhere else it
+ * means the log is damaged, and recovery fails rather than silently losing changes. Records and
+ * snapshots written before tasks had lifecycle fields are still read, giving their tasks the defaults.
+ * <p>
+ * Not thread-safe for {@link #roll()}: the caller must make sure nothing is appended while it runs.
+ */
+final class BoardLog implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(BoardLog.class);
+
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    /** Payload length and payload checksum in front of every record. */
+    private static final int HEADER_SIZE = 8;
+
+    /** Space kept free at the end of every segment for its seal record. */
+    private static final int SEAL_SIZE = HEADER_SIZE + 1;
+
+    private static final byte LIST_CREATED = 1;
+
+    private static final byte LIST_DELETED = 2;
+
+    /** Tasks without lifecycle fields, as written before tasks had them; still replayed. */
+    private static final byte TASKS_PUT_V1 = 3;
+
+    private static final byte TASK_DELETED = 4;
+
+    private static final byte SEAL = 5;
+
+    private static final byte TASKS_PUT = 6;
+
+    /** First bytes of a snapshot file, "TBS2". */
+    private static final int SNAPSHOT_MAGIC = 0x54425332;
+
+    /** First bytes of a snapshot file written before tasks had lifecycle fields, "TBS1"; still loaded. */
+    private static final int SNAPSHOT_MAGIC_V1 = 0x54425331;
+
+    /** Stands for a missing due date, which is otherwise written as its epoch day. */
+    private static final long NO_DUE_DATE = Long.MIN_VALUE;
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final Object appendLock = new Object();
+
+    /** Held by the writer forcing the log, so writers arriving meanwhile wait for it instead of forcing again. */
+    private final Object syncLock = new Object();
+
+    /** The segment being appended to; guarded by {@link #appendLock}. */
+    private Segment current;
+
+    /** Records appended so far; written under {@link #appendLock}. */
+    private volatile long appended;
+
+    /** Records known to be durable. */
+    private volatile long durable;
+
+    /** Number of the newest snapshot, or -1 if there is none. */
+    private long snapshot = -1;
+
+    /**
+     * Creates a log over a directory. Nothing can be appended before {@link #recover}.
+     *
+     * @param directory the directory holding the segments and snapshots; created if missing
+     * @param segmentSize the size of each segment file in bytes
+     */
+    BoardLog(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Replays the newest snapshot and the log after it, then opens a new segment for appending.
+     *
+     * @param replay receives the recovered state and changes, in log order
+     * @return the number of log records replayed on top of the snapshot
+     */
+    long recover(Replay replay) {
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.filter(file -> file.toString().endsWith(TEMPORARY_SUFFIX)).toList()) {
+                    Files.delete(file);
+                }
+            }
+            List<Long> snapshots = numbered(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+            if (!snapshots.isEmpty()) {
+                snapshot = snapshots.get(snapshots.size() - 1);
+                loadSnapshot(snapshotPath(snapshot), replay);
+            }
+            List<Long> segments = numbered(SEGMENT_PREFIX, SEGMENT_SUFFIX).stream()
+                    .filter(number -> number >= snapshot)
+                    .toList();
+            long next = snapshot >= 0 ? snapshot : segments.isEmpty() ? 0 : segments.get(0);
+            long records = 0;
+            for (int i = 0; i < segments.size(); i++) {
+                if (segments.get(i) != next) {
+                    throw new IllegalStateException("Board log segment " + next + " is missing in " + directory);
+                }
+                records += replaySegment(segments.get(i), i == segments.size() - 1, replay);
+                next++;
+            }
+            if (!segments.isEmpty() && Files.notExists(segmentPath(next - 1))) {
+                // The last segment was dropped as empty; reuse its number
+                next--;
+            }
+            synchronized (appendLock) {
+                current = createSegment(next, segmentSize);
+            }
+            logger.info("Recovered the board from {} and {} log records in {}",
+                    snapshot >= 0 ? "snapshot " + snapshot : "no snapshot", records, directory);
+            return records;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot recover the board log in " + directory, e);
+        }
+    }
+
+    /**
+     * Appends the creation of a task list.
+     *
+     * @param listId the ID of the task list
+     * @param name the name of the task list
+     */
+    void listCreated(long listId, String name) {
+        append(LIST_CREATED, out -> {
+            out.writeLong(listId);
+            writeString(out, name);
+        });
+    }
+
+    /**
+     * Appends the deletion of a task list together with its tasks.
+     *
+     * @param listId the ID of the task list
+     */
+    void listDeleted(long listId) {
+        append(LIST_DELETED, out -> out.writeLong(listId));
+    }
+
+    /**
+     * Appends the new state of a task, which is created or moved into the given list if needed.
+     *
+     * @param listId the ID of the task list holding the task
+     * @param task the task
+     */
+    void taskPut(long listId, TaskRecord task) {
+        tasksPut(List.of(listId), List.of(task));
+    }
+
+    /**
+     * Appends the new state of several tasks as one record, so they are recovered all together or not at all.
+     *
+     * @param listIds the ID of the task list holding each task, in the same order
+     * @param tasks the tasks
+     */
+    void tasksPut(List<Long> listIds, List<TaskRecord> tasks) {
+        append(TASKS_PUT, out -> {
+            out.writeInt(tasks.size());
+            for (int i = 0; i < tasks.size(); i++) {
+                out.writeLong(listIds.get(i));
+                writeTask(out, tasks.get(i));
+            }
+        });
+    }
+
+    /**
+     * Appends the deletion of a task.
+     *
+     * @param taskId the ID of the task
+     */
+    void taskDeleted(long taskId) {
+        append(TASK_DELETED, out -> out.writeLong(taskId));
+    }
+
+    /**
+     * Waits until every record appended so far is durable.
+     */
+    void sync() {
+        long target = appended;
+        if (durable >= target) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (durable >= target) {
+                // Forced by the writer we waited for
+                return;
+            }
+            Segment segment;
+            int end;
+            long covered;
+            synchronized (appendLock) {
+                covered = appended;
+                // Earlier segments were forced when they were sealed
+                segment = current;
+                end = segment.position;
+            }
+            segment.force(end);
+            durable = covered;
+        }
+    }
+
+    /**
+     * Seals the current segment and starts the next one. The caller must hold off every append
+     * until it has captured the state the returned snapshot number stands for.
+     *
+     * @return the number of the started segment, to pass to {@link #writeSnapshot}
+     */
+    long roll() {
+        synchronized (appendLock) {
+            startSegment(0);
+            return current.number;
+        }
+    }
+
+    /**
+     * @return whether nothing was appended since the last snapshot, so a new one would add nothing
+     */
+    boolean isCompacted() {
+        synchronized (appendLock) {
+            return current.number == snapshot && current.position == 0;
+        }
+    }
+
+    /**
+     * Writes a snapshot of the board as of a {@link #roll()}, then deletes the segments and snapshots it replaces.
+     *
+     * @param number the segment number returned by the roll
+     * @param lastListId the last task list ID handed out
+     * @param lastTaskId the last task ID handed out
+     * @param lists every task list with its tasks, at the roll
+     */
+    void writeSnapshot(long number, long lastListId, long lastTaskId, List<ListState> lists) {
+        Path temporary = directory.resolve(SNAPSHOT_PREFIX + number + SNAPSHOT_SUFFIX + TEMPORARY_SUFFIX);
+        int tasks = 0;
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                CRC32C checksum = new CRC32C();
+                BufferedOutputStream buffered = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+                DataOutputStream out = new DataOutputStream(new CheckedOutputStream(buffered, checksum));
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(lastListId);
+                out.writeLong(lastTaskId);
+                out.writeInt(lists.size());
+                for (ListState list : lists) {
+                    out.writeLong(list.id());
+                    writeString(out, list.name());
+                    out.writeInt(list.tasks().size());
+                    for (TaskRecord task : list.tasks()) {
+                        writeTask(out, task);
+                    }
+                    tasks += list.tasks().size();
+                }
+                out.flush();
+                // The trailing checksum covers everything before it
+                new DataOutputStream(buffered).writeInt((int) checksum.getValue());
+                buffered.flush();
+                channel.force(true);
+            }
+            Files.move(temporary, snapshotPath(number), StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write board snapshot " + number + " in " + directory, e);
+        }
+        synchronized (appendLock) {
+            snapshot = number;
+        }
+        deleteBefore(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX, number);
+        deleteBefore(SEGMENT_PREFIX, SEGMENT_SUFFIX, number);
+        logger.info("Wrote board snapshot {} with {} task lists and {} tasks", number, lists.size(), tasks);
+    }
+
+    /**
+     * Forces the records appended so far. The log cannot be appended to afterwards.
+     */
+    @Override
+    public void close() {
+        sync();
+        synchronized (appendLock) {
+            current = null;
+        }
+    }
+
+    private void append(byte type, RecordBody body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try {
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(type);
+            body.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] payload = bytes.toByteArray();
+        CRC32C checksum = new CRC32C();
+        checksum.update(payload);
+        synchronized (appendLock) {
+            if (current == null) {
+                throw new IllegalStateException("Board log in " + directory + " is not open");
+            }
+            if (current.position + HEADER_SIZE + payload.length + SEAL_SIZE > current.buffer.capacity()) {
+                startSegment(HEADER_SIZE + payload.length + SEAL_SIZE);
+            }
+            current.write(payload, (int) checksum.getValue());
+            appended = appended + 1;
+        }
+    }
+
+    /**
+     * Seals the current segment and replaces it with a new one of at least the given size. Called under {@link #appendLock}.
+     * The sealed segment is forced before the new one is created: once a later segment exists,
+     * recovery treats an incomplete segment as damage rather than as a torn tail.
+     */
+    private void startSegment(int minimumSize) {
+        current.seal();
+        current.force(current.position);
+        try {
+            current = createSegment(current.number + 1, Math.max(segmentSize, minimumSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start board log segment " + (current.number + 1), e);
+        }
+    }
+
+    private Segment createSegment(long number, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(number), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            Segment segment = new Segment(number, channel.map(FileChannel.MapMode.READ_WRITE, 0, size), 0);
+            syncDirectory();
+            return segment;
+        }
+    }
+
+    /**
+     * Replays the valid records of a segment.
+     *
+     * @param last whether this is the newest segment, whose tail may be torn
+     * @return the number of records replayed
+     */
+    private long replaySegment(long number, boolean last, Replay replay) throws IOException {
+        Path path = segmentPath(number);
+        Segment segment;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = new Segment(number, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()), 0);
+        }
+        ByteBuffer buffer = segment.buffer;
+        long records = 0;
+        while (true) {
+            ByteBuffer payload = segment.next();
+            if (payload == null) {
+                break;
+            }
+            byte type = payload.get();
+            if (type == SEAL) {
+                return records;
+            }
+            apply(type, payload, replay);
+            records++;
+            segment.position += HEADER_SIZE + payload.limit();
+        }
+        if (!last) {
+            throw new IllegalStateException("Board log segment " + number + " is damaged at offset " + segment.position);
+        }
+        if (segment.position + SEAL_SIZE > buffer.capacity()) {
+            // Created but never extended; it holds nothing
+            Files.delete(path);
+            return records;
+        }
+        if (buffer.getInt(segment.position) != 0) {
+            logger.warn("Discarding the torn tail of board log segment {} at offset {}", number, segment.position);
+        }
+        segment.seal();
+        segment.force(segment.position);
+        return records;
+    }
+
+    private static void apply(byte type, ByteBuffer payload, Replay replay) {
+        switch (type) {
+            case LIST_CREATED -> replay.listCreated(payload.getLong(), readString(payload));
+            case LIST_DELETED -> replay.listDeleted(payload.getLong());
+            case TASKS_PUT, TASKS_PUT_V1 -> {
+                int count = payload.getInt();
+                for (int i = 0; i < count; i++) {
+                    long listId = payload.getLong();
+                    replay.taskPut(listId, readTask(payload, type == TASKS_PUT));
+                }
+            }
+            case TASK_DELETED -> replay.taskDeleted(payload.getLong());
+            default -> throw new IllegalStateException("Unknown board log record type " + type);
+        }
+    }
+
+    private static void loadSnapshot(Path path, Replay replay) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        CRC32C checksum = new CRC32C();
+        if (buffer.capacity() >= 2 * Integer.BYTES) {
+            checksum.update(buffer.slice(0, buffer.capacity() - Integer.BYTES));
+        }
+        int magic = buffer.capacity() < 2 * Integer.BYTES ? 0 : buffer.getInt(0);
+        if (magic != SNAPSHOT_MAGIC && magic != SNAPSHOT_MAGIC_V1
+                || buffer.getInt(buffer.capacity() - Integer.BYTES) != (int) checksum.getValue()) {
+            throw new IllegalStateException("Board snapshot " + path + " is damaged");
+        }
+        buffer.position(Integer.BYTES);
+        replay.sequences(buffer.getLong(), buffer.getLong());
+        int lists = buffer.getInt();
+        for (int i = 0; i < lists; i++) {
+            long listId = buffer.getLong();
+            replay.listCreated(listId, readString(buffer));
+            int tasks = buffer.getInt();
+            for (int j = 0; j < tasks; j++) {
+                replay.taskPut(listId, readTask(buffer, magic == SNAPSHOT_MAGIC));
+            }
+        }
+    }
+
+    private static void writeTask(DataOutputStream out, TaskRecord task) throws IOException {
+        out.writeLong(task.id());
+        out.writeLong(task.version());
+        writeString(out, task.name());
+        writeString(out, task.description());
+        writeString(out, task.rankKey());
+        writeString(out, task.status().name());
+        writeString(out, task.priority().name());
+        out.writeLong(task.dueDate() == null ? NO_DUE_DATE : task.dueDate().toEpochDay());
+        writeString(out, task.assignee());
+    }
+
+    /**
+     * @param lifecycle whether the task was written with its lifecycle fields; older tasks get the defaults
+     */
+    private static TaskRecord readTask(ByteBuffer buffer, boolean lifecycle) {
+        long id = buffer.getLong();
+        long version = buffer.getLong();
+        String name = readString(buffer);
+        String description = readString(buffer);
+        String rankKey = readString(buffer);
+        if (!lifecycle) {
+            return new TaskRecord(id, name, description, version, rankKey, TaskStatus.TODO, TaskPriority.MEDIUM,
+                    null, null);
+        }
+        TaskStatus status = TaskStatus.valueOf(readString(buffer));
+        TaskPriority priority = TaskPriority.valueOf(readString(buffer));
+        long dueDay = buffer.getLong();
+        return new TaskRecord(id, name, description, version, rankKey, status, priority,
+                dueDay == NO_DUE_DATE ? null : LocalDate.ofEpochDay(dueDay), readString(buffer));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = StandardCharsets.UTF_8.decode(buffer.slice(buffer.position(), length)).toString();
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    /**
+     * @return the numbers of the files with the given prefix and suffix, in ascending order
+     */
+    private List<Long> numbered(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                    .map(name -> Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void deleteBefore(String prefix, String suffix, long number) {
+        try {
+            for (long older : numbered(prefix, suffix)) {
+                if (older < number) {
+                    Files.delete(directory.resolve(prefix + older + suffix));
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Cannot delete board log files older than {} in {}", number, directory, e);
+        }
+    }
+
+    /**
+     * Makes created, renamed and deleted files in the directory durable.
+     */
+    private void syncDirectory() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(SEGMENT_PREFIX + number + SEGMENT_SUFFIX);
+    }
+
+    private Path snapshotPath(long number) {
+        return directory.resolve(SNAPSHOT_PREFIX + number + SNAPSHOT_SUFFIX);
+    }
+
+    /**
+     * Receives recovered state, in the order it was logged.
+     */
+    interface Replay {
+
+        /**
+         * @param lastListId the last task list ID handed out before the snapshot
+         * @param lastTaskId the last task ID handed out before the snapshot
+         */
+        void sequences(long lastListId, long lastTaskId);
+
+        void listCreated(long listId, String name);
+
+        void listDeleted(long listId);
+
+        void taskPut(long listId, TaskRecord task);
+
+        void taskDeleted(long taskId);
+    }
+
+    /**
+     * A task list and its tasks, in rank order, as written to a snapshot.
+     */
+    record ListState(long id, String name, List<TaskRecord> tasks) {
+    }
+
+    @FunctionalInterface
+    private interface RecordBody {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * A mapped segment file and the offset of its next record.
+     */
+    private static final class Segment {
+        final long number;
+        final MappedByteBuffer buffer;
+        int position;
+        /** End of the range already forced; guarded by the segment's monitor. */
+        int forced;
+
+        Segment(long number, MappedByteBuffer buffer, int position) {
+            this.number = number;
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        void write(byte[] payload, int checksum) {
+            buffer.putInt(position + Integer.BYTES, checksum);
+            buffer.put(position + HEADER_SIZE, payload);
+            // The length goes last, so a record cut short reads as the end of the log or fails its checksum
+            buffer.putInt(position, payload.length);
+            position += HEADER_SIZE + payload.length;
+        }
+
+        void seal() {
+            CRC32C checksum = new CRC32C();
+            checksum.update(SEAL);
+            write(new byte[]{SEAL}, (int) checksum.getValue());
+        }
+
+        /**
+         * @return the payload of the record at the current position, or {@code null} if there is no valid record
+         */
+        ByteBuffer next() {
+            if (position + HEADER_SIZE > buffer.capacity()) {
+                return null;
+            }
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.capacity() - position - HEADER_SIZE) {
+                return null;
+            }
+            ByteBuffer payload = buffer.slice(position + HEADER_SIZE, length);
+            CRC32C checksum = new CRC32C();
+            checksum.update(payload);
+            if ((int) checksum.getValue() != buffer.getInt(position + Integer.BYTES)) {
+                return null;
+            }
+            return payload.rewind();
+        }
+
+        synchronized void force(int end) {
+            if (end > forced) {
+                buffer.force(forced, end - forced);
+                forced = end;
+            }
+        }
+    }
+}
@@ -0,0 +1,1013 @@
+package com.example.taskboard.store;
+
+import com.example.taskboard.dto.ListRankKey;
+import com.example.taskboard.dto.RankGap;
+import com.example.taskboard.dto.TaskBatchResult;
+import com.example.taskboard.dto.TaskDetails;
+import com.example.taskboard.dto.TaskFilter;
+import com.example.taskboard.dto.TaskImportItem;
+import com.example.taskboard.dto.TaskItem;
+import com.example.taskboard.dto.TaskLifecycle;
+import com.example.taskboard.dto.TaskListRef;
+import com.example.taskboard.dto.TaskListRow;
+import com.example.taskboard.dto.TaskListSummary;
+import com.example.taskboard.dto.TaskOverview;
+import com.example.taskboard.model.Task;
+import com.example.taskboard.model.TaskList;
+import com.example.taskboard.service.RankKeys;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Task store keeping the board in the heap, for deployments that need low latency more than durability.
+ * <p>
+ * Task lists are spread over a fixed number of lock stripes by ID. Each stripe holds its lists in a
+ * {@link LongMap} behind a read-write lock, and each list keeps its tasks both by ID and in rank order,
+ * so every operation on a list takes only its stripe's lock and writers to lists in different stripes
+ * never contend. A separate striped index maps task IDs to their lists. Moving a task between lists
+ * locks both stripes in index order.
+ * <p>
+ * Each call is atomic for the tasks it touches; batch operations are applied task by task, and
+ * reads spanning several lists see each list at a slightly different moment. Selected with
+ * {@code taskboard.store.engine=memory}.
+ * <p>
+ * Without a log, everything is lost when the process stops. With
+ * {@code taskboard.store.memory.log.enabled=true}, every change is appended to a {@link BoardLog}
+ * under the locks that order it, before it is applied, and each writing call returns only once the
+ * log is durable; the wait happens after the locks are released, so other writers keep going and
+ * share the next {@code msync}. Readers may see a change shortly before it is durable. The board is
+ * rebuilt from the log on startup and periodically compacted into a snapshot.
+ */
+@Repository
+@ConditionalOnProperty(name = "taskboard.store.engine", havingValue = "memory")
+public class InMemoryTaskStore implements TaskStore {
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryTaskStore.class);
+
+    /** Rank order within a list, matching the JPA engine: rank key with missing keys first, then ID. */
+    private static final Comparator<TaskRecord> RANK_ORDER = Comparator
+            .comparing(TaskRecord::rankKey, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparingLong(TaskRecord::id);
+
+    private final AtomicLong listSequence = new AtomicLong();
+
+    private final AtomicLong taskSequence = new AtomicLong();
+
+    /** IDs of all task lists in ascending order, replaced on every change, for ordered scans and keyset pagination. */
+    private volatile long[] listIds = new long[0];
+
+    private final Object listIdsLock = new Object();
+
+    /** Number of lock stripes task lists are spread over. */
+    @Value("${taskboard.store.memory.lock-stripes:64}")
+    private int lockStripes = 64;
+
+    private Stripe[] stripes;
+
+    /** Whether changes are logged, so the board survives restarts. */
+    @Value("${taskboard.store.memory.log.enabled:false}")
+    private boolean logEnabled;
+
+    /** Directory of the log segments and snapshots. */
+    @Value("${taskboard.store.memory.log.directory:./data/board-log}")
+    private String logDirectory = "./data/board-log";
+
+    /** Size of each log segment file. */
+    @Value("${taskboard.store.memory.log.segment-size:64MB}")
+    private DataSize logSegmentSize = DataSize.ofMegabytes(64);
+
+    /** The log, or {@code null} if changes are not logged. */
+    private BoardLog log;
+
+    /** Task ID to task list; each map is guarded by its own monitor, which is never held while taking another lock. */
+    private LongMap<ListNode>[] taskIndex;
+
+    @PostConstruct
+    @SuppressWarnings("unchecked")
+    void init() {
+        int count = Math.max(1, lockStripes);
+        stripes = new Stripe[count];
+        taskIndex = new LongMap[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+            taskIndex[i] = new LongMap<>();
+        }
+        logger.info("Keeping the board in memory across {} lock stripes", count);
+        if (logEnabled) {
+            log = new BoardLog(Path.of(logDirectory), Math.toIntExact(logSegmentSize.toBytes()));
+            log.recover(new Recovery());
+            rebuildListIds();
+        }
+    }
+
+    /**
+     * Makes every logged change durable and stops logging.
+     */
+    @PreDestroy
+    void close() {
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    /**
+     * Compacts the log into a snapshot if anything was logged since the last one.
+     */
+    @Scheduled(fixedDelayString = "${taskboard.store.memory.log.snapshot-delay-millis:60000}",
+            initialDelayString = "${taskboard.store.memory.log.snapshot-delay-millis:60000}")
+    public void compactLog() {
+        if (log != null && !log.isCompacted()) {
+            snapshot();
+        }
+    }
+
+    /**
+     * Writes a snapshot of the board and deletes the log it replaces. Every stripe is locked only
+     * while the board is copied; the snapshot is written after the locks are released.
+     */
+    void snapshot() {
+        long number;
+        long lastListId;
+        long lastTaskId;
+        List<BoardLog.ListState> lists = new ArrayList<>();
+        List<Stripe> locked = lockInOrder(null);
+        try {
+            // Changes are logged under their stripe locks, so the log is at a consistent point
+            number = log.roll();
+            lastListId = listSequence.get();
+            lastTaskId = taskSequence.get();
+            for (Stripe stripe : stripes) {
+                stripe.lists.forEachValue(list ->
+                        lists.add(new BoardLog.ListState(list.id, list.name, new ArrayList<>(list.ordered))));
+            }
+        } finally {
+            unlock(locked);
+        }
+        lists.sort(Comparator.comparingLong(BoardLog.ListState::id));
+        log.writeSnapshot(number, lastListId, lastTaskId, lists);
+    }
+
+    @Override
+    public Optional<TaskList> findTaskList(Long listId) {
+        return Optional.ofNullable(readList(listId, list -> list == null ? null : list.toTaskList()));
+    }
+
+    @Override
+    public Optional<TaskListRef> findTaskListRef(Long listId) {
+        return Optional.ofNullable(readList(listId, list -> list == null ? null : new TaskListRef(list.id, list.name)));
+    }
+
+    @Override
+    public List<Long> findExistingTaskListIds(Collection<Long> listIds) {
+        List<Long> existing = new ArrayList<>();
+        for (Long listId : new LinkedHashSet<>(listIds)) {
+            if (readList(listId, Objects::nonNull)) {
+                existing.add(listId);
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    public List<TaskListRow> findAllRows() {
+        return findRowsAfter(0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<TaskListRow> findRowsAfter(long after, int limit) {
+        List<TaskListRow> rows = new ArrayList<>();
+        long[] ids = listIds;
+        int found = 0;
+        for (int i = firstIndexAfter(ids, after); i < ids.length && found < limit; i++) {
+            boolean exists = readList(ids[i], list -> {
+                if (list == null) {
+                    return false;
+                }
+                list.addRows(rows);
+                return true;
+            });
+            if (exists) {
+                found++;
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public List<TaskListSummary> findSummariesAfter(long after, int limit) {
+        List<TaskListSummary> summaries = new ArrayList<>();
+        long[] ids = listIds;
+        for (int i = firstIndexAfter(ids, after); i < ids.length && summaries.size() < limit; i++) {
+            TaskListSummary summary = readList(ids[i], list ->
+                    list == null ? null : new TaskListSummary(list.id, list.name, list.tasks.size()));
+            if (summary != null) {
+                summaries.add(summary);
+            }
+        }
+        return summaries;
+    }
+
+    @Override
+    public TaskList createTaskList(String name) {
+        ListNode list = new ListNode(listSequence.incrementAndGet(), name);
+        Stripe stripe = stripeOf(list.id);
+        stripe.lock.writeLock().lock();
+        try {
+            if (log != null) {
+                log.listCreated(list.id, list.name);
+            }
+            stripe.lists.put(list.id, list);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+        synchronized (listIdsLock) {
+            long[] ids = listIds;
+            int position = firstIndexAfter(ids, list.id);
+            long[] updated = new long[ids.length + 1];
+            System.arraycopy(ids, 0, updated, 0, position);
+            updated[position] = list.id;
+            System.arraycopy(ids, position, updated, position + 1, ids.length - position);
+            listIds = updated;
+        }
+        return durable(list.toTaskList());
+    }
+
+    @Override
+    public boolean deleteTaskList(Long listId) {
+        Stripe stripe = stripeOf(listId);
+        stripe.lock.writeLock().lock();
+        try {
+            ListNode list = stripe.lists.get(listId);
+            if (list == null) {
+                return false;
+            }
+            if (log != null) {
+                log.listDeleted(listId);
+            }
+            stripe.lists.remove(listId);
+            list.tasks.forEachValue(task -> unindex(task.id()));
+            list.clear();
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+        synchronized (listIdsLock) {
+            long[] ids = listIds;
+            int position = Arrays.binarySearch(ids, listId);
+            if (position >= 0) {
+                long[] updated = new long[ids.length - 1];
+                System.arraycopy(ids, 0, updated, 0, position);
+                System.arraycopy(ids, position + 1, updated, position, ids.length - position - 1);
+                listIds = updated;
+            }
+        }
+        return durable(true);
+    }
+
+    @Override
+    public void forEachTaskList(Consumer<TaskListRef> action) {
+        for (long listId : listIds) {
+            TaskListRef ref = readList(listId, list -> list == null ? null : new TaskListRef(list.id, list.name));
+            if (ref != null) {
+                action.accept(ref);
+            }
+        }
+    }
+
+    @Override
+    public Optional<TaskDetails> findTaskDetails(Long taskId) {
+        return Optional.ofNullable(readTask(taskId, (list, task) ->
+                new TaskDetails(task.id(), task.name(), task.description(), task.version(), list.id, list.name)));
+    }
+
+    @Override
+    public boolean taskExists(Long taskId) {
+        return indexed(taskId) != null;
+    }
+
+    @Override
+    public List<TaskItem> findTaskItems(Long listId, Long after, int limit) {
+        TaskRecord cursor = after == null ? null : readTask(after, (list, task) -> task);
+        if (after != null && (cursor == null || cursor.rankKey() == null)) {
+            return List.of();
+        }
+        return readList(listId, list -> {
+            List<TaskItem> items = new ArrayList<>();
+            if (list == null) {
+                return items;
+            }
+            for (TaskRecord task : cursor == null ? list.ordered : list.ordered.tailSet(cursor, false)) {
+                if (items.size() == limit) {
+                    break;
+                }
+                if (task.rankKey() != null) {
+                    items.add(new TaskItem(task.id(), task.name(), task.description()));
+                }
+            }
+            return items;
+        });
+    }
+
+    /**
+     * Scans every list, as the heap keeps no index by status, due date or assignee.
+     */
+    @Override
+    public List<TaskOverview> findTasks(TaskFilter filter, Long after, int limit) {
+        long cursor = after == null ? 0 : after;
+        List<TaskOverview> matches = new ArrayList<>();
+        for (long listId : listIds) {
+            readList(listId, list -> {
+                if (list != null) {
+                    list.tasks.forEachValue(task -> {
+                        if (task.id() > cursor && filter.matches(task.status(), task.assignee(), task.dueDate())) {
+                            matches.add(task.toOverview(list.id));
+                        }
+                    });
+                }
+                return null;
+            });
+        }
+        matches.sort(Comparator.comparing(TaskOverview::id));
+        return new ArrayList<>(matches.subList(0, Math.min(limit, matches.size())));
+    }
+
+    @Override
+    public Task createTask(Task task) {
+        Long listId = task.getTaskList().getId();
+        Stripe stripe = stripeOf(listId);
+        TaskRecord record;
+        stripe.lock.writeLock().lock();
+        try {
+            ListNode list = stripe.lists.get(listId);
+            if (list == null) {
+                throw missingList(listId);
+            }
+            record = new TaskRecord(taskSequence.incrementAndGet(), task.getName(), task.getDescription(),
+                    0, task.getRankKey(), task.getStatus(), task.getPriority(), task.getDueDate(), task.getAssignee());
+            if (log != null) {
+                log.taskPut(list.id, record);
+            }
+            list.add(record);
+            index(record.id(), list);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+        return durable(new Task(record.id(), record.name(), record.description(), record.version(), record.rankKey(),
+                task.getBoardId(), task.getTaskList(), record.status(), record.priority(), record.dueDate(),
+                record.assignee()));
+    }
+
+    /**
+     * Locks the stripes of every referenced list in index order, so the items are created all
+     * together or not at all.
+     */
+    @Override
+    public List<Long> insertTasks(List<TaskImportItem> items, List<String> rankKeys) {
+        List<Long> taskIds;
+        List<Stripe> locked = lockInOrder(items.stream().map(TaskImportItem::listId).toList());
+        try {
+            List<ListNode> lists = new ArrayList<>(items.size());
+            for (TaskImportItem item : items) {
+                ListNode list = stripeOf(item.listId()).lists.get(item.listId());
+                if (list == null) {
+                    throw missingList(item.listId());
+                }
+                lists.add(list);
+            }
+            List<TaskRecord> records = new ArrayList<>(items.size());
+            for (int i = 0; i < items.size(); i++) {
+                TaskImportItem item = items.get(i);
+                records.add(new TaskRecord(taskSequence.incrementAndGet(), item.name(), item.description(),
+                        rankKeys.get(i)));
+            }
+            if (log != null) {
+                log.tasksPut(items.stream().map(TaskImportItem::listId).toList(), records);
+            }
+            taskIds = new ArrayList<>(items.size());
+            for (int i = 0; i < records.size(); i++) {
+                lists.get(i).add(records.get(i));
+                index(records.get(i).id(), lists.get(i));
+                taskIds.add(records.get(i).id());
+            }
+        } finally {
+            unlock(locked);
+        }
+        return durable(taskIds);
+    }
+
+    @Override
+    public int updateTask(Long taskId, String name, String description, Long expectedVersion) {
+        return durable(update(taskId, name, description, expectedVersion));
+    }
+
+    @Override
+    public int updateLifecycle(Long taskId, TaskLifecycle lifecycle, Long expectedVersion) {
+        return durable(writeTask(taskId, (list, task) -> {
+            if (expectedVersion != null && task.version() != expectedVersion) {
+                return 0;
+            }
+            TaskRecord updated = task.withLifecycle(lifecycle);
+            if (log != null) {
+                log.taskPut(list.id, updated);
+            }
+            list.replace(task, updated);
+            return 1;
+        }, 0));
+    }
+
+    @Override
+    public boolean deleteTask(Long taskId) {
+        return durable(delete(taskId));
+    }
+
+    @Override
+    public Optional<TaskDetails> moveTaskToRank(Long taskId, Long listId, String rankKey, Long expectedVersion) {
+        return durable(Optional.ofNullable(move(taskId, listId, rankKey, expectedVersion)));
+    }
+
+    @Override
+    public TaskBatchResult moveTasks(List<Long> taskIds, Long listId, List<String> rankKeys) {
+        if (!readList(listId, Objects::nonNull)) {
+            throw missingList(listId);
+        }
+        Map<Long, String> keys = new HashMap<>();
+        for (int i = 0; i < taskIds.size(); i++) {
+            keys.put(taskIds.get(i), rankKeys.get(i));
+        }
+        return durable(eachTask(taskIds, taskId -> move(taskId, listId, keys.get(taskId), null) != null));
+    }
+
+    @Override
+    public TaskBatchResult updateTasks(List<Long> taskIds, String name, String description) {
+        return durable(eachTask(taskIds, taskId -> update(taskId, name, description, null) == 1));
+    }
+
+    @Override
+    public TaskBatchResult deleteTasks(List<Long> taskIds) {
+        return durable(eachTask(taskIds, this::delete));
+    }
+
+    @Override
+    public List<TaskItem> findAllTaskItems(Long listId) {
+        return findTaskItems(listId, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Copies each list's rows under its lock and passes them on after releasing it, so a slow
+     * action never blocks writers.
+     */
+    @Override
+    public void forEachTask(Consumer<TaskListRow> action) {
+        for (long listId : listIds) {
+            List<TaskListRow> rows = readList(listId, list -> {
+                List<TaskListRow> copy = new ArrayList<>();
+                if (list != null) {
+                    list.tasks.forEachValue(task ->
+                            copy.add(new TaskListRow(list.id, list.name, task.id(), task.name(), task.description())));
+                }
+                return copy;
+            });
+            rows.sort(Comparator.comparing(TaskListRow::taskId));
+            rows.forEach(action);
+        }
+    }
+
+    @Override
+    public String findLastRankKey(Long listId) {
+        return readList(listId, list -> list == null || list.ordered.isEmpty() ? null : list.ordered.last().rankKey());
+    }
+
+    @Override
+    public List<ListRankKey> findLastRankKeys(Collection<Long> listIds) {
+        List<ListRankKey> lastKeys = new ArrayList<>();
+        for (Long listId : new LinkedHashSet<>(listIds)) {
+            String lastKey = findLastRankKey(listId);
+            if (lastKey != null) {
+                lastKeys.add(new ListRankKey(listId, lastKey));
+            }
+        }
+        return lastKeys;
+    }
+
+    @Override
+    public Optional<RankGap> findGapAfter(Long listId, Long anchorId, Long taskId) {
+        return Optional.ofNullable(readList(listId, list -> {
+            TaskRecord anchor = list == null ? null : list.tasks.get(anchorId);
+            if (anchor == null) {
+                return null;
+            }
+            String upper = null;
+            if (anchor.rankKey() != null) {
+                for (TaskRecord task : list.ordered.tailSet(anchor, false)) {
+                    if (task.id() != taskId && task.rankKey().compareTo(anchor.rankKey()) > 0) {
+                        upper = task.rankKey();
+                        break;
+                    }
+                }
+            }
+            return new RankGap(anchor.rankKey(), upper, tied(list, anchor, taskId));
+        }));
+    }
+
+    @Override
+    public Optional<RankGap> findGapBefore(Long listId, Long anchorId, Long taskId) {
+        return Optional.ofNullable(readList(listId, list -> {
+            TaskRecord anchor = list == null ? null : list.tasks.get(anchorId);
+            if (anchor == null) {
+                return null;
+            }
+            String lower = null;
+            if (anchor.rankKey() != null) {
+                Iterator<TaskRecord> before = list.ordered.headSet(anchor, false).descendingIterator();
+                while (before.hasNext()) {
+                    TaskRecord task = before.next();
+                    if (task.rankKey() == null) {
+                        break;
+                    }
+                    if (task.id() != taskId && task.rankKey().compareTo(anchor.rankKey()) < 0) {
+                        lower = task.rankKey();
+                        break;
+                    }
+                }
+            }
+            return new RankGap(lower, anchor.rankKey(), tied(list, anchor, taskId));
+        }));
+    }
+
+    /**
+     * Runs the action holding the rank lock of the list's stripe, which rebalancing takes too. The
+     * rank lock is always taken before, and never while holding, a stripe's read-write lock.
+     */
+    @Override
+    public <T> T withRankLock(Long listId, Supplier<T> action) {
+        ReentrantLock rankLock = stripeOf(listId).rankLock;
+        rankLock.lock();
+        try {
+            return action.get();
+        } finally {
+            rankLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Long> findListIdsToRebalance(int maxLength) {
+        List<Long> rebalance = new ArrayList<>();
+        for (long listId : listIds) {
+            boolean needed = readList(listId, list -> list != null && list.ordered.stream()
+                    .anyMatch(task -> task.rankKey() == null || task.rankKey().length() > maxLength));
+            if (needed) {
+                rebalance.add(listId);
+            }
+        }
+        return rebalance;
+    }
+
+    @Override
+    public int rebalanceRanks(Long listId) {
+        Stripe stripe = stripeOf(listId);
+        int changed;
+        stripe.rankLock.lock();
+        stripe.lock.writeLock().lock();
+        try {
+            ListNode list = stripe.lists.get(listId);
+            if (list == null) {
+                return 0;
+            }
+            List<TaskRecord> tasks = new ArrayList<>(list.ordered);
+            List<String> keys = RankKeys.between(null, RankKeys.MIDDLE, tasks.size());
+            List<TaskRecord> current = new ArrayList<>();
+            List<TaskRecord> rebalanced = new ArrayList<>();
+            for (int i = 0; i < tasks.size(); i++) {
+                TaskRecord task = tasks.get(i);
+                if (!keys.get(i).equals(task.rankKey())) {
+                    current.add(task);
+                    rebalanced.add(task.reranked(keys.get(i)));
+                }
+            }
+            if (log != null && !rebalanced.isEmpty()) {
+                // One record, so a partly rewritten list is never recovered out of order
+                log.tasksPut(Collections.nCopies(rebalanced.size(), list.id), rebalanced);
+            }
+            for (int i = 0; i < rebalanced.size(); i++) {
+                list.replace(current.get(i), rebalanced.get(i));
+            }
+            changed = rebalanced.size();
+        } finally {
+            stripe.lock.writeLock().unlock();
+            stripe.rankLock.unlock();
+        }
+        return durable(changed);
+    }
+
+    /**
+     * Removes every task list and task. IDs are not reused afterwards.
+     */
+    public void clear() {
+        List<Stripe> locked = lockInOrder(null);
+        try {
+            if (log != null) {
+                for (Stripe stripe : stripes) {
+                    stripe.lists.forEachValue(list -> log.listDeleted(list.id));
+                }
+            }
+            for (Stripe stripe : stripes) {
+                stripe.lists.forEachValue(ListNode::clear);
+                stripe.lists.clear();
+            }
+            for (LongMap<ListNode> index : taskIndex) {
+                synchronized (index) {
+                    index.clear();
+                }
+            }
+            synchronized (listIdsLock) {
+                listIds = new long[0];
+            }
+        } finally {
+            unlock(locked);
+        }
+        durable(null);
+    }
+
+    private int update(Long taskId, String name, String description, Long expectedVersion) {
+        return writeTask(taskId, (list, task) -> {
+            if (expectedVersion != null && task.version() != expectedVersion) {
+                return 0;
+            }
+            TaskRecord updated = task.updated(name, description);
+            if (log != null) {
+                log.taskPut(list.id, updated);
+            }
+            list.replace(task, updated);
+            return 1;
+        }, 0);
+    }
+
+    private boolean delete(Long taskId) {
+        return writeTask(taskId, (list, task) -> {
+            if (log != null) {
+                log.taskDeleted(task.id());
+            }
+            list.remove(task);
+            unindex(task.id());
+            return true;
+        }, false);
+    }
+
+    /**
+     * Whether a task other than the anchor and the task being placed shares the anchor's key. Such
+     * a task sorts directly before or after the anchor, ignoring the task being placed.
+     */
+    private static boolean tied(ListNode list, TaskRecord anchor, long taskId) {
+        if (anchor.rankKey() == null) {
+            return false;
+        }
+        for (Iterator<TaskRecord> neighbours : List.of(list.ordered.tailSet(anchor, false).iterator(),
+                list.ordered.headSet(anchor, false).descendingIterator())) {
+            while (neighbours.hasNext()) {
+                TaskRecord task = neighbours.next();
+                if (task.id() != taskId) {
+                    if (anchor.rankKey().equals(task.rankKey())) {
+                        return true;
+                    }
+                    break;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves a task under the write locks of both lists' stripes, taken in index order.
+     *
+     * @return the task as moved, or {@code null} if it does not exist (at the expected version)
+     */
+    private TaskDetails move(Long taskId, Long listId, String rankKey, Long expectedVersion) {
+        while (true) {
+            ListNode source = indexed(taskId);
+            if (source == null) {
+                return null;
+            }
+            List<Stripe> locked = lockInOrder(List.of(source.id, listId));
+            try {
+                TaskRecord task = source.tasks.get(taskId);
+                if (task == null) {
+                    // Moved or deleted since the index was read; look it up again
+                    continue;
+                }
+                ListNode target = stripeOf(listId).lists.get(listId);
+                if (target == null) {
+                    throw missingList(listId);
+                }
+                if (expectedVersion != null && task.version() != expectedVersion) {
+                    return null;
+                }
+                TaskRecord moved = task.moved(rankKey);
+                if (log != null) {
+                    log.taskPut(target.id, moved);
+                }
+                source.remove(task);
+                target.add(moved);
+                if (target != source) {
+                    index(taskId, target);
+                }
+                return new TaskDetails(taskId, moved.name(), moved.description(), moved.version(), target.id, target.name);
+            } finally {
+                unlock(locked);
+            }
+        }
+    }
+
+    /**
+     * Waits until the changes logged so far, including the caller's, are durable. Must be called
+     * without holding a stripe lock.
+     *
+     * @return {@code result}
+     */
+    private <T> T durable(T result) {
+        if (log != null) {
+            log.sync();
+        }
+        return result;
+    }
+
+    /**
+     * Rebuilds the ordered task list IDs from the stripes, after recovery added lists without them.
+     */
+    private void rebuildListIds() {
+        List<Long> ids = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            stripe.lists.forEachValue(list -> ids.add(list.id));
+        }
+        synchronized (listIdsLock) {
+            listIds = ids.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+    }
+
+    /**
+     * Runs an action on a task list under its stripe's read lock.
+     *
+     * @param action the action, given the list or {@code null} if it does not exist
+     */
+    private <T> T readList(Long listId, Function<ListNode, T> action) {
+        Stripe stripe = stripeOf(listId);
+        stripe.lock.readLock().lock();
+        try {
+            return action.apply(stripe.lists.get(listId));
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs an action on a task under its list's read lock.
+     *
+     * @return the action's result, or {@code null} if the task does not exist
+     */
+    private <T> T readTask(Long taskId, BiFunction<ListNode, TaskRecord, T> action) {
+        return onTask(taskId, false, action, null);
+    }
+
+    /**
+     * Runs an action on a task under its list's write lock.
+     *
+     * @return the action's result, or {@code missing} if the task does not exist
+     */
+    private <T> T writeTask(Long taskId, BiFunction<ListNode, TaskRecord, T> action, T missing) {
+        return onTask(taskId, true, action, missing);
+    }
+
+    private <T> T onTask(Long taskId, boolean write, BiFunction<ListNode, TaskRecord, T> action, T missing) {
+        while (true) {
+            ListNode list = indexed(taskId);
+            if (list == null) {
+                return missing;
+            }
+            ReentrantReadWriteLock rw = stripeOf(list.id).lock;
+            Lock lock = write ? rw.writeLock() : rw.readLock();
+            lock.lock();
+            try {
+                TaskRecord task = list.tasks.get(taskId);
+                if (task != null) {
+                    return action.apply(list, task);
+                }
+                // Moved or deleted since the index was read; look it up again
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private TaskBatchResult eachTask(List<Long> taskIds, Function<Long, Boolean> operation) {
+        List<Long> succeeded = new ArrayList<>(taskIds.size());
+        List<Long> notFound = new ArrayList<>();
+        for (Long taskId : taskIds) {
+            (operation.apply(taskId) ? succeeded : notFound).add(taskId);
+        }
+        return new TaskBatchResult(succeeded, notFound);
+    }
+
+    /**
+     * Takes the write locks of the stripes of the given lists, or of every stripe, in index order.
+     *
+     * @param listIds the lists to lock, or {@code null} for all
+     * @return the locked stripes, to pass to {@link #unlock}
+     */
+    private List<Stripe> lockInOrder(Collection<Long> listIds) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        if (listIds == null) {
+            for (int i = 0; i < stripes.length; i++) {
+                indexes.add(i);
+            }
+        } else {
+            listIds.forEach(listId -> indexes.add(stripeIndex(listId)));
+        }
+        List<Stripe> locked = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            stripes[index].lock.writeLock().lock();
+            locked.add(stripes[index]);
+        }
+        return locked;
+    }
+
+    private static void unlock(List<Stripe> locked) {
+        for (int i = locked.size() - 1; i >= 0; i--) {
+            locked.get(i).lock.writeLock().unlock();
+        }
+    }
+
+    private ListNode indexed(Long taskId) {
+        LongMap<ListNode> index = taskIndex[Math.floorMod(taskId, taskIndex.length)];
+        synchronized (index) {
+            return index.get(taskId);
+        }
+    }
+
+    private void index(long taskId, ListNode list) {
+        LongMap<ListNode> index = taskIndex[Math.floorMod(taskId, taskIndex.length)];
+        synchronized (index) {
+            index.put(taskId, list);
+        }
+    }
+
+    private void unindex(long taskId) {
+        LongMap<ListNode> index = taskIndex[Math.floorMod(taskId, taskIndex.length)];
+        synchronized (index) {
+            index.remove(taskId);
+        }
+    }
+
+    private Stripe stripeOf(Long listId) {
+        return stripes[stripeIndex(listId)];
+    }
+
+    private int stripeIndex(Long listId) {
+        return Math.floorMod(listId, stripes.length);
+    }
+
+    private static int firstIndexAfter(long[] ids, long after) {
+        int position = Arrays.binarySearch(ids, after);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+
+    private static DataIntegrityViolationException missingList(Long listId) {
+        return new DataIntegrityViolationException("Task list with ID " + listId + " does not exist");
+    }
+
+    /**
+     * Applies the recovered log to the board on startup, before any caller can see it.
+     */
+    private final class Recovery implements BoardLog.Replay {
+
+        @Override
+        public void sequences(long lastListId, long lastTaskId) {
+            listSequence.accumulateAndGet(lastListId, Math::max);
+            taskSequence.accumulateAndGet(lastTaskId, Math::max);
+        }
+
+        @Override
+        public void listCreated(long listId, String name) {
+            stripeOf(listId).lists.put(listId, new ListNode(listId, name));
+            listSequence.accumulateAndGet(listId, Math::max);
+        }
+
+        @Override
+        public void listDeleted(long listId) {
+            ListNode list = stripeOf(listId).lists.remove(listId);
+            if (list != null) {
+                list.tasks.forEachValue(task -> unindex(task.id()));
+            }
+        }
+
+        @Override
+        public void taskPut(long listId, TaskRecord task) {
+            ListNode list = stripeOf(listId).lists.get(listId);
+            if (list == null) {
+                throw new IllegalStateException("Board log puts task " + task.id() + " in missing task list " + listId);
+            }
+            taskDeleted(task.id());
+            list.add(task);
+            index(task.id(), list);
+            taskSequence.accumulateAndGet(task.id(), Math::max);
+        }
+
+        @Override
+        public void taskDeleted(long taskId) {
+            ListNode list = indexed(taskId);
+            if (list != null) {
+                list.remove(list.tasks.get(taskId));
+                unindex(taskId);
+            }
+        }
+    }
+
+    /**
+     * The task lists of one stripe and the lock guarding them and their tasks.
+     */
+    private static final class Stripe {
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        /** Serializes rank reads followed by writes with rebalancing of the stripe's lists. */
+        final ReentrantLock rankLock = new ReentrantLock();
+        final LongMap<ListNode> lists = new LongMap<>();
+    }
+
+    /**
+     * A task list and its tasks, guarded by the lock of its stripe.
+     */
+    private static final class ListNode {
+        final long id;
+        final String name;
+        final LongMap<TaskRecord> tasks = new LongMap<>();
+        final TreeSet<TaskRecord> ordered = new TreeSet<>(RANK_ORDER);
+
+        ListNode(long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        void add(TaskRecord task) {
+            tasks.put(task.id(), task);
+            ordered.add(task);
+        }
+
+        void remove(TaskRecord task) {
+            tasks.remove(task.id());
+            ordered.remove(task);
+        }
+
+        void replace(TaskRecord current, TaskRecord updated) {
+            remove(current);
+            add(updated);
+        }
+
+        void clear() {
+            tasks.clear();
+            ordered.clear();
+        }
+
+        void addRows(List<TaskListRow> rows) {
+            if (ordered.isEmpty()) {
+                rows.add(new TaskListRow(id, name, null, null, null));
+            }
+            for (TaskRecord task : ordered) {
+                rows.add(new TaskListRow(id, name, task.id(), task.name(), task.description()));
+            }
+        }
+
+        TaskList toTaskList() {
+            TaskList taskList = new TaskList();
+            taskList.setId(id);
+            taskList.setName(name);
+            taskList.setVersion(0L);
+            return taskList;
+        }
+    }
+}
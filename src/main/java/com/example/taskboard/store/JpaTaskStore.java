@@ -0,0 +1,480 @@
+package com.example.taskboard.store;
+
+import com.example.taskboard.board.BoardContext;
+import com.example.taskboard.dto.ListRankKey;
+import com.example.taskboard.dto.RankGap;
+import com.example.taskboard.dto.RankedTaskItem;
+import com.example.taskboard.dto.TaskBatchResult;
+import com.example.taskboard.dto.TaskDetails;
+import com.example.taskboard.dto.TaskFilter;
+import com.example.taskboard.dto.TaskImportItem;
+import com.example.taskboard.dto.TaskItem;
+import com.example.taskboard.dto.TaskLifecycle;
+import com.example.taskboard.dto.TaskListRef;
+import com.example.taskboard.dto.TaskListRow;
+import com.example.taskboard.dto.TaskListSummary;
+import com.example.taskboard.dto.TaskOverview;
+import com.example.taskboard.model.Task;
+import com.example.taskboard.model.TaskList;
+import com.example.taskboard.repository.TaskListRepository;
+import com.example.taskboard.repository.TaskRepository;
+import com.example.taskboard.repository.TaskSpecifications;
+import com.example.taskboard.service.RankKeys;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Task store keeping the board in the database, through the Spring Data repositories.
+ * <p>
+ * Writes are single set-based statements wherever possible, so no entity is loaded to change it.
+ * Bulk inserts and rank rebalancing go through JDBC: {@code Task} IDs come from an identity column,
+ * which prevents Hibernate from batching inserts. Hibernate restricts every query to the current
+ * board; the JDBC statements do so explicitly. This is the default engine.
+ */
+@Repository
+@ConditionalOnProperty(name = "taskboard.store.engine", havingValue = "jpa", matchIfMissing = true)
+public class JpaTaskStore implements TaskStore {
+    private static final Logger logger = LoggerFactory.getLogger(JpaTaskStore.class);
+
+    private static final String INSERT_TASK_SQL =
+            "INSERT INTO task (name, description, task_list_id, rank_key, board_id) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SELECT_RANKS_SQL =
+            "SELECT id, rank_key FROM task WHERE task_list_id = ? AND board_id = ? ORDER BY rank_key, id FOR UPDATE";
+
+    private static final String LOCK_LIST_SQL = "SELECT id FROM task_list WHERE id = ? AND board_id = ? FOR UPDATE";
+
+    private static final String UPDATE_RANK_SQL = "UPDATE task SET rank_key = ? WHERE id = ?";
+
+    /** Moves a task and returns it as written, joined with the name of its new list. */
+    private static final String MOVE_TASK_SQL = "SELECT t.id, t.name, t.description, t.version, l.id, l.name "
+            + "FROM FINAL TABLE (UPDATE task SET task_list_id = ?, rank_key = ?, version = version + 1 "
+            + "WHERE id = ? AND board_id = ? AND (CAST(? AS BIGINT) IS NULL OR version = ?)) t "
+            + "JOIN task_list l ON l.id = t.task_list_id AND l.board_id = t.board_id";
+
+    private static final String LOCK_TASKS_SQL = "SELECT id FROM task WHERE board_id = ? AND id IN (%s) FOR UPDATE";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** Most task IDs bound into one {@code IN} list by the batch operations. */
+    @Value("${taskboard.batch.chunk-size:1000}")
+    private int batchChunkSize = 1000;
+
+    @Override
+    public Optional<TaskList> findTaskList(Long listId) {
+        return taskListRepository.findById(listId);
+    }
+
+    /**
+     * Retrieves the task list reference through the task list cache.
+     */
+    @Override
+    public Optional<TaskListRef> findTaskListRef(Long listId) {
+        return taskListRepository.findRefById(listId);
+    }
+
+    @Override
+    public List<Long> findExistingTaskListIds(Collection<Long> listIds) {
+        return taskListRepository.findExistingIds(listIds);
+    }
+
+    /**
+     * Reads every task list joined with its tasks in a single query.
+     */
+    @Override
+    public List<TaskListRow> findAllRows() {
+        return taskListRepository.findAllRows();
+    }
+
+    /**
+     * Reads the page with two queries, one for the IDs and one for the lists joined with their
+     * tasks, whatever the number of lists on it.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskListRow> findRowsAfter(long after, int limit) {
+        List<Long> ids = taskListRepository.findIdsAfter(after, Limit.of(limit));
+        return ids.isEmpty() ? List.of() : taskListRepository.findRowsByListIdIn(ids);
+    }
+
+    /**
+     * Aggregates the task counts in SQL, so the tasks themselves are never loaded.
+     */
+    @Override
+    public List<TaskListSummary> findSummariesAfter(long after, int limit) {
+        return taskListRepository.findSummariesAfter(after, Limit.of(limit));
+    }
+
+    @Override
+    public TaskList createTaskList(String name) {
+        TaskList taskList = new TaskList();
+        taskList.setName(name);
+        return taskListRepository.save(taskList);
+    }
+
+    /**
+     * Deletes the tasks and then the list with two set-based DELETE statements in one transaction,
+     * so the cost does not grow with one statement per task.
+     */
+    @Override
+    @Transactional
+    public boolean deleteTaskList(Long listId) {
+        int deletedTasks = taskRepository.deleteAllByTaskListId(listId);
+        if (taskListRepository.deleteListById(listId) == 0) {
+            return false;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Deleted task list ID: {} with {} tasks", listId, deletedTasks);
+        }
+        return true;
+    }
+
+    /**
+     * Streams the task lists with a forward-only query, clearing the persistence context as rows
+     * are consumed so memory use does not grow with the size of the board.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachTaskList(Consumer<TaskListRef> action) {
+        try (Stream<TaskList> taskLists = taskListRepository.streamAll()) {
+            forEachStreamed(taskLists, taskList -> action.accept(new TaskListRef(taskList.getId(), taskList.getName())));
+        }
+    }
+
+    @Override
+    public Optional<TaskDetails> findTaskDetails(Long taskId) {
+        return taskRepository.findDetailsById(taskId);
+    }
+
+    @Override
+    public boolean taskExists(Long taskId) {
+        return taskRepository.existsById(taskId);
+    }
+
+    /**
+     * Reads the page with a single query through the {@code (task_list_id, rank_key)} index.
+     */
+    @Override
+    public List<TaskItem> findTaskItems(Long listId, Long after, int limit) {
+        return after == null
+                ? taskRepository.findItemsByListId(listId, Limit.of(limit))
+                : taskRepository.findItemsByListIdAfter(listId, after, Limit.of(limit));
+    }
+
+    @Override
+    public List<TaskItem> findAllTaskItems(Long listId) {
+        return taskRepository.findItemsByListId(listId, Limit.unlimited());
+    }
+
+    /**
+     * Retrieves every task of a task list in rank order with its rank key.
+     *
+     * @param listId the ID of the task list
+     * @return the tasks, ordered by rank key and ID
+     */
+    public List<RankedTaskItem> findRankedTaskItems(Long listId) {
+        return taskRepository.findRankedItemsByListId(listId);
+    }
+
+    /**
+     * Reads the page with one Criteria query over the lifecycle indexes; see {@link TaskSpecifications}.
+     */
+    @Override
+    public List<TaskOverview> findTasks(TaskFilter filter, Long after, int limit) {
+        return taskRepository.findOverviews(TaskSpecifications.matching(filter), after, limit);
+    }
+
+    @Override
+    public Task createTask(Task task) {
+        return taskRepository.save(task);
+    }
+
+    /**
+     * Inserts the tasks with one JDBC batch.
+     */
+    @Override
+    @Transactional
+    public List<Long> insertTasks(List<TaskImportItem> items, List<String> rankKeys) {
+        String board = BoardContext.current();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_TASK_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        TaskImportItem item = items.get(i);
+                        ps.setString(1, item.name());
+                        ps.setString(2, item.description());
+                        ps.setLong(3, item.listId());
+                        ps.setString(4, rankKeys.get(i));
+                        ps.setString(5, board);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return items.size();
+                    }
+                },
+                keyHolder);
+        List<Long> taskIds = new ArrayList<>(items.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            taskIds.add(((Number) keys.values().iterator().next()).longValue());
+        }
+        return taskIds;
+    }
+
+    /**
+     * Updates the task with a single UPDATE statement.
+     */
+    @Override
+    public int updateTask(Long taskId, String name, String description, Long expectedVersion) {
+        return taskRepository.updateDetails(taskId, name, description, expectedVersion);
+    }
+
+    @Override
+    public int updateLifecycle(Long taskId, TaskLifecycle lifecycle, Long expectedVersion) {
+        return taskRepository.updateLifecycle(taskId, lifecycle.status(), lifecycle.priority(), lifecycle.dueDate(),
+                lifecycle.assignee(), expectedVersion);
+    }
+
+    /**
+     * Writes the state a task was given through the {@link WriteBehindTaskStore} with a single
+     * UPDATE, provided nothing else changed the task since that state was derived.
+     *
+     * @param task the state to write, with the version to give the task
+     * @param rankKey the rank key of the task, or {@code null} to keep the current one
+     * @param expectedVersion the version the task must still have
+     * @return 1 if the task exists at the expected version, 0 otherwise
+     */
+    public int writeBack(TaskDetails task, String rankKey, long expectedVersion) {
+        return taskRepository.writeBack(task.id(), task.name(), task.description(), task.taskList().id(),
+                rankKey, task.version(), expectedVersion);
+    }
+
+    @Override
+    public boolean deleteTask(Long taskId) {
+        if (!taskRepository.existsById(taskId)) {
+            return false;
+        }
+        taskRepository.deleteById(taskId);
+        return true;
+    }
+
+    /**
+     * Moves the task with a single UPDATE statement, which also returns the task as written, so it is
+     * not read again. A missing task list, or one on another board, is detected from the violation
+     * of the foreign key on {@code (task_list_id, board_id)}, so neither entity is loaded.
+     */
+    @Override
+    public Optional<TaskDetails> moveTaskToRank(Long taskId, Long listId, String rankKey, Long expectedVersion) {
+        return jdbcTemplate.query(MOVE_TASK_SQL,
+                (row, index) -> new TaskDetails(row.getLong(1), row.getString(2), row.getString(3), row.getLong(4),
+                        new TaskListRef(row.getLong(5), row.getString(6))),
+                listId, rankKey, taskId, BoardContext.current(), expectedVersion, expectedVersion).stream().findFirst();
+    }
+
+    /**
+     * Moves the tasks in one transaction, with one lookup, one JDBC batch writing the rank keys and
+     * one set-based UPDATE per chunk of IDs.
+     */
+    @Override
+    @Transactional
+    public TaskBatchResult moveTasks(List<Long> taskIds, Long listId, List<String> rankKeys) {
+        Map<Long, String> keys = new HashMap<>();
+        for (int i = 0; i < taskIds.size(); i++) {
+            keys.put(taskIds.get(i), rankKeys.get(i));
+        }
+        return inChunks(taskIds, chunk -> {
+            jdbcTemplate.batchUpdate(UPDATE_RANK_SQL,
+                    chunk.stream().map(taskId -> new Object[]{keys.get(taskId), taskId}).toList());
+            return taskRepository.moveAllToList(chunk, listId);
+        });
+    }
+
+    /**
+     * Updates the tasks in one transaction, with one lookup and one set-based UPDATE per chunk of IDs.
+     */
+    @Override
+    @Transactional
+    public TaskBatchResult updateTasks(List<Long> taskIds, String name, String description) {
+        return inChunks(taskIds, chunk -> taskRepository.updateAllDetails(chunk, name, description));
+    }
+
+    /**
+     * Deletes the tasks in one transaction, with one lookup and one set-based DELETE per chunk of IDs.
+     */
+    @Override
+    @Transactional
+    public TaskBatchResult deleteTasks(List<Long> taskIds) {
+        return inChunks(taskIds, taskRepository::deleteAllByIdIn);
+    }
+
+    /**
+     * Streams the tasks with a forward-only query, clearing the persistence context as rows are
+     * consumed so memory use does not grow with the size of the board.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachTask(Consumer<TaskListRow> action) {
+        try (Stream<Task> tasks = taskRepository.streamAll()) {
+            forEachStreamed(tasks, task -> action.accept(new TaskListRow(task.getTaskList().getId(),
+                    task.getTaskList().getName(), task.getId(), task.getName(), task.getDescription())));
+        }
+    }
+
+    @Override
+    public String findLastRankKey(Long listId) {
+        return taskRepository.findLastRankKey(listId);
+    }
+
+    @Override
+    public List<ListRankKey> findLastRankKeys(Collection<Long> listIds) {
+        return taskRepository.findLastRankKeys(listIds);
+    }
+
+    @Override
+    public Optional<RankGap> findGapAfter(Long listId, Long anchorId, Long taskId) {
+        return taskRepository.findGapAfter(listId, anchorId, taskId);
+    }
+
+    @Override
+    public Optional<RankGap> findGapBefore(Long listId, Long anchorId, Long taskId) {
+        return taskRepository.findGapBefore(listId, anchorId, taskId);
+    }
+
+    /**
+     * Runs the action in one transaction holding the task list's row lock, which rebalancing takes too.
+     */
+    @Override
+    @Transactional
+    public <T> T withRankLock(Long listId, Supplier<T> action) {
+        lockList(listId);
+        return action.get();
+    }
+
+    @Override
+    public List<Long> findListIdsToRebalance(int maxLength) {
+        return taskRepository.findListIdsToRebalance(maxLength);
+    }
+
+    /**
+     * Locks the task list's row and then its tasks with {@code SELECT ... FOR UPDATE} and writes the
+     * changed keys with one JDBC batch.
+     */
+    @Override
+    @Transactional
+    public int rebalanceRanks(Long listId) {
+        lockList(listId);
+        List<Long> taskIds = new ArrayList<>();
+        List<String> currentKeys = new ArrayList<>();
+        jdbcTemplate.query(SELECT_RANKS_SQL, row -> {
+            taskIds.add(row.getLong(1));
+            currentKeys.add(row.getString(2));
+        }, listId, BoardContext.current());
+        List<String> keys = RankKeys.between(null, RankKeys.MIDDLE, taskIds.size());
+        List<Object[]> updates = new ArrayList<>();
+        for (int i = 0; i < taskIds.size(); i++) {
+            if (!Objects.equals(keys.get(i), currentKeys.get(i))) {
+                updates.add(new Object[]{keys.get(i), taskIds.get(i)});
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_RANK_SQL, updates);
+        }
+        return updates.size();
+    }
+
+    private void lockList(Long listId) {
+        jdbcTemplate.queryForList(LOCK_LIST_SQL, Long.class, listId, BoardContext.current());
+    }
+
+    /**
+     * Applies a set-based statement to the existing tasks among the given IDs, at most
+     * {@code batchChunkSize} IDs at a time so every {@code IN} list stays within the driver's
+     * parameter limit. The tasks of a chunk are locked with {@code SELECT ... FOR UPDATE} when they
+     * are looked up, so a concurrent delete cannot make a task reported as succeeded miss the
+     * statement; the affected-row count is checked against the lookup all the same.
+     */
+    private TaskBatchResult inChunks(List<Long> taskIds, ToIntFunction<List<Long>> statement) {
+        List<Long> succeeded = new ArrayList<>(taskIds.size());
+        List<Long> notFound = new ArrayList<>();
+        for (int from = 0; from < taskIds.size(); from += batchChunkSize) {
+            List<Long> chunk = taskIds.subList(from, Math.min(from + batchChunkSize, taskIds.size()));
+            Set<Long> existing = new HashSet<>(lockTasks(chunk));
+            List<Long> found = new ArrayList<>(existing.size());
+            for (Long taskId : chunk) {
+                (existing.contains(taskId) ? found : notFound).add(taskId);
+            }
+            if (!found.isEmpty()) {
+                int affected = statement.applyAsInt(found);
+                if (affected != found.size()) {
+                    throw new IllegalStateException("Batch statement changed " + affected + " of "
+                            + found.size() + " locked tasks");
+                }
+                succeeded.addAll(found);
+            }
+        }
+        return new TaskBatchResult(succeeded, notFound);
+    }
+
+    private List<Long> lockTasks(List<Long> taskIds) {
+        Object[] args = new Object[taskIds.size() + 1];
+        args[0] = BoardContext.current();
+        for (int i = 0; i < taskIds.size(); i++) {
+            args[i + 1] = taskIds.get(i);
+        }
+        String sql = LOCK_TASKS_SQL.formatted(String.join(", ", Collections.nCopies(taskIds.size(), "?")));
+        return jdbcTemplate.queryForList(sql, Long.class, args);
+    }
+
+    private <T> void forEachStreamed(Stream<T> rows, Consumer<T> action) {
+        long count = 0;
+        for (T row : (Iterable<T>) rows::iterator) {
+            action.accept(row);
+            if (++count % TaskRepository.STREAM_FETCH_SIZE == 0) {
+                // Drop the rows consumed so far so the persistence context stays bounded
+                entityManager.clear();
+            }
+        }
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.taskboard.store;
+
+import java.util.function.Consumer;
+
+/**
+ * Hash map from positive {@code long} keys to objects, using open addressing with linear probing.
+ * <p>
+ * Keys are stored in a primitive array, so lookups neither box the key nor allocate, and the map
+ * costs two array slots per entry instead of a node object. Key {@code 0} marks a free slot and
+ * cannot be stored, which suits database-style IDs starting at 1. Not thread-safe.
+ *
+ * @param <V> the value type
+ */
+final class LongMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+
+    private Object[] values;
+
+    private int size;
+
+    /**
+     * Creates an empty map.
+     */
+    LongMap() {
+        clear();
+    }
+
+    /**
+     * @param key the key
+     * @return the value stored under {@code key}, or {@code null} if there is none
+     */
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int slot = find(key);
+        return slot < 0 ? null : (V) values[slot];
+    }
+
+    /**
+     * Stores a value, replacing any value already stored under the key.
+     *
+     * @param key the key; must be positive
+     * @param value the value; must not be {@code null}
+     * @return the value previously stored under {@code key}, or {@code null} if there was none
+     * @throws IllegalArgumentException if {@code key} is not positive
+     */
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Key must be positive: " + key);
+        }
+        int mask = keys.length - 1;
+        int slot = indexOf(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        // Keep the load factor at or below one half so probe sequences stay short
+        if (++size * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the value stored under a key.
+     *
+     * @param key the key
+     * @return the removed value, or {@code null} if there was none
+     */
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        V previous = (V) values[slot];
+        int mask = keys.length - 1;
+        // Shift later entries of the probe sequence back so that no lookup stops at the hole
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != 0) {
+            int home = indexOf(keys[next], mask);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = 0;
+        values[hole] = null;
+        size--;
+        return previous;
+    }
+
+    /**
+     * @return the number of entries
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Passes every value to an action, in no particular order.
+     *
+     * @param action the action
+     */
+    @SuppressWarnings("unchecked")
+    void forEachValue(Consumer<? super V> action) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                action.accept((V) values[slot]);
+            }
+        }
+    }
+
+    /**
+     * Removes every entry and releases the storage.
+     */
+    void clear() {
+        keys = new long[MIN_CAPACITY];
+        values = new Object[MIN_CAPACITY];
+        size = 0;
+    }
+
+    private int find(long key) {
+        if (key <= 0) {
+            return -1;
+        }
+        int mask = keys.length - 1;
+        int slot = indexOf(key, mask);
+        while (keys[slot] != 0) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = indexOf(oldKeys[i], mask);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Spreads sequential IDs over the table with a Fibonacci hash.
+     */
+    private static int indexOf(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.taskboard.store;
+
+import com.example.taskboard.dto.TaskLifecycle;
+import com.example.taskboard.dto.TaskOverview;
+import com.example.taskboard.model.TaskPriority;
+import com.example.taskboard.model.TaskStatus;
+
+import java.time.LocalDate;
+
+/**
+ * A task held by the in-memory task store, replaced as a whole on every change.
+ */
+record TaskRecord(long id, String name, String description, long version, String rankKey,
+                  TaskStatus status, TaskPriority priority, LocalDate dueDate, String assignee) {
+
+    /**
+     * A task as created: at version 0, open, of medium priority, without a due date or assignee.
+     */
+    TaskRecord(long id, String name, String description, String rankKey) {
+        this(id, name, description, 0, rankKey, TaskStatus.TODO, TaskPriority.MEDIUM, null, null);
+    }
+
+    /**
+     * @return this task with a new name and description, at the next version
+     */
+    TaskRecord updated(String name, String description) {
+        return new TaskRecord(id, name, description, version + 1, rankKey, status, priority, dueDate, assignee);
+    }
+
+    /**
+     * @param rankKey the new rank key, or {@code null} to keep the current one
+     * @return this task after a move, at the next version
+     */
+    TaskRecord moved(String rankKey) {
+        return new TaskRecord(id, name, description, version + 1, rankKey == null ? this.rankKey : rankKey,
+                status, priority, dueDate, assignee);
+    }
+
+    /**
+     * @return this task with a new rank key and the same version, as left by rebalancing
+     */
+    TaskRecord reranked(String rankKey) {
+        return new TaskRecord(id, name, description, version, rankKey, status, priority, dueDate, assignee);
+    }
+
+    /**
+     * @return this task with new lifecycle fields, at the next version
+     */
+    TaskRecord withLifecycle(TaskLifecycle lifecycle) {
+        return new TaskRecord(id, name, description, version + 1, rankKey, lifecycle.status(), lifecycle.priority(),
+                lifecycle.dueDate(), lifecycle.assignee());
+    }
+
+    TaskOverview toOverview(long listId) {
+        return new TaskOverview(id, name, description, version, status, priority, dueDate, assignee, listId);
+    }
+}
@@ -0,0 +1,313 @@
+package com.example.taskboard.store;
+
+import com.example.taskboard.dto.ListRankKey;
+import com.example.taskboard.dto.RankGap;
+import com.example.taskboard.dto.TaskBatchResult;
+import com.example.taskboard.dto.TaskDetails;
+import com.example.taskboard.dto.TaskFilter;
+import com.example.taskboard.dto.TaskImportItem;
+import com.example.taskboard.dto.TaskItem;
+import com.example.taskboard.dto.TaskLifecycle;
+import com.example.taskboard.dto.TaskListRef;
+import com.example.taskboard.dto.TaskListRow;
+import com.example.taskboard.dto.TaskListSummary;
+import com.example.taskboard.dto.TaskOverview;
+import com.example.taskboard.model.Task;
+import com.example.taskboard.model.TaskList;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Storage engine behind the board services.
+ * <p>
+ * Every method is atomic on its own; callers that combine several calls get no isolation between
+ * them. The engine is chosen with {@code taskboard.store.engine}: {@code jpa} (the default) keeps
+ * the board in the database through {@link JpaTaskStore}, {@code memory} keeps it in the heap
+ * through {@link InMemoryTaskStore}. With {@code taskboard.write-behind.enabled=true} the JPA engine
+ * is fronted by a {@link WriteBehindTaskStore}.
+ * <p>
+ * Tasks within a list are ordered by rank key, then ID. Row-returning methods follow that order;
+ * filtered task listings span lists and are ordered by ID.
+ */
+public interface TaskStore {
+
+    /**
+     * Retrieves a task list without its tasks.
+     *
+     * @param listId the ID of the task list
+     * @return the task list, or empty if it does not exist
+     */
+    Optional<TaskList> findTaskList(Long listId);
+
+    /**
+     * Retrieves the ID and name of a task list, for existence checks and names that need no entity.
+     *
+     * @param listId the ID of the task list
+     * @return the task list reference, or empty if it does not exist
+     */
+    Optional<TaskListRef> findTaskListRef(Long listId);
+
+    /**
+     * Retrieves which of the given task list IDs exist.
+     *
+     * @param listIds the task list IDs to check
+     * @return the subset of {@code listIds} that refer to existing task lists
+     */
+    List<Long> findExistingTaskListIds(Collection<Long> listIds);
+
+    /**
+     * Retrieves every task list joined with its tasks.
+     *
+     * @return one row per task, or per empty task list, ordered by task list, then task rank
+     */
+    List<TaskListRow> findAllRows();
+
+    /**
+     * Retrieves the next page of task lists after a cursor, joined with their tasks.
+     *
+     * @param after the task list ID to continue after (exclusive)
+     * @param limit the maximum number of task lists to return
+     * @return one row per task, or per empty task list, ordered by task list, then task rank
+     */
+    List<TaskListRow> findRowsAfter(long after, int limit);
+
+    /**
+     * Retrieves the next page of task list summaries after a cursor.
+     *
+     * @param after the task list ID to continue after (exclusive)
+     * @param limit the maximum number of summaries to return
+     * @return summaries of task lists with an ID greater than {@code after}, in ascending ID order
+     */
+    List<TaskListSummary> findSummariesAfter(long after, int limit);
+
+    /**
+     * Creates a task list.
+     *
+     * @param name the name of the task list
+     * @return the created task list, with its ID assigned
+     */
+    TaskList createTaskList(String name);
+
+    /**
+     * Deletes a task list and all its tasks.
+     *
+     * @param listId the ID of the task list
+     * @return {@code true} if the task list existed
+     */
+    boolean deleteTaskList(Long listId);
+
+    /**
+     * Passes every task list, in ascending ID order, to an action.
+     *
+     * @param action the action
+     */
+    void forEachTaskList(Consumer<TaskListRef> action);
+
+    /**
+     * Retrieves a task and the name of its task list.
+     *
+     * @param taskId the ID of the task
+     * @return the task, or empty if it does not exist
+     */
+    Optional<TaskDetails> findTaskDetails(Long taskId);
+
+    /**
+     * @param taskId the ID of a task
+     * @return whether the task exists
+     */
+    boolean taskExists(Long taskId);
+
+    /**
+     * Retrieves the tasks of a task list in rank order, starting after a cursor task.
+     *
+     * @param listId the ID of the task list
+     * @param after the ID of the task to continue after (exclusive), or {@code null} to start at the beginning
+     * @param limit the maximum number of tasks to return
+     * @return the tasks, in rank order
+     */
+    List<TaskItem> findTaskItems(Long listId, Long after, int limit);
+
+    /**
+     * Retrieves every task of a task list in rank order, including acknowledged changes that are
+     * not written yet, without waiting for them to be written.
+     *
+     * @param listId the ID of the task list
+     * @return the tasks of the list; empty if the list does not exist
+     */
+    List<TaskItem> findAllTaskItems(Long listId);
+
+    /**
+     * Retrieves the tasks of the board that match a filter, in ID order, starting after a cursor task.
+     *
+     * @param filter the conditions the tasks must meet
+     * @param after the ID of the task to continue after (exclusive), or {@code null} to start at the beginning
+     * @param limit the maximum number of tasks to return
+     * @return the matching tasks, in ascending ID order
+     */
+    List<TaskOverview> findTasks(TaskFilter filter, Long after, int limit);
+
+    /**
+     * Creates a task in the task list it refers to.
+     *
+     * @param task the task to create; its task list must exist and its rank key must be set
+     * @return the created task, with its ID and version assigned
+     */
+    Task createTask(Task task);
+
+    /**
+     * Creates many tasks at once.
+     *
+     * @param items the tasks to create; every referenced task list must exist
+     * @param rankKeys the rank key of each item, in the same order
+     * @return the IDs of the created tasks, in the order of {@code items}
+     * @throws org.springframework.dao.DataIntegrityViolationException if a task list does not exist,
+     *         in which case no task is created
+     */
+    List<Long> insertTasks(List<TaskImportItem> items, List<String> rankKeys);
+
+    /**
+     * Changes the name and description of a task and increments its version.
+     *
+     * @param taskId the ID of the task
+     * @param name the new name
+     * @param description the new description
+     * @param expectedVersion the version the task must still have, or {@code null} to update it unconditionally
+     * @return 1 if the task exists (at the expected version), 0 otherwise
+     */
+    int updateTask(Long taskId, String name, String description, Long expectedVersion);
+
+    /**
+     * Replaces the status, priority, due date and assignee of a task and increments its version.
+     *
+     * @param taskId the ID of the task
+     * @param lifecycle the new lifecycle fields
+     * @param expectedVersion the version the task must still have, or {@code null} to update it unconditionally
+     * @return 1 if the task exists (at the expected version), 0 otherwise
+     */
+    int updateLifecycle(Long taskId, TaskLifecycle lifecycle, Long expectedVersion);
+
+    /**
+     * Deletes a task.
+     *
+     * @param taskId the ID of the task
+     * @return {@code true} if the task existed
+     */
+    boolean deleteTask(Long taskId);
+
+    /**
+     * Moves a task to a position in a task list and increments its version. No other task is changed.
+     *
+     * @param taskId the ID of the task
+     * @param listId the ID of the target task list
+     * @param rankKey the rank key of the new position
+     * @param expectedVersion the version the task must still have, or {@code null} to move it unconditionally
+     * @return the task as moved, with its new version, or empty if the task does not exist (at the expected version)
+     * @throws org.springframework.dao.DataIntegrityViolationException if the task list does not exist
+     */
+    Optional<TaskDetails> moveTaskToRank(Long taskId, Long listId, String rankKey, Long expectedVersion);
+
+    /**
+     * Moves many tasks to a task list, giving each the rank key at the same index, and increments their versions.
+     *
+     * @param taskIds the distinct IDs of the tasks
+     * @param listId the ID of the target task list
+     * @param rankKeys the new rank keys, one per task
+     * @return which tasks were moved and which were not found
+     * @throws org.springframework.dao.DataIntegrityViolationException if the task list does not exist
+     */
+    TaskBatchResult moveTasks(List<Long> taskIds, Long listId, List<String> rankKeys);
+
+    /**
+     * Gives many tasks the same name and description and increments their versions.
+     *
+     * @param taskIds the distinct IDs of the tasks
+     * @param name the new name
+     * @param description the new description
+     * @return which tasks were updated and which were not found
+     */
+    TaskBatchResult updateTasks(List<Long> taskIds, String name, String description);
+
+    /**
+     * Deletes many tasks.
+     *
+     * @param taskIds the distinct IDs of the tasks
+     * @return which tasks were deleted and which were not found
+     */
+    TaskBatchResult deleteTasks(List<Long> taskIds);
+
+    /**
+     * Passes every task, ordered by task list and task ID, to an action.
+     *
+     * @param action the action, given one row per task
+     */
+    void forEachTask(Consumer<TaskListRow> action);
+
+    /**
+     * Retrieves the greatest rank key of a task list.
+     *
+     * @param listId the ID of the task list
+     * @return the last key, or {@code null} if the list has no ranked tasks
+     */
+    String findLastRankKey(Long listId);
+
+    /**
+     * Retrieves the greatest rank key of each of the given task lists.
+     *
+     * @param listIds the IDs of the task lists
+     * @return one entry per list that has ranked tasks
+     */
+    List<ListRankKey> findLastRankKeys(Collection<Long> listIds);
+
+    /**
+     * Retrieves the keys around the position directly after an anchor task, ignoring the task being placed,
+     * and whether another task shares the anchor's key.
+     *
+     * @param listId the ID of the task list the anchor must belong to
+     * @param anchorId the ID of the task to place after
+     * @param taskId the ID of the task being placed
+     * @return the anchor's key and the next greater key, or empty if the anchor is not in the list
+     */
+    Optional<RankGap> findGapAfter(Long listId, Long anchorId, Long taskId);
+
+    /**
+     * Retrieves the keys around the position directly before an anchor task, ignoring the task being placed,
+     * and whether another task shares the anchor's key.
+     *
+     * @param listId the ID of the task list the anchor must belong to
+     * @param anchorId the ID of the task to place before
+     * @param taskId the ID of the task being placed
+     * @return the next smaller key and the anchor's key, or empty if the anchor is not in the list
+     */
+    Optional<RankGap> findGapBefore(Long listId, Long anchorId, Long taskId);
+
+    /**
+     * Runs an action that reads rank keys of a task list and writes a key derived from them, so that
+     * no rebalance of the list runs in between and leaves the written key out of order.
+     *
+     * @param listId the ID of the task list
+     * @param action the action
+     * @return the action's result
+     */
+    <T> T withRankLock(Long listId, Supplier<T> action);
+
+    /**
+     * Retrieves the task lists holding tasks without a rank key or with a key longer than the given length.
+     *
+     * @param maxLength the longest acceptable key
+     * @return the IDs of the task lists to rebalance
+     */
+    List<Long> findListIdsToRebalance(int maxLength);
+
+    /**
+     * Rewrites the rank keys of a task list with evenly spread short keys, keeping the current order.
+     * Holds the list's rank lock while doing so.
+     *
+     * @param listId the ID of the task list
+     * @return the number of tasks whose key changed
+     */
+    int rebalanceRanks(Long listId);
+}
@@ -0,0 +1,603 @@
+package com.example.taskboard.store;
+
+import com.example.taskboard.board.BoardContext;
+import com.example.taskboard.config.CacheConfig;
+import com.example.taskboard.dto.ListRankKey;
+import com.example.taskboard.dto.RankGap;
+import com.example.taskboard.dto.RankedTaskItem;
+import com.example.taskboard.dto.TaskBatchResult;
+import com.example.taskboard.dto.TaskDetails;
+import com.example.taskboard.dto.TaskFilter;
+import com.example.taskboard.dto.TaskImportItem;
+import com.example.taskboard.dto.TaskItem;
+import com.example.taskboard.dto.TaskLifecycle;
+import com.example.taskboard.dto.TaskListRef;
+import com.example.taskboard.dto.TaskListRow;
+import com.example.taskboard.dto.TaskListSummary;
+import com.example.taskboard.dto.TaskOverview;
+import com.example.taskboard.model.Task;
+import com.example.taskboard.model.TaskList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind task store in front of the {@link JpaTaskStore}, for boards where tasks are edited
+ * and moved far more often than the database can commit.
+ * <p>
+ * Updates and moves of single tasks are validated against the current state of the task, queued
+ * per board and acknowledged without touching the database. Repeated changes to the same task
+ * are coalesced into its final state, and a background writer flushes each board's queue in one
+ * transaction, with one UPDATE per task that writes the version the last change was acknowledged
+ * with. Versions, conflicts and change events therefore behave exactly as without the queue.
+ * <p>
+ * Reads of a single task see its queued state. Every other read and write of the board first
+ * flushes its queue, so lists, pages, searches, exports and rank lookups see every acknowledged
+ * change, and set-based writes never race a queued one. The exception is the last rank key of a
+ * list, read on every move to the end of a list, which combines the queue and the database instead
+ * so such moves stay queued, and the full task lists read to refresh board snapshots, which overlay
+ * the queue on the database. Creating a task is not deferred: its ID
+ * comes from an identity column. Nor are lifecycle changes, which are rare next to edits and
+ * moves. A board whose queue is full is flushed by the next writer before it queues its change,
+ * and every queue is flushed on shutdown.
+ * <p>
+ * Acknowledged changes are lost if the process dies before they are flushed. Enabled with
+ * {@code taskboard.write-behind.enabled=true} on the JPA engine.
+ */
+@Primary
+@Repository
+@ConditionalOnExpression("${taskboard.write-behind.enabled:false} and '${taskboard.store.engine:jpa}' == 'jpa'")
+public class WriteBehindTaskStore implements TaskStore {
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindTaskStore.class);
+
+    /** Read in place of the queue of a board that has none; never written. */
+    private static final BoardQueue EMPTY = new BoardQueue();
+
+    private final Map<String, BoardQueue> queues = new ConcurrentHashMap<>();
+
+    @Autowired
+    private JpaTaskStore delegate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** Most tasks with queued changes per board before writers flush the queue themselves. */
+    @Value("${taskboard.write-behind.max-pending:10000}")
+    private int maxPending = 10000;
+
+    private Timer flushTimer;
+
+    private Counter dropped;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("taskboard.write-behind.pending", queues, WriteBehindTaskStore::pendingCount)
+                .description("Tasks with changes acknowledged but not yet written to the database")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("taskboard.write-behind.flush")
+                .description("Time taken to write a board's queued changes to the database")
+                .register(meterRegistry);
+        dropped = Counter.builder("taskboard.write-behind.dropped")
+                .description("Queued changes discarded because the task was changed or deleted elsewhere")
+                .register(meterRegistry);
+        logger.info("Queuing task updates and moves for write-behind, at most {} tasks per board", maxPending);
+    }
+
+    /**
+     * Flushes the queues of every board in the background.
+     */
+    @Scheduled(fixedDelayString = "${taskboard.write-behind.flush-delay-millis:50}")
+    public void flushAll() {
+        for (Map.Entry<String, BoardQueue> entry : queues.entrySet()) {
+            try (BoardContext.Scope scope = BoardContext.open(entry.getKey())) {
+                flush(entry.getValue());
+            } catch (RuntimeException ex) {
+                logger.error("Could not flush the write-behind queue of board {}", entry.getKey(), ex);
+            }
+        }
+    }
+
+    /**
+     * Writes every queued change to the database before the application stops.
+     */
+    @PreDestroy
+    void drain() {
+        int pending = pendingCount(queues);
+        flushAll();
+        logger.info("Flushed {} queued task changes on shutdown", pending);
+    }
+
+    /**
+     * Writes the queued changes of the current board to the database, waiting for a flush already
+     * in progress. Returns once every change acknowledged before the call is written.
+     */
+    public void flush() {
+        BoardQueue queue = queues.get(BoardContext.current());
+        if (queue != null) {
+            flush(queue);
+        }
+    }
+
+    @Override
+    public Optional<TaskList> findTaskList(Long listId) {
+        return delegate.findTaskList(listId);
+    }
+
+    @Override
+    public Optional<TaskListRef> findTaskListRef(Long listId) {
+        return delegate.findTaskListRef(listId);
+    }
+
+    @Override
+    public List<Long> findExistingTaskListIds(Collection<Long> listIds) {
+        return delegate.findExistingTaskListIds(listIds);
+    }
+
+    @Override
+    public List<TaskListRow> findAllRows() {
+        flush();
+        return delegate.findAllRows();
+    }
+
+    @Override
+    public List<TaskListRow> findRowsAfter(long after, int limit) {
+        flush();
+        return delegate.findRowsAfter(after, limit);
+    }
+
+    @Override
+    public List<TaskListSummary> findSummariesAfter(long after, int limit) {
+        flush();
+        return delegate.findSummariesAfter(after, limit);
+    }
+
+    @Override
+    public TaskList createTaskList(String name) {
+        return delegate.createTaskList(name);
+    }
+
+    @Override
+    public boolean deleteTaskList(Long listId) {
+        flush();
+        return delegate.deleteTaskList(listId);
+    }
+
+    @Override
+    public void forEachTaskList(Consumer<TaskListRef> action) {
+        delegate.forEachTaskList(action);
+    }
+
+    /**
+     * Retrieves the queued state of the task if it has one, without flushing.
+     */
+    @Override
+    public Optional<TaskDetails> findTaskDetails(Long taskId) {
+        Pending pending = queued().find(taskId);
+        return pending != null ? Optional.of(pending.task()) : delegate.findTaskDetails(taskId);
+    }
+
+    @Override
+    public boolean taskExists(Long taskId) {
+        return queued().find(taskId) != null || delegate.taskExists(taskId);
+    }
+
+    @Override
+    public List<TaskItem> findTaskItems(Long listId, Long after, int limit) {
+        flush();
+        return delegate.findTaskItems(listId, after, limit);
+    }
+
+    /**
+     * Overlays the queued changes on the list read from the database, without flushing: a queued
+     * task takes its queued name, description and key, and is listed only in the list it is queued
+     * into. The queue is read first, so a change flushed in between is found in the database.
+     */
+    @Override
+    public List<TaskItem> findAllTaskItems(Long listId) {
+        Map<Long, Pending> queued = queued().pending();
+        if (queued.isEmpty()) {
+            return delegate.findAllTaskItems(listId);
+        }
+        List<RankedTaskItem> items = new ArrayList<>();
+        Set<Long> stored = new HashSet<>();
+        for (RankedTaskItem item : delegate.findRankedTaskItems(listId)) {
+            stored.add(item.id());
+            Pending pending = queued.get(item.id());
+            if (pending == null) {
+                items.add(item);
+            } else if (listId.equals(pending.task().taskList().id())) {
+                items.add(pending.ranked(item.rankKey()));
+            }
+        }
+        for (Pending pending : queued.values()) {
+            if (pending.rankKey() != null && listId.equals(pending.task().taskList().id())
+                    && !stored.contains(pending.task().id())) {
+                items.add(pending.ranked(pending.rankKey()));
+            }
+        }
+        items.sort(Comparator.comparing(RankedTaskItem::rankKey).thenComparing(RankedTaskItem::id));
+        return items.stream().map(item -> new TaskItem(item.id(), item.name(), item.description())).toList();
+    }
+
+    @Override
+    public List<TaskOverview> findTasks(TaskFilter filter, Long after, int limit) {
+        flush();
+        return delegate.findTasks(filter, after, limit);
+    }
+
+    @Override
+    public Task createTask(Task task) {
+        return delegate.createTask(task);
+    }
+
+    @Override
+    public List<Long> insertTasks(List<TaskImportItem> items, List<String> rankKeys) {
+        return delegate.insertTasks(items, rankKeys);
+    }
+
+    /**
+     * Queues the update and acknowledges it.
+     */
+    @Override
+    public int updateTask(Long taskId, String name, String description, Long expectedVersion) {
+        return enqueue(taskId, expectedVersion, (current, queued) -> new Pending(
+                new TaskDetails(taskId, name, description, current.version() + 1, current.taskList()),
+                queued == null ? null : queued.rankKey()));
+    }
+
+    /**
+     * Writes the change straight through once nothing is queued for the task, holding the queue
+     * so nothing is queued meanwhile: a queued change expects the version this write increments.
+     */
+    @Override
+    public int updateLifecycle(Long taskId, TaskLifecycle lifecycle, Long expectedVersion) {
+        BoardQueue queue = queue();
+        while (true) {
+            flush(queue);
+            synchronized (queue) {
+                if (queue.find(taskId) == null) {
+                    return delegate.updateLifecycle(taskId, lifecycle, expectedVersion);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean deleteTask(Long taskId) {
+        flush();
+        return delegate.deleteTask(taskId);
+    }
+
+    /**
+     * Queues the move and acknowledges it.
+     *
+     * @throws DataIntegrityViolationException if the task list does not exist
+     */
+    @Override
+    public Optional<TaskDetails> moveTaskToRank(Long taskId, Long listId, String rankKey, Long expectedVersion) {
+        TaskListRef taskList = requireTaskList(listId);
+        return enqueued(taskId, expectedVersion, (current, queued) -> new Pending(
+                new TaskDetails(taskId, current.name(), current.description(), current.version() + 1, taskList),
+                rankKey));
+    }
+
+    @Override
+    public TaskBatchResult moveTasks(List<Long> taskIds, Long listId, List<String> rankKeys) {
+        flush();
+        return delegate.moveTasks(taskIds, listId, rankKeys);
+    }
+
+    @Override
+    public TaskBatchResult updateTasks(List<Long> taskIds, String name, String description) {
+        flush();
+        return delegate.updateTasks(taskIds, name, description);
+    }
+
+    @Override
+    public TaskBatchResult deleteTasks(List<Long> taskIds) {
+        flush();
+        return delegate.deleteTasks(taskIds);
+    }
+
+    @Override
+    public void forEachTask(Consumer<TaskListRow> action) {
+        flush();
+        delegate.forEachTask(action);
+    }
+
+    /**
+     * Combines the last key in the database with the keys of tasks queued into the list, without
+     * flushing. The queue is read first, so a key flushed in between is found in the database. A
+     * task queued to leave the list may still count, which only makes the next appended key longer.
+     */
+    @Override
+    public String findLastRankKey(Long listId) {
+        String queued = queued().lastRankKey(listId);
+        String stored = delegate.findLastRankKey(listId);
+        return stored == null || (queued != null && queued.compareTo(stored) > 0) ? queued : stored;
+    }
+
+    @Override
+    public List<ListRankKey> findLastRankKeys(Collection<Long> listIds) {
+        flush();
+        return delegate.findLastRankKeys(listIds);
+    }
+
+    @Override
+    public Optional<RankGap> findGapAfter(Long listId, Long anchorId, Long taskId) {
+        flush();
+        return delegate.findGapAfter(listId, anchorId, taskId);
+    }
+
+    @Override
+    public Optional<RankGap> findGapBefore(Long listId, Long anchorId, Long taskId) {
+        flush();
+        return delegate.findGapBefore(listId, anchorId, taskId);
+    }
+
+    @Override
+    public <T> T withRankLock(Long listId, Supplier<T> action) {
+        return delegate.withRankLock(listId, action);
+    }
+
+    @Override
+    public List<Long> findListIdsToRebalance(int maxLength) {
+        flush();
+        return delegate.findListIdsToRebalance(maxLength);
+    }
+
+    /**
+     * Flushes the queue under the list's rank lock before rebalancing, so a key queued by a move
+     * under the lock, derived from the keys before the rebalance, is written before they change.
+     */
+    @Override
+    public int rebalanceRanks(Long listId) {
+        flush();
+        return delegate.withRankLock(listId, () -> {
+            flush();
+            return delegate.rebalanceRanks(listId);
+        });
+    }
+
+    /**
+     * Queues a change derived from the current state of a task, which is its queued state if it
+     * has one. The queue's monitor is held from reading that state to queuing the change, so
+     * concurrent changes to the same task are applied one after the other.
+     *
+     * @return 1 if the task exists (at the expected version) and the change was queued, 0 otherwise
+     */
+    private int enqueue(Long taskId, Long expectedVersion, Change change) {
+        return enqueued(taskId, expectedVersion, change).isPresent() ? 1 : 0;
+    }
+
+    /**
+     * Queues a change like {@link #enqueue}, returning the task as it is once the change is written.
+     */
+    private Optional<TaskDetails> enqueued(Long taskId, Long expectedVersion, Change change) {
+        BoardQueue queue = queue();
+        if (queue.size() >= maxPending) {
+            flush(queue);
+        }
+        synchronized (queue) {
+            Pending queued = queue.find(taskId);
+            TaskDetails current = queued != null ? queued.task() : delegate.findTaskDetails(taskId).orElse(null);
+            if (current == null || (expectedVersion != null && !expectedVersion.equals(current.version()))) {
+                return Optional.empty();
+            }
+            Pending next = change.apply(current, queued);
+            Pending waiting = queue.waiting.get(taskId);
+            // The version the row has once everything queued before this change is written
+            long baseVersion = waiting != null ? waiting.baseVersion() : current.version();
+            queue.waiting.put(taskId, next.withBaseVersion(baseVersion));
+            return Optional.of(next.task());
+        }
+    }
+
+    /**
+     * Writes a board's waiting changes in one transaction, leaving them visible to readers until
+     * the transaction commits. Flushes of a board are serialized, so a change queued during a
+     * flush is written by the next one, against the version the previous one wrote.
+     */
+    private void flush(BoardQueue queue) {
+        queue.flushLock.lock();
+        try {
+            Map<Long, Pending> batch;
+            synchronized (queue) {
+                if (queue.waiting.isEmpty()) {
+                    return;
+                }
+                batch = queue.waiting;
+                queue.flushing = batch;
+                queue.waiting = new LinkedHashMap<>();
+            }
+            try {
+                flushTimer.record(() -> write(batch));
+            } finally {
+                synchronized (queue) {
+                    queue.flushing = Map.of();
+                }
+            }
+        } finally {
+            queue.flushLock.unlock();
+        }
+    }
+
+    /**
+     * Writes a batch of changes in one transaction. If the transaction fails, the changes are
+     * written one per transaction, so a single bad change cannot hold back the others.
+     */
+    private void write(Map<Long, Pending> batch) {
+        try {
+            List<Pending> stale = transactionTemplate.execute(status ->
+                    batch.values().stream().filter(pending -> writeBack(pending) == 0).toList());
+            stale.forEach(pending -> discard(pending, null));
+        } catch (RuntimeException ex) {
+            logger.warn("Writing {} queued task changes failed, writing them one at a time", batch.size(), ex);
+            for (Pending pending : batch.values()) {
+                try {
+                    if (transactionTemplate.execute(status -> writeBack(pending)) == 0) {
+                        discard(pending, null);
+                    }
+                } catch (RuntimeException taskEx) {
+                    discard(pending, taskEx);
+                }
+            }
+        }
+        logger.debug("Flushed {} queued task changes on board {}", batch.size(), BoardContext.current());
+    }
+
+    private int writeBack(Pending pending) {
+        return delegate.writeBack(pending.task(), pending.rankKey(), pending.baseVersion());
+    }
+
+    /**
+     * Drops a change that can no longer be written, because the task was changed or deleted
+     * outside this store, and evicts the cached task that may still show it.
+     */
+    private void discard(Pending pending, RuntimeException cause) {
+        dropped.increment();
+        logger.warn("Discarded the queued change to task ID: {} at version {}",
+                pending.task().id(), pending.task().version(), cause);
+        Cache tasks = cacheManager.getCache(CacheConfig.TASKS);
+        if (tasks != null) {
+            tasks.evict(pending.task().id());
+        }
+    }
+
+    private TaskListRef requireTaskList(Long listId) {
+        return delegate.findTaskListRef(listId)
+                .orElseThrow(() -> new DataIntegrityViolationException("Task list with ID " + listId + " not found"));
+    }
+
+    /**
+     * @return the current board's queue, or an empty one without creating it, so that reads of
+     *         boards that were never written keep no state
+     */
+    private BoardQueue queued() {
+        return queues.getOrDefault(BoardContext.current(), EMPTY);
+    }
+
+    private BoardQueue queue() {
+        return queues.computeIfAbsent(BoardContext.current(), board -> new BoardQueue());
+    }
+
+    private static int pendingCount(Map<String, BoardQueue> queues) {
+        return queues.values().stream().mapToInt(BoardQueue::size).sum();
+    }
+
+    /**
+     * The queued changes of one board, guarded by its monitor.
+     */
+    private static final class BoardQueue {
+
+        /** Held for the whole of a flush, so flushes of the board never overlap. */
+        final ReentrantLock flushLock = new ReentrantLock();
+
+        /** Final state of every task changed since the last flush started, in order of first change. */
+        Map<Long, Pending> waiting = new LinkedHashMap<>();
+
+        /** The changes being written by the flush in progress, if any. */
+        Map<Long, Pending> flushing = Map.of();
+
+        synchronized Pending find(Long taskId) {
+            Pending pending = waiting.get(taskId);
+            return pending != null ? pending : flushing.get(taskId);
+        }
+
+        /**
+         * @return the final state of every task with queued changes, including those being flushed
+         */
+        synchronized Map<Long, Pending> pending() {
+            Map<Long, Pending> pending = new HashMap<>(flushing);
+            pending.putAll(waiting);
+            return pending;
+        }
+
+        synchronized String lastRankKey(Long listId) {
+            String last = null;
+            for (Map<Long, Pending> changes : List.of(flushing, waiting)) {
+                for (Pending pending : changes.values()) {
+                    String key = pending.rankKey();
+                    if (key != null && listId.equals(pending.task().taskList().id())
+                            && (last == null || key.compareTo(last) > 0)) {
+                        last = key;
+                    }
+                }
+            }
+            return last;
+        }
+
+        synchronized int size() {
+            return waiting.size() + flushing.size();
+        }
+    }
+
+    /**
+     * The final state of a task after its queued changes.
+     *
+     * @param task the task, with the version its last change was acknowledged with
+     * @param rankKey the rank key the task was moved to, or {@code null} if it keeps its key
+     * @param baseVersion the version the task has in the database when the change is written
+     */
+    private record Pending(TaskDetails task, String rankKey, long baseVersion) {
+
+        Pending(TaskDetails task, String rankKey) {
+            this(task, rankKey, 0);
+        }
+
+        Pending withBaseVersion(long baseVersion) {
+            return new Pending(task, rankKey, baseVersion);
+        }
+
+        /**
+         * @param storedKey the key of the task in the database, used if the change keeps it
+         */
+        RankedTaskItem ranked(String storedKey) {
+            return new RankedTaskItem(task.id(), task.name(), task.description(), rankKey != null ? rankKey : storedKey);
+        }
+    }
+
+    /**
+     * Derives the next state of a task from its current state and its queued change, if any.
+     */
+    @FunctionalInterface
+    private interface Change {
+        Pending apply(TaskDetails current, Pending queued);
+    }
+}
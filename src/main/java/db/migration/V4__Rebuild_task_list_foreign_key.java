@@ -0,0 +1,49 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recreates the foreign key from {@code task.task_list_id} to {@code task_list} under a fixed name.
+ * <p>
+ * The key was declared without a name, so H2 gave it a generated name and a hidden index of its
+ * own on {@code task_list_id}, duplicating {@code idx_task_list_id} from V3 and competing with
+ * {@code idx_task_list_rank} for ordered reads. Recreated after V3, the key reuses
+ * {@code idx_task_list_id} instead. The generated name differs between databases, so it is looked
+ * up rather than written into a SQL migration.
+ */
+public class V4__Rebuild_task_list_foreign_key extends BaseJavaMigration {
+
+    private static final String FIND_FOREIGN_KEYS_SQL = "SELECT tc.constraint_name "
+            + "FROM information_schema.table_constraints tc "
+            + "JOIN information_schema.key_column_usage k "
+            + "ON k.constraint_schema = tc.constraint_schema AND k.constraint_name = tc.constraint_name "
+            + "WHERE tc.table_schema = CURRENT_SCHEMA AND tc.table_name = 'TASK' "
+            + "AND tc.constraint_type = 'FOREIGN KEY' AND k.column_name = 'TASK_LIST_ID'";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        List<String> names = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement(FIND_FOREIGN_KEYS_SQL);
+             ResultSet rows = query.executeQuery()) {
+            while (rows.next()) {
+                names.add(rows.getString(1));
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            for (String name : names) {
+                statement.execute("ALTER TABLE task DROP CONSTRAINT \"" + name.replace("\"", "\"\"") + "\"");
+            }
+            statement.execute("ALTER TABLE task ADD CONSTRAINT fk_task_task_list "
+                    + "FOREIGN KEY (task_list_id) REFERENCES task_list (id)");
+        }
+    }
+}
@@ -0,0 +1,6 @@
+-- Optimistic-locking versions; databases that ran with ddl-auto=update may already have them
+ALTER TABLE task_list ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE task ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+-- Position of a task within its list; existing rows are ranked on startup
+ALTER TABLE task ADD COLUMN IF NOT EXISTS rank_key VARCHAR(255);
@@ -0,0 +1,6 @@
+-- Tasks of a list by ID: list reads, task counts, the set-based delete of a list's tasks and the foreign key.
+-- H2 appends the primary key to every secondary index, so this index is ordered by (task_list_id, id)
+CREATE INDEX IF NOT EXISTS idx_task_list_id ON task (task_list_id);
+
+-- Tasks of a list in board order: ordered pages, last-key lookups and rank gaps
+CREATE INDEX IF NOT EXISTS idx_task_list_rank ON task (task_list_id, rank_key);
@@ -0,0 +1,17 @@
+-- Every task list and task belongs to a board; rows written before boards existed belong to the default board
+ALTER TABLE task_list ADD COLUMN IF NOT EXISTS board_id VARCHAR(64) DEFAULT 'default' NOT NULL;
+ALTER TABLE task ADD COLUMN IF NOT EXISTS board_id VARCHAR(64) DEFAULT 'default' NOT NULL;
+
+-- Task lists of a board in ID order: list pages, summaries and the board export
+CREATE INDEX IF NOT EXISTS idx_task_list_board ON task_list (board_id, id);
+
+-- A task may only belong to a list of its own board. Boards share a database when there are more
+-- boards than shards, so the foreign key covers the board as well: moving a task to, or importing
+-- it into, another board's list fails like a move to a missing list. The list index is widened to
+-- match, so the key keeps reusing it instead of getting an index of its own
+ALTER TABLE task_list ADD CONSTRAINT uk_task_list_board UNIQUE (id, board_id);
+ALTER TABLE task DROP CONSTRAINT fk_task_task_list;
+DROP INDEX idx_task_list_id;
+CREATE INDEX idx_task_list_id ON task (task_list_id, board_id);
+ALTER TABLE task ADD CONSTRAINT fk_task_task_list
+    FOREIGN KEY (task_list_id, board_id) REFERENCES task_list (id, board_id);
@@ -0,0 +1,11 @@
+-- Lifecycle of a task; existing tasks are open and of medium priority, without a due date or assignee
+ALTER TABLE task ADD COLUMN IF NOT EXISTS status VARCHAR(16) DEFAULT 'TODO' NOT NULL;
+ALTER TABLE task ADD COLUMN IF NOT EXISTS priority VARCHAR(16) DEFAULT 'MEDIUM' NOT NULL;
+ALTER TABLE task ADD COLUMN IF NOT EXISTS due_date DATE;
+ALTER TABLE task ADD COLUMN IF NOT EXISTS assignee VARCHAR(64);
+
+-- A member's tasks by status in ID order: the "my open tasks" view, paged by ID without a sort
+CREATE INDEX IF NOT EXISTS idx_task_assignee_status ON task (board_id, assignee, status, id);
+
+-- Tasks by status and due date: the "overdue" view reads one range of due dates per open status
+CREATE INDEX IF NOT EXISTS idx_task_status_due ON task (board_id, status, due_date);
@@ -0,0 +1,6 @@
+-- Hibernate restricts every task query to the current board, so a list's tasks are looked up by
+-- (task_list_id, board_id). With the board only in idx_task_list_id the planner prefers that index and
+-- reads the whole list to find its last rank key; with it in the rank index too, the rank index
+-- matches the same conditions and keeps serving board order
+DROP INDEX idx_task_list_rank;
+CREATE INDEX idx_task_list_rank ON task (task_list_id, board_id, rank_key);
@@ -0,0 +1,80 @@
+package com.example.taskboard.board;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Unit tests for the BoardFilter class.
+ */
+public class BoardFilterTest {
+
+    private static final Logger logger = Logger.getLogger(BoardFilterTest.class.getName());
+
+    private BoardFilter filter;
+
+    private List<String> seenBoards;
+
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        filter = new BoardFilter();
+        seenBoards = new ArrayList<>();
+        chain = (request, response) -> seenBoards.add(BoardContext.current());
+    }
+
+    /**
+     * Test that a request runs on the board of its header, and on the default board without one.
+     */
+    @Test
+    public void testRequestRunsOnItsBoard() throws Exception {
+        logger.info("Running testRequestRunsOnItsBoard");
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasklists");
+        request.addHeader(BoardContext.HEADER, "team-a");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasklists"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals(List.of("team-a", BoardContext.DEFAULT), seenBoards);
+        assertEquals(BoardContext.DEFAULT, BoardContext.current());
+    }
+
+    /**
+     * Test that invalid board IDs, and other boards than the default one with the in-memory store, are rejected.
+     */
+    @Test
+    public void testUnservableBoardsAreRejected() throws Exception {
+        logger.info("Running testUnservableBoardsAreRejected");
+        // Arrange
+        MockHttpServletRequest invalid = new MockHttpServletRequest("GET", "/api/tasklists");
+        invalid.addHeader(BoardContext.HEADER, "../other");
+        MockHttpServletRequest memory = new MockHttpServletRequest("GET", "/api/tasklists");
+        memory.addHeader(BoardContext.HEADER, "team-a");
+        MockHttpServletResponse invalidResponse = new MockHttpServletResponse();
+        MockHttpServletResponse memoryResponse = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(invalid, invalidResponse, new MockFilterChain());
+        ReflectionTestUtils.setField(filter, "engine", "memory");
+        filter.doFilter(memory, memoryResponse, new MockFilterChain());
+
+        // Assert
+        assertEquals(400, invalidResponse.getStatus());
+        assertEquals(400, memoryResponse.getStatus());
+        assertTrue(memoryResponse.getContentAsString().contains("memory"));
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.taskboard.board;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.taskboard.dto.TaskBatchResult;
+import com.example.taskboard.dto.TaskListDetails;
+import com.example.taskboard.dto.TaskSearchResult;
+import com.example.taskboard.exception.TaskListNotFoundException;
+import com.example.taskboard.exception.TaskNotFoundException;
+import com.example.taskboard.repository.TaskListRepository;
+import com.example.taskboard.repository.TaskRepository;
+import com.example.taskboard.search.TaskSearchIndex;
+import com.example.taskboard.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Integration tests for boards spread over two database shards.
+ */
+@SpringBootTest(properties = {
+        "taskboard.shards.count=2",
+        "spring.datasource.url=jdbc:h2:mem:board-shard-0;DB_CLOSE_DELAY=-1",
+        "taskboard.shards.url=jdbc:h2:mem:board-shard-{shard};DB_CLOSE_DELAY=-1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class BoardIsolationTest {
+
+    private static final Logger logger = Logger.getLogger(BoardIsolationTest.class.getName());
+
+    /** A board stored on shard 0, next to the default board. */
+    private static final String SHARED_BOARD = boardOnShard(0);
+
+    /** A board stored on shard 1. */
+    private static final String OTHER_BOARD = boardOnShard(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private BoardRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        for (String board : List.of(BoardContext.DEFAULT, SHARED_BOARD, OTHER_BOARD)) {
+            onBoard(board, () -> {
+                taskRepository.deleteAllInBatch();
+                taskListRepository.deleteAllInBatch();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Test that a board is stored in the database of its shard only.
+     */
+    @Test
+    public void testBoardIsStoredOnItsShard() {
+        logger.info("Running testBoardIsStoredOnItsShard");
+
+        // Act
+        Long listId = onBoard(OTHER_BOARD, () -> taskService.createTaskList("Other").getId());
+        onBoard(OTHER_BOARD, () -> taskService.addTaskToList(listId, "Task", "Description"));
+
+        // Assert
+        assertEquals(List.of(OTHER_BOARD), new JdbcTemplate(dataSource.getShards().get(1))
+                .queryForList("SELECT board_id FROM task WHERE task_list_id = ?", String.class, listId));
+        assertEquals(0, new JdbcTemplate(dataSource.getShards().get(0))
+                .queryForObject("SELECT COUNT(*) FROM task_list WHERE board_id = ?", Integer.class, OTHER_BOARD));
+        assertTrue(taskService.getAllTaskLists().isEmpty());
+    }
+
+    /**
+     * Test that boards sharing a shard can neither read nor change each other's task lists and
+     * tasks, including through cached entries.
+     */
+    @Test
+    public void testBoardsSharingAShardAreIsolated() {
+        logger.info("Running testBoardsSharingAShardAreIsolated");
+
+        // Arrange
+        Long defaultListId = taskService.createTaskList("Default").getId();
+        Long defaultTaskId = taskService.addTaskToList(defaultListId, "Default task", "Description").getId();
+        taskService.getTaskById(defaultTaskId);
+        Long sharedListId = onBoard(SHARED_BOARD, () -> taskService.createTaskList("Shared").getId());
+        Long sharedTaskId = onBoard(SHARED_BOARD,
+                () -> taskService.addTaskToList(sharedListId, "Shared task", "Description").getId());
+
+        // Act & Assert
+        onBoard(SHARED_BOARD, () -> {
+            assertEquals(List.of(sharedListId), taskService.getAllTaskLists().stream().map(TaskListDetails::id).toList());
+            assertThrows(TaskNotFoundException.class, () -> taskService.getTaskById(defaultTaskId));
+            assertThrows(TaskNotFoundException.class, () -> taskService.updateTask(defaultTaskId, "Stolen", "Stolen", null));
+            assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask(defaultTaskId));
+            assertThrows(TaskListNotFoundException.class, () -> taskService.addTaskToList(defaultListId, "Task", "Description"));
+            assertThrows(TaskListNotFoundException.class, () -> taskService.moveTaskToList(sharedTaskId, defaultListId, null));
+            assertThrows(TaskListNotFoundException.class, () -> taskService.deleteTaskList(defaultListId));
+            assertEquals(new TaskBatchResult(List.of(), List.of(defaultTaskId)),
+                    taskService.deleteTasks(List.of(defaultTaskId)));
+            return null;
+        });
+        assertEquals("Default task", taskService.getTaskById(defaultTaskId).name());
+        assertEquals(0L, taskService.getTaskById(defaultTaskId).version());
+        assertEquals(sharedListId, onBoard(SHARED_BOARD, () -> taskService.getTaskById(sharedTaskId).taskList().id()));
+    }
+
+    /**
+     * Test that searches only find tasks of the current board.
+     */
+    @Test
+    public void testSearchIsScopedToTheBoard() {
+        logger.info("Running testSearchIsScopedToTheBoard");
+
+        // Arrange
+        Long defaultListId = taskService.createTaskList("Default").getId();
+        taskService.addTaskToList(defaultListId, "Quarterly report", "Default board");
+        Long otherListId = onBoard(OTHER_BOARD, () -> taskService.createTaskList("Other").getId());
+        Long otherTaskId = onBoard(OTHER_BOARD,
+                () -> taskService.addTaskToList(otherListId, "Quarterly report", "Other board").getId());
+
+        // Act
+        TaskSearchResult result = onBoard(OTHER_BOARD, () -> taskSearchIndex.search("quarterly", 0, 10));
+
+        // Assert
+        assertEquals(1, result.totalHits());
+        assertEquals(otherTaskId, result.hits().get(0).id());
+    }
+
+    /**
+     * Test that requests work on the board named by their header, and that invalid board IDs are rejected.
+     */
+    @Test
+    public void testRequestsRouteByBoardHeader() throws Exception {
+        logger.info("Running testRequestsRouteByBoardHeader");
+
+        // Act
+        mockMvc.perform(post("/api/tasklists").param("name", "Routed").header(BoardContext.HEADER, OTHER_BOARD))
+                .andExpect(status().isOk());
+
+        // Assert
+        mockMvc.perform(get("/api/tasklists").header(BoardContext.HEADER, OTHER_BOARD))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Routed"));
+        mockMvc.perform(get("/api/tasklists"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/tasklists").header(BoardContext.HEADER, "not a board"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static <T> T onBoard(String board, Supplier<T> action) {
+        try (BoardContext.Scope scope = BoardContext.open(board)) {
+            return action.get();
+        }
+    }
+
+    private static String boardOnShard(int shard) {
+        for (int i = 0; ; i++) {
+            String board = "team-" + i;
+            if (BoardContext.shardOf(board, 2) == shard) {
+                return board;
+            }
+        }
+    }
+}
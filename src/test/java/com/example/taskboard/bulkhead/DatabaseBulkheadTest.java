@@ -0,0 +1,119 @@
+package com.example.taskboard.bulkhead;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.taskboard.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Unit tests for the DatabaseBulkhead class.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class DatabaseBulkheadTest {
+
+    private static final Logger logger = Logger.getLogger(DatabaseBulkheadTest.class.getName());
+
+    /** The default pool of 10 connections, less the 4 reserved for work outside the bulkhead. */
+    private static final int PERMITS = 6;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private DatabaseBulkhead bulkhead;
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private Signature signature;
+
+    @BeforeEach
+    void setUp() {
+        bulkhead.init();
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getName()).thenReturn("getTaskById");
+    }
+
+    /**
+     * Test that calls run through the bulkhead and release their permit afterwards.
+     */
+    @Test
+    public void testCallsProceedWhilePermitsAreFree() throws Throwable {
+        logger.info("Running testCallsProceedWhilePermitsAreFree");
+        // Arrange
+        when(joinPoint.proceed()).thenReturn("result");
+
+        // Act
+        Object result = bulkhead.limit(joinPoint);
+
+        // Assert
+        assertEquals("result", result);
+        assertEquals(PERMITS, meterRegistry.get("taskboard.bulkhead.available.permits").gauge().value());
+    }
+
+    /**
+     * Test that a call is rejected once every permit is held, and admitted again after they are released.
+     */
+    @Test
+    public void testCallIsRejectedWhenBulkheadIsFull() throws Throwable {
+        logger.info("Running testCallIsRejectedWhenBulkheadIsFull");
+        // Arrange
+        CountDownLatch started = new CountDownLatch(PERMITS);
+        CountDownLatch release = new CountDownLatch(1);
+        ProceedingJoinPoint blockingCall = mock(ProceedingJoinPoint.class);
+        when(blockingCall.proceed()).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(PERMITS);
+        List<Future<Object>> running = new ArrayList<>();
+        for (int i = 0; i < PERMITS; i++) {
+            running.add(executor.submit(() -> {
+                try {
+                    return bulkhead.limit(blockingCall);
+                } catch (Throwable ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Act & Assert
+        assertThrows(ServiceOverloadedException.class, () -> bulkhead.limit(joinPoint));
+        assertEquals(1.0, meterRegistry.get("taskboard.bulkhead.rejections").counter().count());
+
+        release.countDown();
+        for (Future<Object> call : running) {
+            call.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        when(joinPoint.proceed()).thenReturn("result");
+        assertEquals("result", bulkhead.limit(joinPoint));
+        verify(joinPoint, times(1)).proceed();
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.taskboard.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.taskboard.model.Task;
+import com.example.taskboard.model.TaskList;
+import com.example.taskboard.repository.TaskListRepository;
+import com.example.taskboard.repository.TaskRepository;
+import com.example.taskboard.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.logging.Logger;
+
+/**
+ * Integration tests for entity tags and conditional requests on TaskController.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TaskControllerConditionalRequestTest {
+
+    private static final Logger logger = Logger.getLogger(TaskControllerConditionalRequestTest.class.getName());
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    private TaskList taskList;
+
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+        taskListRepository.deleteAllInBatch();
+        taskList = taskService.createTaskList("Conditional");
+        task = taskService.addTaskToList(taskList.getId(), "Task", "Description");
+    }
+
+    /**
+     * Test that an unchanged task is answered with 304, and a changed one with its new representation.
+     */
+    @Test
+    public void testTaskIsNotModifiedUntilItChanges() throws Exception {
+        logger.info("Running testTaskIsNotModifiedUntilItChanges");
+        // Arrange
+        String etag = mockMvc.perform(get("/api/tasks/{taskId}", task.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        assertNotNull(etag);
+        mockMvc.perform(get("/api/tasks/{taskId}", task.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        taskService.updateTask(task.getId(), "Renamed", "Description", null);
+
+        String newEtag = mockMvc.perform(get("/api/tasks/{taskId}", task.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+    }
+
+    /**
+     * Test that the board is answered with 304 until any change to it is committed.
+     */
+    @Test
+    public void testBoardIsNotModifiedUntilItChanges() throws Exception {
+        logger.info("Running testBoardIsNotModifiedUntilItChanges");
+        // Arrange
+        String etag = mockMvc.perform(get("/api/tasklists"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/tasklists").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        taskService.addTaskToList(taskList.getId(), "Another", "Description");
+
+        mockMvc.perform(get("/api/tasklists").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Test that a write conditioned on a stale entity tag fails with 412.
+     */
+    @Test
+    public void testStaleIfMatchIsRejected() throws Exception {
+        logger.info("Running testStaleIfMatchIsRejected");
+        // Arrange
+        String etag = mockMvc.perform(get("/api/tasks/{taskId}", task.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Act & Assert
+        mockMvc.perform(put("/api/tasks/{taskId}", task.getId()).header(HttpHeaders.IF_MATCH, etag)
+                        .param("name", "First").param("description", "Writer"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.name").value("First"))
+                .andExpect(jsonPath("$.version").value(1));
+        mockMvc.perform(put("/api/tasks/{taskId}", task.getId()).header(HttpHeaders.IF_MATCH, etag)
+                        .param("name", "Second").param("description", "Writer"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/api/tasks/{taskId}/move", task.getId()).header(HttpHeaders.IF_MATCH, etag)
+                        .param("newListId", String.valueOf(taskList.getId())))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/api/tasks/{taskId}/move", task.getId()).header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .param("newListId", String.valueOf(taskList.getId())))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.taskList.id").value(taskList.getId()));
+    }
+
+    /**
+     * Test that a lifecycle change is conditioned on the entity tag and found by the filtered task listing.
+     */
+    @Test
+    public void testLifecycleChangeHonoursIfMatch() throws Exception {
+        logger.info("Running testLifecycleChangeHonoursIfMatch");
+        // Arrange
+        String etag = mockMvc.perform(get("/api/tasks/{taskId}", task.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String lifecycle = "{\"status\": \"IN_PROGRESS\", \"dueDate\": \"2024-05-01\", \"assignee\": \"ada\"}";
+
+        // Act & Assert
+        mockMvc.perform(put("/api/tasks/{taskId}/lifecycle", task.getId()).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(lifecycle))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/tasks/{taskId}/lifecycle", task.getId()).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content(lifecycle))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put("/api/tasks/{taskId}/lifecycle", task.getId())
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"assignee\": \"" + "a".repeat(65) + "\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/tasks").param("assignee", "ada").param("status", "TODO", "IN_PROGRESS")
+                        .param("dueBefore", "2024-05-02"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(task.getId()))
+                .andExpect(jsonPath("$.items[0].priority").value("MEDIUM"))
+                .andExpect(jsonPath("$.items[0].dueDate").value("2024-05-01"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        mockMvc.perform(get("/api/tasks").param("status", "DONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty());
+    }
+}
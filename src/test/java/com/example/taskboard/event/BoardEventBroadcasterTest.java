@@ -0,0 +1,230 @@
+package com.example.taskboard.event;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Unit tests for the BoardEventBroadcaster class.
+ */
+@ExtendWith(MockitoExtension.class)
+public class BoardEventBroadcasterTest {
+
+    private static final Logger logger = Logger.getLogger(BoardEventBroadcasterTest.class.getName());
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private BoardEventBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(broadcaster, "historySize", 4);
+        ReflectionTestUtils.setField(broadcaster, "subscriberBufferSize", 2);
+        broadcaster.init();
+    }
+
+    /**
+     * Test that committed changes are streamed to a subscriber in order.
+     */
+    @Test
+    public void testChangesAreStreamedInOrder() throws Exception {
+        logger.info("Running testChangesAreStreamedInOrder");
+        // Arrange
+        RecordingEmitter emitter = new RecordingEmitter(null);
+        broadcaster.register(emitter, null);
+
+        // Act
+        broadcaster.onBoardChange(BoardChangeEvent.taskCreated(1L, 10L, "Task", "Description"));
+        broadcaster.onBoardChange(BoardChangeEvent.taskDeleted(1L));
+
+        // Assert
+        Sent first = emitter.next();
+        Sent second = emitter.next();
+        assertEquals(BoardEventBroadcaster.CHANGE, first.name());
+        assertEquals(BoardChangeEvent.Type.TASK_CREATED, first.event().type());
+        assertEquals(BoardChangeEvent.Type.TASK_DELETED, second.event().type());
+        assertTrue(first.id().endsWith("-1"));
+        assertTrue(second.id().endsWith("-2"));
+    }
+
+    /**
+     * Test that a reconnecting client receives exactly the events after its Last-Event-ID.
+     */
+    @Test
+    public void testResumeReplaysMissedEvents() throws Exception {
+        logger.info("Running testResumeReplaysMissedEvents");
+        // Arrange
+        RecordingEmitter first = new RecordingEmitter(null);
+        broadcaster.register(first, null);
+        broadcaster.onBoardChange(BoardChangeEvent.taskListCreated(10L, "List"));
+        String lastEventId = first.next().id();
+        broadcaster.onBoardChange(BoardChangeEvent.taskCreated(1L, 10L, "Missed", null));
+
+        // Act
+        RecordingEmitter resumed = new RecordingEmitter(null);
+        broadcaster.register(resumed, lastEventId);
+
+        // Assert
+        Sent replayed = resumed.next();
+        assertEquals(BoardChangeEvent.Type.TASK_CREATED, replayed.event().type());
+        assertNull(resumed.poll());
+    }
+
+    /**
+     * Test that resuming from an unknown or evicted event ID yields a resync.
+     */
+    @Test
+    public void testUnknownLastEventIdResyncs() throws Exception {
+        logger.info("Running testUnknownLastEventIdResyncs");
+        // Arrange
+        RecordingEmitter emitter = new RecordingEmitter(null);
+
+        // Act
+        broadcaster.register(emitter, "from-a-previous-run-7");
+
+        // Assert
+        assertEquals(BoardEventBroadcaster.RESYNC, emitter.next().name());
+    }
+
+    /**
+     * Test that a subscriber that falls behind its buffer is resynced instead of holding events back,
+     * and then receives the events after the resync.
+     */
+    @Test
+    public void testSlowSubscriberIsResynced() throws Exception {
+        logger.info("Running testSlowSubscriberIsResynced");
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        broadcaster.register(slow, null);
+        broadcaster.onBoardChange(BoardChangeEvent.taskDeleted(1L));
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+
+        // Act
+        for (long taskId = 2; taskId <= 5; taskId++) {
+            broadcaster.onBoardChange(BoardChangeEvent.taskDeleted(taskId));
+        }
+        release.countDown();
+
+        // Assert
+        assertEquals(BoardEventBroadcaster.CHANGE, slow.next().name());
+        Sent resync = slow.next();
+        assertEquals(BoardEventBroadcaster.RESYNC, resync.name());
+        assertTrue(resync.id().endsWith("-4"));
+        assertTrue(slow.next().id().endsWith("-5"));
+        assertEquals(1.0, meterRegistry.get("taskboard.events.resyncs").counter().count());
+    }
+
+    /**
+     * Test that keep-alives are written while a subscriber is idle and never take buffer space,
+     * so a client that is slow to accept them is not resynced.
+     */
+    @Test
+    public void testHeartbeatsTakeNoBufferSpace() throws Exception {
+        logger.info("Running testHeartbeatsTakeNoBufferSpace");
+        // Arrange
+        ReflectionTestUtils.setField(broadcaster, "heartbeatMillis", 20L);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        broadcaster.register(slow, null);
+        assertTrue(slow.sending.await(5, TimeUnit.SECONDS));
+
+        // Act
+        broadcaster.onBoardChange(BoardChangeEvent.taskDeleted(1L));
+        broadcaster.onBoardChange(BoardChangeEvent.taskDeleted(2L));
+        Thread.sleep(200);
+        release.countDown();
+
+        // Assert
+        assertTrue(slow.next().id().endsWith("-1"));
+        assertTrue(slow.next().id().endsWith("-2"));
+        assertTrue(slow.keepAlives.get() >= 1);
+        assertEquals(0.0, meterRegistry.get("taskboard.events.resyncs").counter().count());
+    }
+
+    private record Sent(String id, String name, BoardChangeEvent event) {
+    }
+
+    /**
+     * Emitter that records what would be written, optionally blocking its first send.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private static final Pattern ID = Pattern.compile("id:(\\S+)");
+
+        private static final Pattern NAME = Pattern.compile("event:(\\S+)");
+
+        private final BlockingQueue<Sent> sent = new LinkedBlockingQueue<>();
+
+        private final CountDownLatch release;
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+
+        private final AtomicInteger keepAlives = new AtomicInteger();
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sending.countDown();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StringBuilder text = new StringBuilder();
+            BoardChangeEvent event = null;
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof BoardChangeEvent change) {
+                    event = change;
+                } else {
+                    text.append(part.getData());
+                }
+            }
+            Matcher name = NAME.matcher(text);
+            if (text.indexOf(":keep-alive") >= 0) {
+                keepAlives.incrementAndGet();
+            } else if (name.find()) {
+                Matcher id = ID.matcher(text);
+                sent.add(new Sent(id.find() ? id.group(1) : null, name.group(1), event));
+            }
+        }
+
+        Sent next() throws InterruptedException {
+            Sent next = sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(next, "No event was sent");
+            return next;
+        }
+
+        Sent poll() throws InterruptedException {
+            return sent.poll(200, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.taskboard.logging;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.logging.Logger;
+
+/**
+ * Unit tests for the AccessLogFilter class.
+ */
+public class AccessLogFilterTest {
+
+    private static final Logger logger = Logger.getLogger(AccessLogFilterTest.class.getName());
+
+    private final ch.qos.logback.classic.Logger accessLogger =
+            (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(AccessLogFilter.class);
+
+    private AccessLogFilter filter;
+
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        filter = new AccessLogFilter();
+        appender = new ListAppender<>();
+        appender.start();
+        accessLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(appender);
+    }
+
+    /**
+     * Test that a logged request produces one line with method, path and status.
+     */
+    @Test
+    public void testRequestIsLogged() throws Exception {
+        logger.info("Running testRequestIsLogged");
+        // Arrange
+        ReflectionTestUtils.setField(filter, "sampleRate", 1.0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/7");
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().startsWith("GET /api/tasks/7 200 "));
+    }
+
+    /**
+     * Test that unsampled requests are skipped but server errors are always logged.
+     */
+    @Test
+    public void testOnlyServerErrorsAreLoggedWhenNotSampled() throws Exception {
+        logger.info("Running testOnlyServerErrorsAreLoggedWhenNotSampled");
+        // Arrange
+        ReflectionTestUtils.setField(filter, "sampleRate", 0.0);
+        MockHttpServletResponse failed = new MockHttpServletResponse();
+        failed.setStatus(503);
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/tasks/7"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/tasks/7"), failed, new MockFilterChain());
+
+        // Assert
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().startsWith("PUT /api/tasks/7 503 "));
+    }
+
+    /**
+     * Test that a request whose handler throws is logged as a server error.
+     */
+    @Test
+    public void testFailedRequestIsLoggedAsServerError() {
+        logger.info("Running testFailedRequestIsLoggedAsServerError");
+        // Arrange
+        ReflectionTestUtils.setField(filter, "sampleRate", 0.0);
+        FilterChain failing = (req, res) -> {
+            throw new ServletException("Handler failed");
+        };
+
+        // Act
+        assertThrows(ServletException.class, () -> filter.doFilter(
+                new MockHttpServletRequest("GET", "/api/tasks/7"), new MockHttpServletResponse(), failing));
+
+        // Assert
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().startsWith("GET /api/tasks/7 500 "));
+    }
+
+    /**
+     * Test that an asynchronous request is logged once, when it completes, with its final status.
+     */
+    @Test
+    public void testAsyncRequestIsLoggedOnCompletion() throws Exception {
+        logger.info("Running testAsyncRequestIsLoggedOnCompletion");
+        // Arrange
+        ReflectionTestUtils.setField(filter, "sampleRate", 1.0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> req.startAsync());
+        int loggedBeforeCompletion = appender.list.size();
+
+        // Act
+        response.setStatus(503);
+        request.getAsyncContext().complete();
+
+        // Assert
+        assertEquals(0, loggedBeforeCompletion);
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().startsWith("GET /api/events 503 "));
+    }
+}
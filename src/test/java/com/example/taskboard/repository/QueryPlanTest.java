@@ -0,0 +1,283 @@
+package com.example.taskboard.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.taskboard.dto.TaskFilter;
+import com.example.taskboard.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Logger;
+
+/**
+ * Checks with {@code EXPLAIN} that the hot task queries are served by the indexes created by the migrations.
+ * Each test runs the real repository query, records the statement Hibernate prepares together with its
+ * bound parameters, including the restriction to the current board, and explains exactly that statement.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class QueryPlanTest {
+
+    private static final Logger logger = Logger.getLogger(QueryPlanTest.class.getName());
+
+    /** The statements prepared by the current thread while {@link #capture} runs, otherwise {@code null}. */
+    private static final ThreadLocal<List<RecordedStatement>> RECORDING = new ThreadLocal<>();
+
+    private static final Set<TaskStatus> OPEN = Set.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    private long listId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM task");
+        jdbcTemplate.update("DELETE FROM task_list");
+        for (int i = 0; i < 20; i++) {
+            jdbcTemplate.update("INSERT INTO task_list (name) VALUES ('List')");
+        }
+        listId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM task_list", Long.class);
+        jdbcTemplate.update("INSERT INTO task (name, task_list_id, rank_key) "
+                + "SELECT 'Task', l.id, CAST(x AS VARCHAR) FROM task_list l CROSS JOIN SYSTEM_RANGE(1, 50)");
+        jdbcTemplate.update("UPDATE task SET assignee = CONCAT('member', MOD(id, 25)), "
+                + "status = CASE MOD(id, 3) WHEN 0 THEN 'TODO' WHEN 1 THEN 'IN_PROGRESS' ELSE 'DONE' END, "
+                + "due_date = DATEADD(DAY, MOD(id, 90), DATE '2024-01-01')");
+        // Refresh the selectivity statistics the planner uses
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /**
+     * Test that a page of a list's tasks is read through the rank index.
+     */
+    @Test
+    void testTaskPageUsesRankIndex() {
+        logger.info("Running testTaskPageUsesRankIndex");
+
+        // Act
+        String plan = explain(capture(() -> taskRepository.findItemsByListId(listId, Limit.of(50))));
+
+        // Assert
+        assertUsesIndex(plan, "IDX_TASK_LIST_RANK");
+    }
+
+    /**
+     * Test that the last rank key of a list is read from the rank index.
+     */
+    @Test
+    void testLastRankKeyUsesRankIndex() {
+        logger.info("Running testLastRankKeyUsesRankIndex");
+
+        // Act
+        String plan = explain(capture(() -> taskRepository.findLastRankKey(listId)));
+
+        // Assert
+        assertUsesIndex(plan, "IDX_TASK_LIST_RANK");
+    }
+
+    /**
+     * Test that task lists are joined to their tasks through the task list index.
+     */
+    @Test
+    void testTaskListRowsUseListIndex() {
+        logger.info("Running testTaskListRowsUseListIndex");
+
+        // Act
+        String plan = explain(capture(() -> taskListRepository.findRowsByListIdIn(List.of(listId, listId + 1))));
+
+        // Assert
+        assertUsesIndex(plan, "IDX_TASK_LIST_ID");
+    }
+
+    /**
+     * Test that the foreign key reuses the task list index instead of keeping an index of its own.
+     */
+    @Test
+    void testForeignKeyReusesListIndex() {
+        logger.info("Running testForeignKeyReusesListIndex");
+
+        // Act
+        List<String> indexes = jdbcTemplate.queryForList("SELECT index_name FROM information_schema.indexes "
+                + "WHERE table_schema = CURRENT_SCHEMA AND table_name = 'TASK' AND index_type_name <> 'PRIMARY KEY' "
+                + "ORDER BY index_name", String.class);
+
+        // Assert
+        assertEquals(List.of("IDX_TASK_ASSIGNEE_STATUS", "IDX_TASK_LIST_ID", "IDX_TASK_LIST_RANK", "IDX_TASK_STATUS_DUE"),
+                indexes);
+    }
+
+    /**
+     * Test that deleting the tasks of a list finds them through the task list index.
+     */
+    @Test
+    void testDeleteTasksOfListUsesListIndex() {
+        logger.info("Running testDeleteTasksOfListUsesListIndex");
+
+        // Act
+        String plan = explain(capture(() -> taskRepository.deleteAllByTaskListId(listId)));
+
+        // Assert
+        assertUsesIndex(plan, "IDX_TASK_LIST_ID");
+    }
+
+    /**
+     * Test that a member's open tasks are read through the assignee index.
+     */
+    @Test
+    void testOpenTasksOfAssigneeUseAssigneeIndex() {
+        logger.info("Running testOpenTasksOfAssigneeUseAssigneeIndex");
+
+        // Arrange
+        TaskFilter filter = new TaskFilter(OPEN, "member7", null);
+
+        // Act
+        String plan = explain(capture(
+                () -> taskRepository.findOverviews(TaskSpecifications.matching(filter), 0L, 50)));
+
+        // Assert
+        assertUsesIndex(plan, "IDX_TASK_ASSIGNEE_STATUS");
+    }
+
+    /**
+     * Test that overdue open tasks are read through the status and due date index.
+     */
+    @Test
+    void testOverdueTasksUseDueDateIndex() {
+        logger.info("Running testOverdueTasksUseDueDateIndex");
+
+        // Arrange
+        TaskFilter filter = new TaskFilter(OPEN, null, LocalDate.of(2024, 1, 5));
+
+        // Act
+        String plan = explain(capture(
+                () -> taskRepository.findOverviews(TaskSpecifications.matching(filter), null, 50)));
+
+        // Assert
+        assertUsesIndex(plan, "IDX_TASK_STATUS_DUE");
+    }
+
+    /**
+     * Runs a repository call and returns the one statement it prepared.
+     */
+    private static RecordedStatement capture(Runnable query) {
+        List<RecordedStatement> statements = new ArrayList<>();
+        RECORDING.set(statements);
+        try {
+            query.run();
+        } finally {
+            RECORDING.remove();
+        }
+        assertEquals(1, statements.size(), statements::toString);
+        return statements.get(0);
+    }
+
+    private String explain(RecordedStatement statement) {
+        logger.info(statement.toString());
+        String plan = jdbcTemplate.query(connection -> {
+            PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql());
+            for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                explain.setObject(parameter.getKey(), parameter.getValue());
+            }
+            return explain;
+        }, rs -> rs.next() ? rs.getString(1) : null);
+        logger.info(plan);
+        return plan;
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        assertTrue(plan.contains("PUBLIC." + index), plan);
+        assertFalse(plan.contains("TASK.tableScan"), plan);
+    }
+
+    /**
+     * A statement prepared by Hibernate, with its parameters by position.
+     */
+    record RecordedStatement(String sql, Map<Integer, Object> parameters) {
+    }
+
+    /**
+     * Wraps the data source so that the statements prepared while {@link #capture} runs are recorded
+     * along with the values bound to them.
+     */
+    @TestConfiguration
+    static class StatementRecordingConfig {
+
+        @Bean
+        static BeanPostProcessor statementRecorder() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource
+                            ? proxy(DataSource.class, dataSource, StatementRecordingConfig::onDataSource)
+                            : bean;
+                }
+            };
+        }
+
+        private static Object onDataSource(Object result, String method, Object[] args) {
+            return result instanceof Connection connection
+                    ? proxy(Connection.class, connection, StatementRecordingConfig::onConnection)
+                    : result;
+        }
+
+        private static Object onConnection(Object result, String method, Object[] args) {
+            List<RecordedStatement> statements = RECORDING.get();
+            if (statements == null || !(result instanceof PreparedStatement prepared)
+                    || !method.equals("prepareStatement")) {
+                return result;
+            }
+            RecordedStatement statement = new RecordedStatement((String) args[0], new TreeMap<>());
+            statements.add(statement);
+            return proxy(PreparedStatement.class, prepared, (ignored, setter, values) -> {
+                if (setter.startsWith("set") && values != null && values.length >= 2 && values[0] instanceof Integer i) {
+                    statement.parameters().put(i, setter.equals("setNull") ? null : values[1]);
+                }
+                return ignored;
+            });
+        }
+
+        /**
+         * Delegates every call to the target and lets the callback inspect or replace the result.
+         */
+        private static <T> T proxy(Class<T> type, T target, Interceptor interceptor) {
+            return type.cast(Proxy.newProxyInstance(QueryPlanTest.class.getClassLoader(), new Class<?>[] {type},
+                    (self, method, args) -> {
+                        try {
+                            return interceptor.after(method.invoke(target, args), method.getName(), args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }));
+        }
+
+        @FunctionalInterface
+        private interface Interceptor {
+            Object after(Object result, String method, Object[] args);
+        }
+    }
+}
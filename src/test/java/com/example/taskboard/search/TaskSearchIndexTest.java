@@ -0,0 +1,110 @@
+package com.example.taskboard.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.taskboard.dto.TaskSearchHit;
+import com.example.taskboard.dto.TaskSearchResult;
+import com.example.taskboard.event.BoardChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Unit tests for the TaskSearchIndex class.
+ */
+public class TaskSearchIndexTest {
+
+    private static final Logger logger = Logger.getLogger(TaskSearchIndexTest.class.getName());
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskSearchIndex();
+        index.onBoardChange(BoardChangeEvent.taskCreated(1L, 10L, "Buy groceries", "Milk, bread, eggs"));
+        index.onBoardChange(BoardChangeEvent.taskCreated(2L, 20L, "Finish report", "Complete the quarterly report"));
+        index.onBoardChange(BoardChangeEvent.taskCreated(3L, 20L, "Report bug", "Login page crashes"));
+    }
+
+    /**
+     * Test that results are ranked by relevance and carry the stored task fields.
+     */
+    @Test
+    void testSearchRanksByRelevance() {
+        logger.info("Running testSearchRanksByRelevance");
+
+        // Act
+        TaskSearchResult result = index.search("REPORT", 0, 10);
+
+        // Assert
+        assertEquals(2, result.totalHits());
+        List<TaskSearchHit> hits = result.hits();
+        assertEquals(2L, hits.get(0).id());
+        assertEquals(3L, hits.get(1).id());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+        assertEquals("Finish report", hits.get(0).name());
+        assertEquals(20L, hits.get(0).taskListId());
+    }
+
+    /**
+     * Test that results are paginated.
+     */
+    @Test
+    void testSearchPaginates() {
+        logger.info("Running testSearchPaginates");
+
+        // Act
+        TaskSearchResult result = index.search("report", 1, 1);
+
+        // Assert
+        assertEquals(2, result.totalHits());
+        assertEquals(1, result.hits().size());
+        assertEquals(3L, result.hits().get(0).id());
+    }
+
+    /**
+     * Test that updates replace the indexed terms of a task.
+     */
+    @Test
+    void testUpdateReindexesTask() {
+        logger.info("Running testUpdateReindexesTask");
+
+        // Act
+        index.onBoardChange(BoardChangeEvent.taskUpdated(1L, "Buy coffee", "Beans"));
+
+        // Assert
+        assertEquals(0, index.search("groceries", 0, 10).totalHits());
+        assertEquals(10L, index.search("coffee", 0, 10).hits().get(0).taskListId());
+    }
+
+    /**
+     * Test that moved tasks keep their terms and report their new list.
+     */
+    @Test
+    void testMoveUpdatesTaskList() {
+        logger.info("Running testMoveUpdatesTaskList");
+
+        // Act
+        index.onBoardChange(BoardChangeEvent.taskMoved(1L, 30L));
+
+        // Assert
+        assertEquals(30L, index.search("milk", 0, 10).hits().get(0).taskListId());
+    }
+
+    /**
+     * Test that deleting a task or a whole list removes the tasks from the index.
+     */
+    @Test
+    void testDeleteRemovesTasks() {
+        logger.info("Running testDeleteRemovesTasks");
+
+        // Act
+        index.onBoardChange(BoardChangeEvent.taskDeleted(1L));
+        index.onBoardChange(BoardChangeEvent.taskListDeleted(20L));
+
+        // Assert
+        assertEquals(0, index.search("groceries report bug", 0, 10).totalHits());
+    }
+}
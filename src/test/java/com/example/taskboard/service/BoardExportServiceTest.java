@@ -0,0 +1,88 @@
+package com.example.taskboard.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.taskboard.model.Task;
+import com.example.taskboard.model.TaskList;
+import com.example.taskboard.repository.TaskListRepository;
+import com.example.taskboard.repository.TaskRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Integration tests for the BoardExportService class.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class BoardExportServiceTest {
+
+    private static final Logger logger = Logger.getLogger(BoardExportServiceTest.class.getName());
+
+    @Autowired
+    private BoardExportService boardExportService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+        taskListRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Test for exporting a board larger than one streaming fetch as NDJSON.
+     */
+    @Test
+    void testExportBoard() throws Exception {
+        logger.info("Running testExportBoard");
+
+        // Arrange
+        int taskCount = TaskRepository.STREAM_FETCH_SIZE + 10;
+        TaskList taskList = new TaskList();
+        taskList.setName("Backlog");
+        taskList = taskListRepository.save(taskList);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            Task task = new Task();
+            task.setName("Task " + i);
+            task.setDescription("Description " + i);
+            task.setTaskList(taskList);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        boardExportService.exportBoard(out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1 + taskCount, lines.length);
+        assertTrue(lines[1].startsWith("{\"type\":\"task\""));
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("taskList", first.get("type").asText());
+        assertEquals("Backlog", first.get("name").asText());
+        JsonNode last = objectMapper.readTree(lines[lines.length - 1]);
+        assertEquals("task", last.get("type").asText());
+        assertEquals(taskList.getId(), last.get("taskListId").asLong());
+        assertEquals("Task " + (taskCount - 1), last.get("name").asText());
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.taskboard.service;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.taskboard.dto.TaskItem;
+import com.example.taskboard.dto.TaskListDetails;
+import com.example.taskboard.dto.TaskListRow;
+import com.example.taskboard.store.TaskStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Unit tests for the BoardSnapshots class.
+ */
+public class BoardSnapshotsTest {
+
+    private static final Logger logger = Logger.getLogger(BoardSnapshotsTest.class.getName());
+
+    @Mock
+    private TaskStore taskStore;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private BoardSnapshots boardSnapshots;
+
+    @BeforeEach
+    void setUp() {
+        // Initialize mocks
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Test that a write committed while the board's first snapshot is being built is not lost:
+     * the writer waits for the build and then refreshes the snapshot it published.
+     */
+    @Test
+    void testWriteDuringFirstBuildIsRefreshed() throws Exception {
+        logger.info("Running testWriteDuringFirstBuildIsRefreshed");
+
+        // Arrange
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        when(taskStore.findAllRows()).thenAnswer(invocation -> {
+            reading.countDown();
+            assertTrue(written.await(5, TimeUnit.SECONDS));
+            // The rows as read before the write committed
+            return List.of(new TaskListRow(1L, "Work", null, null, null));
+        });
+        when(taskStore.findExistingTaskListIds(any())).thenReturn(List.of(1L));
+        when(taskStore.findAllTaskItems(1L)).thenReturn(List.of(new TaskItem(10L, "Report", "Quarterly")));
+        CompletableFuture<BoardSnapshots.Snapshot> build = CompletableFuture.supplyAsync(boardSnapshots::current);
+        assertTrue(reading.await(5, TimeUnit.SECONDS));
+
+        // Act
+        Thread writer = new Thread(() -> boardSnapshots.taskChanged(10L, 1L));
+        writer.start();
+        // The writer either gives up on the missing snapshot or waits for the build to finish
+        while (writer.getState() != Thread.State.WAITING && writer.getState() != Thread.State.TERMINATED) {
+            Thread.onSpinWait();
+        }
+        written.countDown();
+        build.get(5, TimeUnit.SECONDS);
+        writer.join(5000);
+
+        // Assert
+        assertEquals(List.of(new TaskListDetails(1L, "Work", List.of(new TaskItem(10L, "Report", "Quarterly")))),
+                boardSnapshots.current().taskLists());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.taskboard.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Logger;
+
+/**
+ * Unit tests for the RankKeys class.
+ */
+public class RankKeysTest {
+
+    private static final Logger logger = Logger.getLogger(RankKeysTest.class.getName());
+
+    /**
+     * Test that a key generated between two keys sorts strictly between them.
+     */
+    @Test
+    void testBetween() {
+        logger.info("Running testBetween");
+
+        // Act & Assert
+        assertEquals("i", RankKeys.between(null, null));
+        assertEquals("ai", RankKeys.between("a", "b"));
+        assertEquals("a5", RankKeys.between("a", "aa"));
+        assertEquals("1", RankKeys.between(null, "2"));
+        assertBetween("z", RankKeys.between("z", null), null);
+        assertBetween(null, RankKeys.between(null, "01"), "01");
+        assertThrows(IllegalArgumentException.class, () -> RankKeys.between("b", "a"));
+        assertThrows(IllegalArgumentException.class, () -> RankKeys.between("a", "a"));
+    }
+
+    /**
+     * Test that random insertions keep every key distinct, ordered and free of trailing zeros.
+     */
+    @Test
+    void testRandomInsertionsStayOrdered() {
+        logger.info("Running testRandomInsertionsStayOrdered");
+
+        // Arrange
+        Random random = new Random(42);
+        List<String> keys = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 2000; i++) {
+            int position = random.nextInt(keys.size() + 1);
+            String lower = position == 0 ? null : keys.get(position - 1);
+            String upper = position == keys.size() ? null : keys.get(position);
+            keys.add(position, RankKeys.between(lower, upper));
+        }
+
+        // Assert
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue(keys.get(i - 1).compareTo(keys.get(i)) < 0);
+        }
+        keys.forEach(key -> assertFalse(key.endsWith("0")));
+    }
+
+    /**
+     * Test that bulk keys are ordered and only grow logarithmically with their number.
+     */
+    @Test
+    void testBulkKeysAreShort() {
+        logger.info("Running testBulkKeysAreShort");
+
+        // Act
+        List<String> keys = RankKeys.between(null, RankKeys.MIDDLE, 100_000);
+
+        // Assert
+        assertEquals(100_000, keys.size());
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue(keys.get(i - 1).compareTo(keys.get(i)) < 0);
+        }
+        assertTrue(keys.get(keys.size() - 1).compareTo(RankKeys.MIDDLE) < 0);
+        assertTrue(keys.stream().allMatch(key -> key.length() <= 6));
+    }
+
+    /**
+     * Test that appending returns short keys after the last key.
+     */
+    @Test
+    void testAfter() {
+        logger.info("Running testAfter");
+
+        // Act & Assert
+        assertEquals(RankKeys.MIDDLE, RankKeys.after(null));
+        assertEquals("l", RankKeys.after("k3"));
+        assertEquals("zi", RankKeys.after("z"));
+        assertEquals("z2", RankKeys.after("z1x"));
+    }
+
+    private static void assertBetween(String lower, String key, String upper) {
+        assertTrue(lower == null || lower.compareTo(key) < 0, key + " is not after " + lower);
+        assertTrue(upper == null || key.compareTo(upper) < 0, key + " is not before " + upper);
+    }
+}
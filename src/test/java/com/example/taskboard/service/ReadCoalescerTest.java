@@ -0,0 +1,170 @@
+package com.example.taskboard.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.taskboard.dto.TaskDetails;
+import com.example.taskboard.event.BoardChangeEvent;
+import com.example.taskboard.exception.TaskNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Unit tests for the ReadCoalescer class.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ReadCoalescerTest {
+
+    private static final Logger logger = Logger.getLogger(ReadCoalescerTest.class.getName());
+
+    private static final int CALLERS = 8;
+
+    @Mock
+    private TaskService taskService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ReadCoalescer readCoalescer;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        readCoalescer.init();
+    }
+
+    /**
+     * Test that concurrent reads of one task share a single load and a single serialized body.
+     */
+    @Test
+    public void testConcurrentReadsShareOneLoad() throws Exception {
+        logger.info("Running testConcurrentReadsShareOneLoad");
+        // Arrange
+        TaskDetails task = new TaskDetails(1L, "Task", "Description", 0L, 10L, "List");
+        when(taskService.getTaskById(1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return task;
+        });
+
+        // Act
+        List<ReadCoalescer.Serialized<TaskDetails>> results = readConcurrently(() -> readCoalescer.getTaskById(1L));
+
+        // Assert
+        verify(taskService, times(1)).getTaskById(1L);
+        assertEquals(CALLERS - 1, meterRegistry.get("taskboard.reads.coalesced").counter().count());
+        for (ReadCoalescer.Serialized<TaskDetails> result : results) {
+            assertSame(results.get(0).json(), result.json());
+        }
+        assertEquals(task, results.get(0).value());
+        assertTrue(new String(results.get(0).json(), StandardCharsets.UTF_8).contains("\"name\":\"Task\""));
+    }
+
+    /**
+     * Test that a change detaches the read in flight, so callers arriving after it load again.
+     */
+    @Test
+    public void testChangeDetachesReadInFlight() throws Exception {
+        logger.info("Running testChangeDetachesReadInFlight");
+        // Arrange
+        CountDownLatch loading = new CountDownLatch(1);
+        TaskDetails task = new TaskDetails(1L, "Task", "Description", 0L, 10L, "List");
+        when(taskService.getTaskById(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return task;
+        }).thenReturn(task);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // Act
+        Future<?> first = executor.submit(() -> readCoalescer.getTaskById(1L));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        readCoalescer.onBoardChange(BoardChangeEvent.taskUpdated(1L, "Renamed", "Description"));
+        readCoalescer.getTaskById(1L);
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Assert
+        verify(taskService, times(2)).getTaskById(1L);
+        assertEquals(0, meterRegistry.get("taskboard.reads.coalesced").counter().count());
+    }
+
+    /**
+     * Test that a failed load fails every caller that joined it, and is not kept.
+     */
+    @Test
+    public void testFailedLoadFailsEveryCaller() throws Exception {
+        logger.info("Running testFailedLoadFailsEveryCaller");
+        // Arrange
+        when(taskService.getTaskById(7L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new TaskNotFoundException("Task with ID 7 not found");
+        });
+
+        // Act
+        List<Object> outcomes = readConcurrently(() -> {
+            try {
+                return readCoalescer.getTaskById(7L);
+            } catch (TaskNotFoundException ex) {
+                return ex;
+            }
+        });
+
+        // Assert
+        verify(taskService, times(1)).getTaskById(7L);
+        outcomes.forEach(outcome -> assertInstanceOf(TaskNotFoundException.class, outcome));
+        assertThrows(TaskNotFoundException.class, () -> readCoalescer.getTaskById(7L));
+        verify(taskService, times(2)).getTaskById(7L);
+    }
+
+    /**
+     * Starts {@value #CALLERS} reads, releases the load once all but the first have joined it,
+     * and collects their results.
+     */
+    private <T> List<T> readConcurrently(Callable<T> read) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(read));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (meterRegistry.get("taskboard.reads.coalesced").counter().count() < CALLERS - 1
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(5, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.taskboard.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.taskboard.dto.TaskImportItem;
+import com.example.taskboard.dto.TaskImportResult;
+import com.example.taskboard.model.TaskList;
+import com.example.taskboard.repository.TaskListRepository;
+import com.example.taskboard.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Integration tests for the TaskImportService class.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class TaskImportServiceTest {
+
+    private static final Logger logger = Logger.getLogger(TaskImportServiceTest.class.getName());
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    private Long listId;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+        taskListRepository.deleteAllInBatch();
+        TaskList taskList = new TaskList();
+        taskList.setName("Imported");
+        listId = taskListRepository.save(taskList).getId();
+    }
+
+    /**
+     * Test for importing valid and invalid items across several chunks.
+     */
+    @Test
+    void testImportTasks() {
+        logger.info("Running testImportTasks");
+
+        // Arrange
+        List<TaskImportItem> items = List.of(
+                new TaskImportItem(listId, "Task 1", "First"),
+                new TaskImportItem(listId + 1000, "Task 2", "Missing list"),
+                new TaskImportItem(listId, " ", "Blank name"),
+                new TaskImportItem(listId, "Task 4", null),
+                new TaskImportItem(listId, "Task 5", "Last"));
+        List<TaskImportResult> results = new ArrayList<>();
+
+        // Act
+        taskImportService.importTasks(items.iterator(), 2, results::add);
+
+        // Assert
+        assertEquals(5, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).index());
+        }
+        assertEquals(TaskImportResult.Status.CREATED, results.get(0).status());
+        assertEquals(TaskImportResult.Status.REJECTED, results.get(1).status());
+        assertEquals("Task list with ID " + (listId + 1000) + " not found", results.get(1).error());
+        assertEquals(TaskImportResult.Status.REJECTED, results.get(2).status());
+        assertEquals(TaskImportResult.Status.CREATED, results.get(3).status());
+        assertEquals(TaskImportResult.Status.CREATED, results.get(4).status());
+
+        assertEquals(3, taskRepository.count());
+        assertEquals("Task 5", taskRepository.findById(results.get(4).taskId()).orElseThrow().getName());
+    }
+
+    /**
+     * Test for importing an empty stream of items.
+     */
+    @Test
+    void testImportTasksEmpty() {
+        logger.info("Running testImportTasksEmpty");
+
+        // Act
+        List<TaskImportResult> results = new ArrayList<>();
+        taskImportService.importTasks(List.<TaskImportItem>of().iterator(), null, results::add);
+
+        // Assert
+        assertTrue(results.isEmpty());
+        assertEquals(0, taskRepository.count());
+    }
+
+    /**
+     * Test that a requested chunk size is bounded by the configured maximum.
+     */
+    @Test
+    void testChunkSizeIsClamped() {
+        logger.info("Running testChunkSizeIsClamped");
+
+        // Act
+        int huge = taskImportService.clampChunkSize(2_000_000_000);
+        int requested = taskImportService.clampChunkSize(10);
+        int missing = taskImportService.clampChunkSize(null);
+
+        // Assert
+        assertEquals(5000, huge);
+        assertEquals(10, requested);
+        assertEquals(1000, missing);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.taskboard.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.taskboard.dto.TaskBatchResult;
+import com.example.taskboard.exception.TaskListNotFoundException;
+import com.example.taskboard.model.Task;
+import com.example.taskboard.repository.TaskListRepository;
+import com.example.taskboard.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Integration tests for the batch task operations, run with a chunk size of two IDs.
+ */
+@SpringBootTest(properties = "taskboard.batch.chunk-size=2")
+@ActiveProfiles("test")
+public class TaskServiceBatchTest {
+
+    private static final Logger logger = Logger.getLogger(TaskServiceBatchTest.class.getName());
+
+    private static final long MISSING_ID = 999_999L;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Long listId;
+
+    private Long otherListId;
+
+    private List<Long> taskIds;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+        taskListRepository.deleteAllInBatch();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        listId = taskService.createTaskList("Source").getId();
+        otherListId = taskService.createTaskList("Target").getId();
+        taskIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            taskIds.add(taskService.addTaskToList(listId, "Task " + i, "Description").getId());
+        }
+    }
+
+    /**
+     * Test that a batch move moves the existing tasks with one lookup, one batch of key writes and
+     * one UPDATE per chunk and reports the missing IDs.
+     */
+    @Test
+    void testMoveTasks() {
+        logger.info("Running testMoveTasks");
+
+        // Arrange
+        List<Long> requested = List.of(taskIds.get(0), MISSING_ID, taskIds.get(1), taskIds.get(2));
+
+        // Act
+        statistics.clear();
+        TaskBatchResult result = taskService.moveTasks(requested, otherListId);
+
+        // Assert
+        assertEquals(List.of(taskIds.get(0), taskIds.get(1), taskIds.get(2)), result.succeeded());
+        assertEquals(List.of(MISSING_ID), result.notFound());
+        assertTrue(statistics.getPrepareStatementCount() <= 2 + 2 * 2);
+        for (Task task : taskRepository.findAllById(result.succeeded())) {
+            assertEquals(otherListId, task.getTaskList().getId());
+            assertEquals(1L, task.getVersion());
+        }
+        assertEquals(listId, taskRepository.findById(taskIds.get(3)).orElseThrow().getTaskList().getId());
+    }
+
+    /**
+     * Test that a batch move to a missing task list fails without moving any task.
+     */
+    @Test
+    void testMoveTasksToMissingList() {
+        logger.info("Running testMoveTasksToMissingList");
+
+        // Act & Assert
+        assertThrows(TaskListNotFoundException.class, () -> taskService.moveTasks(taskIds, MISSING_ID));
+        for (Task task : taskRepository.findAll()) {
+            assertEquals(listId, task.getTaskList().getId());
+        }
+    }
+
+    /**
+     * Test that a batch update applies once per task, even when an ID is repeated.
+     */
+    @Test
+    void testUpdateTasks() {
+        logger.info("Running testUpdateTasks");
+
+        // Arrange
+        List<Long> requested = List.of(taskIds.get(3), taskIds.get(3), MISSING_ID, taskIds.get(4));
+
+        // Act
+        TaskBatchResult result = taskService.updateTasks(requested, "Done", "Closed");
+
+        // Assert
+        assertEquals(List.of(taskIds.get(3), taskIds.get(4)), result.succeeded());
+        assertEquals(List.of(MISSING_ID), result.notFound());
+        for (Task task : taskRepository.findAllById(result.succeeded())) {
+            assertEquals("Done", task.getName());
+            assertEquals("Closed", task.getDescription());
+            assertEquals(1L, task.getVersion());
+        }
+        assertEquals("Closed", taskService.getTaskById(taskIds.get(3)).description());
+    }
+
+    /**
+     * Test that a batch delete removes the existing tasks across several chunks.
+     */
+    @Test
+    void testDeleteTasks() {
+        logger.info("Running testDeleteTasks");
+
+        // Arrange
+        List<Long> requested = new ArrayList<>(taskIds);
+        requested.add(MISSING_ID);
+
+        // Act
+        TaskBatchResult result = taskService.deleteTasks(requested);
+
+        // Assert
+        assertEquals(taskIds, result.succeeded());
+        assertEquals(List.of(MISSING_ID), result.notFound());
+        assertEquals(0, taskRepository.count());
+        assertEquals(new TaskBatchResult(List.of(), List.of()), taskService.deleteTasks(null));
+    }
+}
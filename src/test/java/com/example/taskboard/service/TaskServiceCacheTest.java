@@ -0,0 +1,151 @@
+package com.example.taskboard.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.taskboard.config.CacheConfig;
+import com.example.taskboard.exception.TaskNotFoundException;
+import com.example.taskboard.model.Task;
+import com.example.taskboard.model.TaskList;
+import com.example.taskboard.repository.TaskListRepository;
+import com.example.taskboard.repository.TaskRepository;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Integration tests for the caches in front of task and task list lookups.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class TaskServiceCacheTest {
+
+    private static final Logger logger = Logger.getLogger(TaskServiceCacheTest.class.getName());
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private TaskList taskList;
+
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+        taskListRepository.deleteAllInBatch();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        taskList = new TaskList();
+        taskList.setName("Cached");
+        taskList = taskListRepository.save(taskList);
+        task = taskService.addTaskToList(taskList.getId(), "Original", "Description");
+    }
+
+    /**
+     * Test that repeated lookups of a task are served from the cache.
+     */
+    @Test
+    void testGetTaskByIdIsCached() {
+        logger.info("Running testGetTaskByIdIsCached");
+
+        // Arrange
+        CacheStats before = nativeCache(CacheConfig.TASKS).stats();
+        statistics.clear();
+
+        // Act
+        taskService.getTaskById(task.getId());
+        taskService.getTaskById(task.getId());
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        CacheStats stats = nativeCache(CacheConfig.TASKS).stats().minus(before);
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+    }
+
+    /**
+     * Test that the task list lookups made by batch moves are served from the cache.
+     */
+    @Test
+    void testTaskListLookupIsCached() {
+        logger.info("Running testTaskListLookupIsCached");
+
+        // Arrange
+        CacheStats before = nativeCache(CacheConfig.TASK_LISTS).stats();
+
+        // Act
+        taskService.moveTasks(List.of(task.getId()), taskList.getId());
+        taskService.moveTasks(List.of(task.getId()), taskList.getId());
+
+        // Assert
+        CacheStats stats = nativeCache(CacheConfig.TASK_LISTS).stats().minus(before);
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+    }
+
+    /**
+     * Test that updating a task evicts it, so the next read sees the change.
+     */
+    @Test
+    void testUpdateTaskEvictsCachedTask() {
+        logger.info("Running testUpdateTaskEvictsCachedTask");
+
+        // Arrange
+        taskService.getTaskById(task.getId());
+
+        // Act
+        taskService.updateTask(task.getId(), "Renamed", "Description", null);
+
+        // Assert
+        assertEquals("Renamed", taskService.getTaskById(task.getId()).name());
+    }
+
+    /**
+     * Test that deleting a task list evicts the list and its tasks.
+     */
+    @Test
+    void testDeleteTaskListEvictsCachedEntries() {
+        logger.info("Running testDeleteTaskListEvictsCachedEntries");
+
+        // Arrange
+        taskService.getTaskById(task.getId());
+
+        // Act
+        taskService.deleteTaskList(taskList.getId());
+
+        // Assert
+        assertThrows(TaskNotFoundException.class, () -> taskService.getTaskById(task.getId()));
+        assertTrue(taskListRepository.findRefById(taskList.getId()).isEmpty());
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(String name) {
+        TransactionAwareCacheDecorator decorator = (TransactionAwareCacheDecorator) cacheManager.getCache(name);
+        return ((CaffeineCache) decorator.getTargetCache()).getNativeCache();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.taskboard.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.taskboard.dto.CursorPage;
+import com.example.taskboard.dto.TaskListDetails;
+import com.example.taskboard.model.Task;
+import com.example.taskboard.model.TaskList;
+import com.example.taskboard.repository.TaskListRepository;
+import com.example.taskboard.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Integration tests asserting that loading task lists with their tasks runs a constant
+ * number of SQL statements, independent of how many lists are loaded.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class TaskServiceFetchPlanTest {
+
+    private static final Logger logger = Logger.getLogger(TaskServiceFetchPlanTest.class.getName());
+
+    private static final int TASKS_PER_LIST = 3;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+        taskListRepository.deleteAllInBatch();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Test that a page costs the same number of statements for 5 and for 40 lists.
+     */
+    @Test
+    void testSmallPageUsesConstantQueries() {
+        logger.info("Running testSmallPageUsesConstantQueries");
+
+        assertEquals(2, statementsToLoadPage(5));
+        assertEquals(2, statementsToLoadPage(40));
+    }
+
+    /**
+     * Test that a page costs the same number of statements for 60 and for 100 lists.
+     */
+    @Test
+    void testLargePageUsesConstantQueries() {
+        logger.info("Running testLargePageUsesConstantQueries");
+
+        assertEquals(2, statementsToLoadPage(60));
+        assertEquals(2, statementsToLoadPage(TaskList.TASKS_BATCH_SIZE));
+    }
+
+    /**
+     * Test that reading task lists creates no managed entities.
+     */
+    @Test
+    void testReadsDoNotLoadEntities() {
+        logger.info("Running testReadsDoNotLoadEntities");
+
+        // Arrange
+        seed(10);
+        statistics.clear();
+
+        // Act
+        taskService.getAllTaskLists();
+        taskService.getTaskListPage(null, 5);
+
+        // Assert
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    /**
+     * Test that loading every task list with its tasks is a single statement.
+     */
+    @Test
+    void testGetAllTaskListsUsesSingleQuery() {
+        logger.info("Running testGetAllTaskListsUsesSingleQuery");
+
+        // Arrange
+        seed(30);
+        statistics.clear();
+
+        // Act
+        List<TaskListDetails> taskLists = taskService.getAllTaskLists();
+
+        // Assert
+        assertEquals(30, taskLists.size());
+        taskLists.forEach(taskList -> assertEquals(TASKS_PER_LIST, taskList.tasks().size()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private long statementsToLoadPage(int listCount) {
+        taskRepository.deleteAllInBatch();
+        taskListRepository.deleteAllInBatch();
+        seed(listCount);
+        statistics.clear();
+
+        CursorPage<TaskListDetails> page = taskService.getTaskListPage(null, listCount);
+
+        assertEquals(listCount, page.items().size());
+        page.items().forEach(taskList -> assertEquals(TASKS_PER_LIST, taskList.tasks().size()));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seed(int listCount) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < listCount; i++) {
+            TaskList taskList = new TaskList();
+            taskList.setName("List " + i);
+            taskList = taskListRepository.save(taskList);
+            for (int j = 0; j < TASKS_PER_LIST; j++) {
+                Task task = new Task();
+                task.setName("Task " + j);
+                task.setDescription("Description " + j);
+                task.setTaskList(taskList);
+                tasks.add(task);
+            }
+        }
+        taskRepository.saveAll(tasks);
+    }
+}
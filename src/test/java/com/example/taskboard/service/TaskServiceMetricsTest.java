@@ -0,0 +1,94 @@
+package com.example.taskboard.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.taskboard.config.MetricsConfig;
+import com.example.taskboard.exception.TaskNotFoundException;
+import com.example.taskboard.model.TaskList;
+import com.example.taskboard.repository.TaskListRepository;
+import com.example.taskboard.repository.TaskRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.logging.Logger;
+
+/**
+ * Integration tests for the meters recorded around TaskService and the persistence layer.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class TaskServiceMetricsTest {
+
+    private static final Logger logger = Logger.getLogger(TaskServiceMetricsTest.class.getName());
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+        taskListRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Test that every service call is timed under its method name, including failed calls.
+     */
+    @Test
+    public void testServiceMethodsAreTimed() {
+        logger.info("Running testServiceMethodsAreTimed");
+        // Arrange
+        long addsBefore = serviceCount("addTaskToList", "none");
+        long failedUpdatesBefore = serviceCount("updateTask", TaskNotFoundException.class.getSimpleName());
+        TaskList taskList = taskService.createTaskList("Timed");
+
+        // Act
+        taskService.addTaskToList(taskList.getId(), "Task", "Description");
+        taskService.addTaskToList(taskList.getId(), "Task", "Description");
+        assertThrows(TaskNotFoundException.class, () -> taskService.updateTask(-1L, "Name", "Description", null));
+
+        // Assert
+        assertEquals(addsBefore + 2, serviceCount("addTaskToList", "none"));
+        assertEquals(failedUpdatesBefore + 1, serviceCount("updateTask", TaskNotFoundException.class.getSimpleName()));
+    }
+
+    /**
+     * Test that repository, Hibernate statistics and connection pool meters are registered.
+     */
+    @Test
+    public void testPersistenceMetersAreRegistered() {
+        logger.info("Running testPersistenceMetersAreRegistered");
+        // Arrange
+        TaskList taskList = taskService.createTaskList("Persistence");
+
+        // Act
+        taskService.getAllTaskLists();
+
+        // Assert
+        assertNotNull(meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "TaskListRepository").tag("method", "findAllRows").timer());
+        assertNotNull(meterRegistry.find("hibernate.query.executions").functionCounter());
+        assertNotNull(meterRegistry.find("hibernate.flushes").functionCounter());
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").gauge());
+        assertNotNull(taskList.getId());
+    }
+
+    private long serviceCount(String method, String exception) {
+        Timer timer = meterRegistry.find(MetricsConfig.SERVICE_TIMER)
+                .tag("method", method).tag("exception", exception).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.taskboard.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.taskboard.dto.CursorPage;
+import com.example.taskboard.dto.TaskItem;
+import com.example.taskboard.dto.TaskPosition;
+import com.example.taskboard.exception.TaskListNotFoundException;
+import com.example.taskboard.model.Task;
+import com.example.taskboard.repository.TaskListRepository;
+import com.example.taskboard.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Integration tests for the order of tasks within a task list.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class TaskServiceOrderingTest {
+
+    private static final Logger logger = Logger.getLogger(TaskServiceOrderingTest.class.getName());
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRankRebalancer rankRebalancer;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Long listId;
+
+    private List<Long> taskIds;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+        taskListRepository.deleteAllInBatch();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        listId = taskService.createTaskList("Board").getId();
+        taskIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            taskIds.add(taskService.addTaskToList(listId, "Card " + i, "Description").getId());
+        }
+    }
+
+    /**
+     * Test that tasks are listed in the order they were added.
+     */
+    @Test
+    void testTasksAreAppended() {
+        logger.info("Running testTasksAreAppended");
+
+        // Act & Assert
+        assertEquals(taskIds, orderedTaskIds());
+        assertEquals(taskIds, taskService.getAllTaskLists().get(0).tasks().stream().map(TaskItem::id).toList());
+    }
+
+    /**
+     * Test that moving a task between two others reads the gap and writes only the moved task. The
+     * write goes through JDBC and returns the task, so the gap read is the only statement Hibernate prepares.
+     */
+    @Test
+    void testMoveBetweenTasksWritesOneRow() {
+        logger.info("Running testMoveBetweenTasksWritesOneRow");
+
+        // Arrange
+        Map<Long, Long> versionsBefore = versions();
+
+        // Act
+        statistics.clear();
+        taskService.moveTaskToList(taskIds.get(4), listId, new TaskPosition(taskIds.get(0), null), null);
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of(taskIds.get(0), taskIds.get(4), taskIds.get(1), taskIds.get(2), taskIds.get(3)),
+                orderedTaskIds());
+        Map<Long, Long> versionsAfter = versions();
+        for (Long taskId : taskIds) {
+            long expected = versionsBefore.get(taskId) + (taskId.equals(taskIds.get(4)) ? 1 : 0);
+            assertEquals(expected, versionsAfter.get(taskId));
+        }
+    }
+
+    /**
+     * Test that a task can be moved to the front of another list.
+     */
+    @Test
+    void testMoveBeforeFirstTaskOfAnotherList() {
+        logger.info("Running testMoveBeforeFirstTaskOfAnotherList");
+
+        // Arrange
+        Long otherListId = taskService.createTaskList("Other").getId();
+        Long first = taskService.addTaskToList(otherListId, "First", "Description").getId();
+
+        // Act
+        taskService.moveTaskToList(taskIds.get(2), otherListId, new TaskPosition(null, first), null);
+
+        // Assert
+        assertEquals(List.of(taskIds.get(2), first),
+                taskService.getTaskPage(otherListId, null, 10).items().stream().map(TaskItem::id).toList());
+    }
+
+    /**
+     * Test that paging through a list follows rank order.
+     */
+    @Test
+    void testTaskPagesFollowRankOrder() {
+        logger.info("Running testTaskPagesFollowRankOrder");
+
+        // Arrange
+        taskService.moveTaskToList(taskIds.get(0), listId, new TaskPosition(taskIds.get(3), null), null);
+        List<Long> expected = List.of(taskIds.get(1), taskIds.get(2), taskIds.get(3), taskIds.get(0), taskIds.get(4));
+
+        // Act
+        List<Long> paged = new ArrayList<>();
+        Long after = null;
+        do {
+            CursorPage<TaskItem> page = taskService.getTaskPage(listId, after, 2);
+            page.items().forEach(item -> paged.add(item.id()));
+            after = page.nextCursor();
+        } while (after != null);
+
+        // Assert
+        assertEquals(expected, paged);
+        assertThrows(TaskListNotFoundException.class, () -> taskService.getTaskPage(listId + 1000, null, 2));
+    }
+
+    /**
+     * Test that repeated inserts into the same gap produce long keys that rebalancing shortens without
+     * changing the order.
+     */
+    @Test
+    void testRebalanceShortensKeysAndKeepsOrder() {
+        logger.info("Running testRebalanceShortensKeysAndKeepsOrder");
+
+        // Arrange
+        for (int i = 0; i < 100; i++) {
+            Long taskId = taskService.addTaskToList(listId, "Inserted " + i, "Description").getId();
+            taskService.moveTaskToList(taskId, listId, new TaskPosition(taskIds.get(0), null), null);
+        }
+        List<Long> order = orderedTaskIds();
+        assertTrue(longestKey() > 16);
+
+        // Act
+        int rewritten = rankRebalancer.rebalance(listId);
+
+        // Assert
+        assertTrue(rewritten > 0);
+        assertEquals(order, orderedTaskIds());
+        assertTrue(longestKey() <= 3);
+    }
+
+    private List<Long> orderedTaskIds() {
+        return taskService.getTaskPage(listId, null, TaskService.MAX_PAGE_SIZE).items().stream()
+                .map(TaskItem::id)
+                .toList();
+    }
+
+    private Map<Long, Long> versions() {
+        return taskRepository.findAll().stream().collect(Collectors.toMap(Task::getId, Task::getVersion));
+    }
+
+    private int longestKey() {
+        return taskRepository.findAll().stream().map(Task::getRankKey).mapToInt(String::length).max().orElse(0);
+    }
+}
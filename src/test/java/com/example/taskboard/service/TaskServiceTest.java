@@ -2,24 +2,43 @@ package com.example.taskboard.service;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.example.taskboard.dto.CursorPage;
+import com.example.taskboard.dto.RankGap;
+import com.example.taskboard.dto.TaskDetails;
+import com.example.taskboard.dto.TaskItem;
+import com.example.taskboard.dto.TaskListDetails;
+import com.example.taskboard.dto.TaskListRef;
+import com.example.taskboard.dto.TaskListRow;
+import com.example.taskboard.dto.TaskListSummary;
+import com.example.taskboard.dto.TaskPosition;
+import com.example.taskboard.board.BoardContext;
+import com.example.taskboard.event.BoardChangeEvent;
 import com.example.taskboard.exception.TaskListNotFoundException;
 import com.example.taskboard.exception.TaskNotFoundException;
 import com.example.taskboard.model.Task;
 import com.example.taskboard.model.TaskList;
 import com.example.taskboard.repository.TaskListRepository;
 import com.example.taskboard.repository.TaskRepository;
+import com.example.taskboard.store.JpaTaskStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
 import java.util.Arrays;
 import java.util.Optional;
 import java.util.List;
 import java.util.logging.Logger;
 
 /**
- * Unit tests for the TaskService class.
+ * Unit tests for the TaskService class, running against the JPA task store over mocked repositories.
  */
 public class TaskServiceTest {
 
@@ -31,6 +50,21 @@ public class TaskServiceTest {
     @Mock
     private TaskListRepository taskListRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TaskRankRebalancer rankRebalancer;
+
+    @Mock
+    private BoardSnapshots boardSnapshots;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private JpaTaskStore taskStore;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -38,26 +72,93 @@ public class TaskServiceTest {
     void setUp() {
         // Initialize mocks
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(taskService, "taskStore", taskStore);
     }
 
     /**
-     * Test for retrieving all task lists.
+     * Test for retrieving all task lists, grouping the joined rows per list.
      */
     @Test
     void testGetAllTaskLists() {
         logger.info("Running testGetAllTaskLists");
 
         // Arrange
-        TaskList taskList1 = new TaskList();
-        TaskList taskList2 = new TaskList();
-        when(taskListRepository.findAll()).thenReturn(Arrays.asList(taskList1, taskList2));
+        when(taskListRepository.findAllRows()).thenReturn(Arrays.asList(
+                new TaskListRow(1L, "Work", 10L, "Report", "Quarterly"),
+                new TaskListRow(1L, "Work", 11L, "Meeting", "Weekly"),
+                new TaskListRow(2L, "Empty", null, null, null)));
 
         // Act
-        List<TaskList> taskLists = taskService.getAllTaskLists();
+        List<TaskListDetails> taskLists = taskService.getAllTaskLists();
 
         // Assert
         assertEquals(2, taskLists.size());
-        verify(taskListRepository, times(1)).findAll();
+        assertEquals("Work", taskLists.get(0).name());
+        assertEquals(List.of(new TaskItem(10L, "Report", "Quarterly"), new TaskItem(11L, "Meeting", "Weekly")),
+                taskLists.get(0).tasks());
+        assertTrue(taskLists.get(1).tasks().isEmpty());
+        verify(taskListRepository, times(1)).findAllRows();
+    }
+
+    /**
+     * Test for retrieving a full page of task lists, which yields a cursor for the next page.
+     */
+    @Test
+    void testGetTaskListPage() {
+        logger.info("Running testGetTaskListPage");
+
+        // Arrange
+        when(taskListRepository.findIdsAfter(10L, Limit.of(2))).thenReturn(List.of(11L, 12L));
+        when(taskListRepository.findRowsByListIdIn(List.of(11L, 12L))).thenReturn(Arrays.asList(
+                new TaskListRow(11L, "First", 1L, "Task", "Description"),
+                new TaskListRow(12L, "Second", null, null, null)));
+
+        // Act
+        CursorPage<TaskListDetails> page = taskService.getTaskListPage(10L, 2);
+
+        // Assert
+        assertEquals(2, page.items().size());
+        assertEquals(1, page.items().get(0).tasks().size());
+        assertEquals(12L, page.nextCursor());
+    }
+
+    /**
+     * Test for retrieving a page past the last task list, which does not query for tasks.
+     */
+    @Test
+    void testGetTaskListPagePastEnd() {
+        logger.info("Running testGetTaskListPagePastEnd");
+
+        // Arrange
+        when(taskListRepository.findIdsAfter(0L, Limit.of(200))).thenReturn(List.of());
+
+        // Act
+        CursorPage<TaskListDetails> page = taskService.getTaskListPage(null, 200);
+
+        // Assert
+        assertTrue(page.items().isEmpty());
+        assertNull(page.nextCursor());
+        verify(taskListRepository, never()).findRowsByListIdIn(any());
+    }
+
+    /**
+     * Test for retrieving the last page of task list summaries, which has no next cursor.
+     */
+    @Test
+    void testGetTaskListSummariesLastPage() {
+        logger.info("Running testGetTaskListSummariesLastPage");
+
+        // Arrange
+        TaskListSummary summary = new TaskListSummary(1L, "Personal", 3);
+        when(taskListRepository.findSummariesAfter(0L, Limit.of(TaskService.DEFAULT_PAGE_SIZE)))
+                .thenReturn(List.of(summary));
+
+        // Act
+        CursorPage<TaskListSummary> page = taskService.getTaskListSummaries(null, null);
+
+        // Assert
+        assertEquals(List.of(summary), page.items());
+        assertNull(page.nextCursor());
     }
 
     /**
@@ -105,6 +206,7 @@ public class TaskServiceTest {
         assertEquals("Test Description", createdTask.getDescription());
         verify(taskListRepository, times(1)).findById(listId);
         verify(taskRepository, times(1)).save(any(Task.class));
+        verify(eventPublisher, times(1)).publishEvent(any(BoardChangeEvent.class));
     }
 
     /**
@@ -138,23 +240,15 @@ public class TaskServiceTest {
 
         // Arrange
         Long taskId = 1L;
-        Task task = new Task();
-        task.setId(taskId);
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-
-        Task updatedTask = new Task();
-        updatedTask.setName("Updated Task");
-        updatedTask.setDescription("Updated Description");
-        when(taskRepository.save(any(Task.class))).thenReturn(updatedTask);
+        when(taskRepository.updateDetails(taskId, "Updated Task", "Updated Description", null)).thenReturn(1);
 
         // Act
-        Task result = taskService.updateTask(taskId, "Updated Task", "Updated Description");
+        taskService.updateTask(taskId, "Updated Task", "Updated Description", null);
 
         // Assert
-        assertEquals("Updated Task", result.getName());
-        assertEquals("Updated Description", result.getDescription());
-        verify(taskRepository, times(1)).findById(taskId);
-        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskRepository, times(1)).updateDetails(taskId, "Updated Task", "Updated Description", null);
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any(Task.class));
     }
 
     /**
@@ -166,11 +260,11 @@ public class TaskServiceTest {
 
         // Arrange
         Long taskId = 1L;
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.updateDetails(taskId, "Updated Task", "Updated Description", null)).thenReturn(0);
 
         // Act & Assert
         Exception exception = assertThrows(TaskNotFoundException.class, () -> {
-            taskService.updateTask(taskId, "Updated Task", "Updated Description");
+            taskService.updateTask(taskId, "Updated Task", "Updated Description", null);
         });
 
         String expectedMessage = "Task with ID " + taskId + " not found";
@@ -228,13 +322,16 @@ public class TaskServiceTest {
 
         // Arrange
         Long listId = 1L;
-        when(taskListRepository.existsById(listId)).thenReturn(true);
+        when(taskRepository.deleteAllByTaskListId(listId)).thenReturn(3);
+        when(taskListRepository.deleteListById(listId)).thenReturn(1);
 
         // Act
         taskService.deleteTaskList(listId);
 
         // Assert
-        verify(taskListRepository, times(1)).deleteById(listId);
+        verify(taskRepository, times(1)).deleteAllByTaskListId(listId);
+        verify(taskListRepository, times(1)).deleteListById(listId);
+        verify(taskListRepository, never()).deleteById(any());
     }
 
     /**
@@ -246,7 +343,7 @@ public class TaskServiceTest {
 
         // Arrange
         Long listId = 1L;
-        when(taskListRepository.existsById(listId)).thenReturn(false);
+        when(taskListRepository.deleteListById(listId)).thenReturn(0);
 
         // Act & Assert
         Exception exception = assertThrows(TaskListNotFoundException.class, () -> {
@@ -269,23 +366,90 @@ public class TaskServiceTest {
         // Arrange
         Long taskId = 1L;
         Long newListId = 2L;
-        Task task = new Task();
-        TaskList newTaskList = new TaskList();
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-        when(taskListRepository.findById(newListId)).thenReturn(Optional.of(newTaskList));
+        TaskDetails moved = new TaskDetails(taskId, "Task", "Description", 4L, new TaskListRef(newListId, "Done"));
+        when(taskRepository.findLastRankKey(newListId)).thenReturn("m");
+        when(moveToRank(jdbcTemplate, taskId, newListId, "n")).thenReturn(List.of(moved));
 
-        Task movedTask = new Task();
-        movedTask.setTaskList(newTaskList);
-        when(taskRepository.save(any(Task.class))).thenReturn(movedTask);
+        // Act
+        TaskDetails result = taskService.moveTaskToList(taskId, newListId, null);
+
+        // Assert
+        assertEquals(moved, result);
+        verify(jdbcTemplate, times(1)).queryForList(anyString(), eq(Long.class), eq(newListId), eq(BoardContext.DEFAULT));
+        verify(rankRebalancer, times(1)).keyAssigned(newListId, "n");
+        verify(eventPublisher, times(1)).publishEvent(BoardChangeEvent.taskMoved(taskId, newListId));
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).findDetailsById(any());
+        verify(taskListRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    /**
+     * Test for moving a task after another task, which writes only the moved task.
+     */
+    @Test
+    void testMoveTaskToPosition() {
+        logger.info("Running testMoveTaskToPosition");
+
+        // Arrange
+        Long taskId = 1L;
+        Long listId = 2L;
+        Long anchorId = 3L;
+        when(taskRepository.findGapAfter(listId, anchorId, taskId)).thenReturn(Optional.of(new RankGap("a", "b", false)));
+        when(moveToRank(jdbcTemplate, taskId, listId, "ai")).thenReturn(List.of(movedTo(taskId, listId)));
 
         // Act
-        Task result = taskService.moveTaskToList(taskId, newListId);
+        taskService.moveTaskToList(taskId, listId, new TaskPosition(anchorId, null), null);
 
         // Assert
-        assertEquals(newTaskList, result.getTaskList());
-        verify(taskRepository, times(1)).findById(taskId);
-        verify(taskListRepository, times(1)).findById(newListId);
-        verify(taskRepository, times(1)).save(any(Task.class));
+        moveToRank(verify(jdbcTemplate, times(1)), taskId, listId, "ai");
+        verify(rankRebalancer, times(1)).keyAssigned(listId, "ai");
+        verify(eventPublisher, times(1)).publishEvent(BoardChangeEvent.taskMoved(taskId, listId));
+        verify(rankRebalancer, never()).keysTied(any());
+    }
+
+    /**
+     * Test for moving a task next to a task that shares its rank key with another, which queues the list for rebalancing.
+     */
+    @Test
+    void testMoveTaskNextToTiedKey() {
+        logger.info("Running testMoveTaskNextToTiedKey");
+
+        // Arrange
+        Long taskId = 1L;
+        Long listId = 2L;
+        Long anchorId = 3L;
+        when(taskRepository.findGapBefore(listId, anchorId, taskId)).thenReturn(Optional.of(new RankGap("a", "b", true)));
+        when(moveToRank(jdbcTemplate, taskId, listId, "ai")).thenReturn(List.of(movedTo(taskId, listId)));
+
+        // Act
+        taskService.moveTaskToList(taskId, listId, new TaskPosition(null, anchorId), null);
+
+        // Assert
+        moveToRank(verify(jdbcTemplate, times(1)), taskId, listId, "ai");
+        verify(rankRebalancer, times(1)).keysTied(listId);
+    }
+
+    /**
+     * Test for moving a task next to a task that is not in the target list.
+     */
+    @Test
+    void testMoveTaskToPositionAnchorNotFound() {
+        logger.info("Running testMoveTaskToPositionAnchorNotFound");
+
+        // Arrange
+        Long taskId = 1L;
+        Long listId = 2L;
+        Long anchorId = 3L;
+        when(taskRepository.findGapBefore(listId, anchorId, taskId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        Exception exception = assertThrows(TaskNotFoundException.class, () -> {
+            taskService.moveTaskToList(taskId, listId, new TaskPosition(null, anchorId), null);
+        });
+
+        assertEquals("Task with ID " + anchorId + " not found in list " + listId, exception.getMessage());
+        verify(jdbcTemplate, never()).query(anyString(), ArgumentMatchers.<RowMapper<TaskDetails>>any(), any(Object[].class));
     }
 
     /**
@@ -298,11 +462,11 @@ public class TaskServiceTest {
         // Arrange
         Long taskId = 1L;
         Long newListId = 2L;
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(moveToRank(jdbcTemplate, taskId, newListId, RankKeys.MIDDLE)).thenReturn(List.of());
 
         // Act & Assert
         Exception exception = assertThrows(TaskNotFoundException.class, () -> {
-            taskService.moveTaskToList(taskId, newListId);
+            taskService.moveTaskToList(taskId, newListId, null);
         });
 
         String expectedMessage = "Task with ID " + taskId + " not found";
@@ -323,13 +487,12 @@ void testMoveTaskToListTaskListNotFound() {
     // Arrange
     Long taskId = 1L;
     Long newListId = 2L;
-    Task task = new Task();
-    when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
-    when(taskListRepository.findById(newListId)).thenReturn(Optional.empty());
+    when(moveToRank(jdbcTemplate, taskId, newListId, RankKeys.MIDDLE))
+            .thenThrow(new DataIntegrityViolationException("Referential integrity constraint violation"));
 
     // Act & Assert
     Exception exception = assertThrows(TaskListNotFoundException.class, () -> {
-        taskService.moveTaskToList(taskId, newListId);
+        taskService.moveTaskToList(taskId, newListId, null);
     });
 
     String expectedMessage = "Task list with ID " + newListId + " not found";
@@ -347,16 +510,16 @@ void testMoveTaskToListTaskListNotFound() {
 
         // Arrange
         Long taskId = 1L;
-        Task task = new Task();
-        task.setId(taskId);
-        when(taskRepository.findById(taskId)).thenReturn(Optional.of(task));
+        TaskDetails task = new TaskDetails(taskId, "Task", "Description", 0L, 2L, "List");
+        when(taskRepository.findDetailsById(taskId)).thenReturn(Optional.of(task));
 
         // Act
-        Task result = taskService.getTaskById(taskId);
+        TaskDetails result = taskService.getTaskById(taskId);
 
         // Assert
-        assertEquals(taskId, result.getId());
-        verify(taskRepository, times(1)).findById(taskId);
+        assertEquals(taskId, result.id());
+        assertEquals(new TaskListRef(2L, "List"), result.taskList());
+        verify(taskRepository, times(1)).findDetailsById(taskId);
     }
 
     /**
@@ -368,7 +531,7 @@ void testMoveTaskToListTaskListNotFound() {
 
         // Arrange
         Long taskId = 1L;
-        when(taskRepository.findById(taskId)).thenReturn(Optional.empty());
+        when(taskRepository.findDetailsById(taskId)).thenReturn(Optional.empty());
 
         // Act & Assert
         Exception exception = assertThrows(TaskNotFoundException.class, () -> {
@@ -381,4 +544,21 @@ void testMoveTaskToListTaskListNotFound() {
         assertTrue(actualMessage.contains(expectedMessage));
     }
 
+
+    /**
+     * Matches the single statement that moves a task to a rank key and returns it, on the given
+     * template or verification.
+     */
+    private static List<TaskDetails> moveToRank(JdbcTemplate template, Long taskId, Long listId, String rankKey) {
+        return template.query(anyString(), ArgumentMatchers.<RowMapper<TaskDetails>>any(), eq(listId), eq(rankKey),
+                eq(taskId), eq(BoardContext.DEFAULT), isNull(), isNull());
+    }
+
+    /**
+     * @return the task as the move statement returns it
+     */
+    private static TaskDetails movedTo(Long taskId, Long listId) {
+        return new TaskDetails(taskId, "Task", "Description", 1L, new TaskListRef(listId, "List"));
+    }
+
 }
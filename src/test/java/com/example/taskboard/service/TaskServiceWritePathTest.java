@@ -0,0 +1,226 @@
+package com.example.taskboard.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.taskboard.dto.TaskDetails;
+import com.example.taskboard.dto.TaskListRef;
+import com.example.taskboard.exception.TaskListNotFoundException;
+import com.example.taskboard.exception.TaskNotFoundException;
+import com.example.taskboard.exception.TaskVersionConflictException;
+import com.example.taskboard.model.Task;
+import com.example.taskboard.model.TaskList;
+import com.example.taskboard.repository.TaskListRepository;
+import com.example.taskboard.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Integration tests for the single-statement task write paths.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class TaskServiceWritePathTest {
+
+    private static final Logger logger = Logger.getLogger(TaskServiceWritePathTest.class.getName());
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private TaskList source;
+
+    private TaskList target;
+
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository.deleteAllInBatch();
+        taskListRepository.deleteAllInBatch();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        source = new TaskList();
+        source.setName("Source");
+        source = taskListRepository.save(source);
+        target = new TaskList();
+        target.setName("Target");
+        target = taskListRepository.save(target);
+        task = new Task();
+        task.setName("Card");
+        task.setDescription("Description");
+        task.setTaskList(source);
+        task = taskRepository.save(task);
+    }
+
+    /**
+     * Test that moving a task reads the target list's last rank key and then writes the task with a
+     * single statement that also returns it, so the task is not read again. The list lock and the
+     * write go through JDBC, so the only statement Hibernate prepares is the last-key read.
+     */
+    @Test
+    void testMoveTaskToListIsOneReadAndOneWrite() {
+        logger.info("Running testMoveTaskToListIsOneReadAndOneWrite");
+
+        // Act
+        statistics.clear();
+        TaskDetails result = taskService.moveTaskToList(task.getId(), target.getId(), null);
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        Task moved = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals(target.getId(), moved.getTaskList().getId());
+        assertNotNull(moved.getRankKey());
+        assertEquals(new TaskDetails(task.getId(), "Card", "Description", moved.getVersion(),
+                new TaskListRef(target.getId(), target.getName())), result);
+        assertEquals(task.getVersion() + 1, result.version());
+    }
+
+    /**
+     * Test that moving a task to a missing list reports the list as not found and leaves the task in place.
+     */
+    @Test
+    void testMoveTaskToMissingList() {
+        logger.info("Running testMoveTaskToMissingList");
+
+        // Act & Assert
+        Long missingListId = target.getId() + 1000;
+        Exception exception = assertThrows(TaskListNotFoundException.class,
+                () -> taskService.moveTaskToList(task.getId(), missingListId, null));
+        assertEquals("Task list with ID " + missingListId + " not found", exception.getMessage());
+        assertEquals(source.getId(), taskRepository.findById(task.getId()).orElseThrow().getTaskList().getId());
+    }
+
+    /**
+     * Test that moving a missing task reports the task as not found.
+     */
+    @Test
+    void testMoveMissingTask() {
+        logger.info("Running testMoveMissingTask");
+
+        // Act & Assert
+        Long missingTaskId = task.getId() + 1000;
+        Exception exception = assertThrows(TaskNotFoundException.class,
+                () -> taskService.moveTaskToList(missingTaskId, target.getId(), null));
+        assertEquals("Task with ID " + missingTaskId + " not found", exception.getMessage());
+    }
+
+    /**
+     * Test that updating a task is a single statement.
+     */
+    @Test
+    void testUpdateTaskIsSingleStatement() {
+        logger.info("Running testUpdateTaskIsSingleStatement");
+
+        // Act
+        statistics.clear();
+        taskService.updateTask(task.getId(), "Renamed", "Changed", null);
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        Task updated = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals("Renamed", updated.getName());
+        assertEquals("Changed", updated.getDescription());
+    }
+
+    /**
+     * Test that every update increments the version in the same statement.
+     */
+    @Test
+    void testWritesIncrementVersion() {
+        logger.info("Running testWritesIncrementVersion");
+
+        // Act
+        taskService.updateTask(task.getId(), "Renamed", "Changed", task.getVersion());
+        taskService.moveTaskToList(task.getId(), target.getId(), task.getVersion() + 1);
+
+        // Assert
+        assertEquals(task.getVersion() + 2, taskRepository.findById(task.getId()).orElseThrow().getVersion());
+    }
+
+    /**
+     * Test that a conditional update at a stale version is rejected and leaves the task unchanged.
+     */
+    @Test
+    void testStaleVersionIsRejected() {
+        logger.info("Running testStaleVersionIsRejected");
+
+        // Arrange
+        taskService.updateTask(task.getId(), "First", "Writer", task.getVersion());
+
+        // Act & Assert
+        assertThrows(TaskVersionConflictException.class,
+                () -> taskService.updateTask(task.getId(), "Second", "Writer", task.getVersion()));
+        assertThrows(TaskVersionConflictException.class,
+                () -> taskService.moveTaskToList(task.getId(), target.getId(), task.getVersion()));
+        Task current = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals("First", current.getName());
+        assertEquals(source.getId(), current.getTaskList().getId());
+    }
+
+    /**
+     * Test that deleting a list costs the same number of statements for 10 and for 1000 tasks.
+     */
+    @Test
+    void testDeleteTaskListUsesConstantStatements() {
+        logger.info("Running testDeleteTaskListUsesConstantStatements");
+
+        assertEquals(2, statementsToDeleteListWith(10));
+        assertEquals(2, statementsToDeleteListWith(1000));
+        assertEquals(1, taskRepository.count());
+    }
+
+    /**
+     * Test that deleting a missing list reports it as not found.
+     */
+    @Test
+    void testDeleteMissingTaskList() {
+        logger.info("Running testDeleteMissingTaskList");
+
+        // Act & Assert
+        Long missingListId = target.getId() + 1000;
+        Exception exception = assertThrows(TaskListNotFoundException.class,
+                () -> taskService.deleteTaskList(missingListId));
+        assertEquals("Task list with ID " + missingListId + " not found", exception.getMessage());
+    }
+
+    private long statementsToDeleteListWith(int taskCount) {
+        TaskList taskList = new TaskList();
+        taskList.setName("Archive");
+        taskList = taskListRepository.save(taskList);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            Task archived = new Task();
+            archived.setName("Archived " + i);
+            archived.setTaskList(taskList);
+            tasks.add(archived);
+        }
+        taskRepository.saveAll(tasks);
+
+        statistics.clear();
+        taskService.deleteTaskList(taskList.getId());
+        long statements = statistics.getPrepareStatementCount();
+
+        assertFalse(taskListRepository.existsById(taskList.getId()));
+        return statements;
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.taskboard.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.taskboard.dto.TaskFilter;
+import com.example.taskboard.dto.TaskImportItem;
+import com.example.taskboard.dto.TaskItem;
+import com.example.taskboard.dto.TaskLifecycle;
+import com.example.taskboard.dto.TaskListRow;
+import com.example.taskboard.dto.TaskOverview;
+import com.example.taskboard.model.TaskPriority;
+import com.example.taskboard.model.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Tests for the BoardLog class, through the in-memory task store it makes durable.
+ */
+public class BoardLogTest {
+
+    private static final Logger logger = Logger.getLogger(BoardLogTest.class.getName());
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Test that a restarted store recovers the board from its snapshot and the log written after it.
+     */
+    @Test
+    void testRecoversSnapshotAndLogTail() {
+        logger.info("Running testRecoversSnapshotAndLogTail");
+
+        // Arrange
+        InMemoryTaskStore store = open(directory);
+        long listId = store.createTaskList("Work").getId();
+        long otherListId = store.createTaskList("Other").getId();
+        List<Long> taskIds = insert(store, listId, 3);
+        store.snapshot();
+        store.updateTask(taskIds.get(0), "Renamed", "Changed", null);
+        store.moveTaskToRank(taskIds.get(1), otherListId, "n", null);
+        store.deleteTask(taskIds.get(2));
+        store.deleteTaskList(store.createTaskList("Deleted").getId());
+        List<TaskListRow> expected = store.findAllRows();
+        store.close();
+
+        // Act
+        InMemoryTaskStore recovered = open(directory);
+
+        // Assert
+        assertEquals(expected, recovered.findAllRows());
+        assertEquals(1L, recovered.findTaskDetails(taskIds.get(0)).orElseThrow().version());
+        assertTrue(recovered.createTaskList("New").getId() > otherListId + 1);
+        assertTrue(insert(recovered, listId, 1).get(0) > taskIds.get(2));
+        recovered.close();
+    }
+
+    /**
+     * Test that the lifecycle fields of tasks are recovered from both the snapshot and the log after it.
+     */
+    @Test
+    void testRecoversLifecycle() {
+        logger.info("Running testRecoversLifecycle");
+
+        // Arrange
+        InMemoryTaskStore store = open(directory);
+        long listId = store.createTaskList("Work").getId();
+        List<Long> taskIds = insert(store, listId, 3);
+        store.updateLifecycle(taskIds.get(0),
+                new TaskLifecycle(TaskStatus.DONE, TaskPriority.LOW, LocalDate.of(2024, 5, 1), "ada"), null);
+        store.snapshot();
+        store.updateLifecycle(taskIds.get(1), new TaskLifecycle(TaskStatus.IN_PROGRESS, TaskPriority.HIGH, null, "grace"), null);
+        TaskFilter any = new TaskFilter(null, null, null);
+        List<TaskOverview> expected = store.findTasks(any, null, Integer.MAX_VALUE);
+        store.close();
+
+        // Act
+        InMemoryTaskStore recovered = open(directory);
+
+        // Assert
+        assertEquals(expected, recovered.findTasks(any, null, Integer.MAX_VALUE));
+        assertEquals(TaskStatus.DONE, expected.get(0).status());
+        assertEquals("grace", expected.get(1).assignee());
+        assertEquals(TaskStatus.TODO, expected.get(2).status());
+        recovered.close();
+    }
+
+    /**
+     * Test that a record cut short at the end of the log is discarded, and that the log stays usable afterwards.
+     */
+    @Test
+    void testDiscardsTornTail() throws Exception {
+        logger.info("Running testDiscardsTornTail");
+
+        // Arrange
+        InMemoryTaskStore store = open(directory);
+        long listId = store.createTaskList("Work").getId();
+        long taskId = insert(store, listId, 1).get(0);
+        store.updateTask(taskId, "Last", "Torn", null);
+        store.close();
+        Path segment = lastSegment();
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            long position = file.length() - 1;
+            file.seek(position);
+            while (file.read() == 0) {
+                file.seek(--position);
+            }
+            file.seek(position);
+            file.write(0);
+        }
+
+        // Act
+        InMemoryTaskStore recovered = open(directory);
+        long addedId = insert(recovered, listId, 1).get(0);
+        recovered.close();
+        InMemoryTaskStore reopened = open(directory);
+
+        // Assert
+        assertEquals("Task 0", reopened.findTaskDetails(taskId).orElseThrow().name());
+        assertTrue(reopened.taskExists(addedId));
+        reopened.close();
+    }
+
+    /**
+     * Test that damage before the end of the log fails recovery instead of dropping later changes.
+     */
+    @Test
+    void testRejectsDamagedSegment() throws Exception {
+        logger.info("Running testRejectsDamagedSegment");
+
+        // Arrange
+        InMemoryTaskStore store = open(directory);
+        long listId = store.createTaskList("Work").getId();
+        long taskId = insert(store, listId, 1).get(0);
+        for (int i = 0; i < 2_000; i++) {
+            store.updateTask(taskId, "Task", "Update " + i, null);
+        }
+        store.close();
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("segment-0.log").toFile(), "rw")) {
+            file.seek(100);
+            int value = file.read();
+            file.seek(100);
+            file.write(value ^ 0xFF);
+        }
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> open(directory));
+    }
+
+    /**
+     * Test that every task acknowledged by a writer process killed mid-write is recovered.
+     */
+    @Test
+    @Timeout(120)
+    void testRecoversAfterKill() throws Exception {
+        logger.info("Running testRecoversAfterKill");
+
+        // Arrange
+        InMemoryTaskStore store = open(directory);
+        long listId = store.createTaskList("Work").getId();
+        store.close();
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process writer = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                Writer.class.getName(), directory.toString(), Long.toString(listId))
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+
+        // Act
+        List<Long> acknowledged = new ArrayList<>();
+        try (BufferedReader out = new BufferedReader(
+                new InputStreamReader(writer.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                if (line.startsWith(Writer.ACK)) {
+                    acknowledged.add(Long.parseLong(line.substring(Writer.ACK.length())));
+                    if (acknowledged.size() == 2_000) {
+                        // SIGKILL through the handle, which unlike Process.destroyForcibly keeps the
+                        // pipe open for IDs acknowledged just before the kill
+                        writer.toHandle().destroyForcibly();
+                    }
+                }
+            }
+        }
+        writer.waitFor();
+        InMemoryTaskStore recovered = open(directory);
+
+        // Assert
+        assertTrue(acknowledged.size() >= 2_000, "writer stopped after " + acknowledged.size() + " tasks");
+        List<TaskItem> items = recovered.findTaskItems(listId, null, Integer.MAX_VALUE);
+        List<Long> ids = items.stream().map(TaskItem::id).toList();
+        assertTrue(ids.containsAll(acknowledged));
+        assertEquals(ids.size(), ids.stream().distinct().count());
+        ids.forEach(id -> assertTrue(recovered.taskExists(id)));
+        recovered.close();
+    }
+
+    private static InMemoryTaskStore open(Path directory) {
+        InMemoryTaskStore store = new InMemoryTaskStore();
+        ReflectionTestUtils.setField(store, "lockStripes", 4);
+        ReflectionTestUtils.setField(store, "logEnabled", true);
+        ReflectionTestUtils.setField(store, "logDirectory", directory.toString());
+        ReflectionTestUtils.setField(store, "logSegmentSize", DataSize.ofKilobytes(64));
+        store.init();
+        return store;
+    }
+
+    private static List<Long> insert(InMemoryTaskStore store, long listId, int count) {
+        List<TaskImportItem> items = new ArrayList<>();
+        List<String> rankKeys = new ArrayList<>();
+        String last = store.findLastRankKey(listId);
+        for (int i = 0; i < count; i++) {
+            items.add(new TaskImportItem(listId, "Task " + i, "Description " + i));
+            last = last == null ? "m" : last + "m";
+            rankKeys.add(last);
+        }
+        return store.insertTasks(items, rankKeys);
+    }
+
+    private Path lastSegment() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("segment-"))
+                    .max(Comparator.comparingLong(file -> Long.parseLong(
+                            file.getFileName().toString().replaceAll("\\D", ""))))
+                    .orElseThrow();
+        }
+    }
+
+    /**
+     * Adds tasks from several threads until killed, printing each task ID once its insert has returned.
+     */
+    static final class Writer {
+
+        static final String ACK = "ACK ";
+
+        public static void main(String[] args) throws Exception {
+            InMemoryTaskStore store = open(Path.of(args[0]));
+            long listId = Long.parseLong(args[1]);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            for (int thread = 0; thread < 4; thread++) {
+                executor.submit(() -> {
+                    while (true) {
+                        long taskId = store.insertTasks(List.of(new TaskImportItem(listId, "Task", "Written")),
+                                List.of("m")).get(0);
+                        synchronized (System.out) {
+                            System.out.println(ACK + taskId);
+                            System.out.flush();
+                        }
+                    }
+                });
+            }
+            executor.awaitTermination(1, TimeUnit.HOURS);
+        }
+    }
+}
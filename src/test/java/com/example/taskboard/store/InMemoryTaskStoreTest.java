@@ -0,0 +1,86 @@
+package com.example.taskboard.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.taskboard.dto.TaskListDetails;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Logger;
+
+/**
+ * Integration tests for the TaskService running on the in-memory task store.
+ */
+@SpringBootTest(properties = {"taskboard.store.engine=memory", "taskboard.store.memory.lock-stripes=4"})
+@ActiveProfiles("test")
+public class InMemoryTaskStoreTest extends TaskStoreContractTest {
+
+    private static final Logger logger = Logger.getLogger(InMemoryTaskStoreTest.class.getName());
+
+    @Autowired
+    private InMemoryTaskStore taskStore;
+
+    @Override
+    protected void clearStore() {
+        taskStore.clear();
+    }
+
+    /**
+     * Test that concurrent moves between lists in different stripes neither lose nor duplicate tasks.
+     */
+    @Test
+    void testConcurrentMovesKeepEveryTask() throws Exception {
+        logger.info("Running testConcurrentMovesKeepEveryTask");
+
+        // Arrange
+        List<Long> listIds = new ArrayList<>();
+        List<Long> taskIds = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Long listId = taskService.createTaskList("List " + i).getId();
+            listIds.add(listId);
+            for (int j = 0; j < 20; j++) {
+                taskIds.add(taskService.addTaskToList(listId, "Task " + j, "Description").getId());
+            }
+        }
+        int expectedTasks = taskService.getAllTaskLists().stream().mapToInt(list -> list.tasks().size()).sum();
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 2_000; i++) {
+                        taskService.moveTaskToList(taskIds.get(random.nextInt(taskIds.size())),
+                                listIds.get(random.nextInt(listIds.size())), null);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        Set<Long> seen = new HashSet<>();
+        for (TaskListDetails list : taskService.getAllTaskLists()) {
+            list.tasks().forEach(task -> assertTrue(seen.add(task.id())));
+            list.tasks().forEach(task -> assertEquals(list.id(), taskService.getTaskById(task.id()).taskList().id()));
+        }
+        assertEquals(expectedTasks, seen.size());
+        assertTrue(seen.containsAll(taskIds));
+    }
+}
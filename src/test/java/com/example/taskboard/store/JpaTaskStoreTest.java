@@ -0,0 +1,27 @@
+package com.example.taskboard.store;
+
+import com.example.taskboard.repository.TaskListRepository;
+import com.example.taskboard.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Integration tests for the TaskService running on the JPA task store.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class JpaTaskStoreTest extends TaskStoreContractTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Override
+    protected void clearStore() {
+        taskRepository.deleteAllInBatch();
+        taskListRepository.deleteAllInBatch();
+    }
+}
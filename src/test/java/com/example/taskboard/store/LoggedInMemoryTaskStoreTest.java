@@ -0,0 +1,35 @@
+package com.example.taskboard.store;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+
+/**
+ * Integration tests for the TaskService running on the in-memory task store with its write-ahead log.
+ */
+@SpringBootTest(properties = {"taskboard.store.engine=memory", "taskboard.store.memory.lock-stripes=4",
+        "taskboard.store.memory.log.enabled=true", "taskboard.store.memory.log.segment-size=64KB"})
+@ActiveProfiles("test")
+public class LoggedInMemoryTaskStoreTest extends TaskStoreContractTest {
+
+    @TempDir
+    static Path logDirectory;
+
+    @Autowired
+    private InMemoryTaskStore taskStore;
+
+    @DynamicPropertySource
+    static void logDirectory(DynamicPropertyRegistry registry) {
+        registry.add("taskboard.store.memory.log.directory", () -> logDirectory.toString());
+    }
+
+    @Override
+    protected void clearStore() {
+        taskStore.clear();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.taskboard.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Unit tests for the LongMap class.
+ */
+public class LongMapTest {
+
+    private static final Logger logger = Logger.getLogger(LongMapTest.class.getName());
+
+    /**
+     * Test that put, get and remove behave like a map.
+     */
+    @Test
+    void testPutGetRemove() {
+        logger.info("Running testPutGetRemove");
+
+        // Arrange
+        LongMap<String> map = new LongMap<>();
+
+        // Act & Assert
+        assertNull(map.put(1L, "one"));
+        assertEquals("one", map.put(1L, "uno"));
+        assertEquals("uno", map.get(1L));
+        assertNull(map.get(2L));
+        assertNull(map.get(0L));
+        assertEquals("uno", map.remove(1L));
+        assertNull(map.remove(1L));
+        assertEquals(0, map.size());
+        assertThrows(IllegalArgumentException.class, () -> map.put(0L, "zero"));
+    }
+
+    /**
+     * Test that random inserts and removes across resizes match a HashMap.
+     */
+    @Test
+    void testMatchesHashMap() {
+        logger.info("Running testMatchesHashMap");
+
+        // Arrange
+        LongMap<Long> map = new LongMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        // Act
+        for (int i = 0; i < 50_000; i++) {
+            long key = 1 + random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+        }
+
+        // Assert
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        Set<Long> values = new HashSet<>();
+        map.forEachValue(values::add);
+        assertEquals(new HashSet<>(expected.values()), values);
+    }
+}
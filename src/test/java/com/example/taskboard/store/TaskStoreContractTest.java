@@ -0,0 +1,543 @@
+package com.example.taskboard.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.taskboard.dto.CursorPage;
+import com.example.taskboard.dto.TaskBatchResult;
+import com.example.taskboard.dto.TaskDetails;
+import com.example.taskboard.dto.TaskFilter;
+import com.example.taskboard.dto.TaskImportItem;
+import com.example.taskboard.dto.TaskImportResult;
+import com.example.taskboard.dto.TaskItem;
+import com.example.taskboard.dto.TaskLifecycle;
+import com.example.taskboard.dto.TaskListDetails;
+import com.example.taskboard.dto.TaskListSummary;
+import com.example.taskboard.dto.TaskOverview;
+import com.example.taskboard.dto.TaskPosition;
+import com.example.taskboard.exception.InvalidTaskException;
+import com.example.taskboard.exception.TaskListNotFoundException;
+import com.example.taskboard.exception.TaskNotFoundException;
+import com.example.taskboard.exception.TaskVersionConflictException;
+import com.example.taskboard.model.TaskPriority;
+import com.example.taskboard.model.TaskStatus;
+import com.example.taskboard.service.BoardExportService;
+import com.example.taskboard.service.BoardSnapshots;
+import com.example.taskboard.service.TaskImportService;
+import com.example.taskboard.service.TaskRankRebalancer;
+import com.example.taskboard.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * The behaviour of {@link TaskService} that every {@link TaskStore} engine must preserve.
+ * Subclasses start the application with one engine and empty it before each test.
+ */
+abstract class TaskStoreContractTest {
+
+    private static final Logger logger = Logger.getLogger(TaskStoreContractTest.class.getName());
+
+    private static final long MISSING_ID = 999_999L;
+
+    @Autowired
+    protected TaskService taskService;
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private BoardExportService boardExportService;
+
+    @Autowired
+    private TaskRankRebalancer rankRebalancer;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private BoardSnapshots boardSnapshots;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long listId;
+
+    private List<Long> taskIds;
+
+    /**
+     * Removes every task list and task from the engine under test.
+     */
+    protected abstract void clearStore();
+
+    @BeforeEach
+    void setUp() {
+        clearStore();
+        boardSnapshots.discard();
+        listId = taskService.createTaskList("Work").getId();
+        taskIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            taskIds.add(taskService.addTaskToList(listId, "Task " + i, "Description " + i).getId());
+        }
+    }
+
+    /**
+     * Test for retrieving all task lists with their tasks in rank order.
+     */
+    @Test
+    void testGetAllTaskLists() {
+        logger.info("Running testGetAllTaskLists");
+
+        // Arrange
+        Long emptyListId = taskService.createTaskList("Empty").getId();
+
+        // Act
+        List<TaskListDetails> taskLists = taskService.getAllTaskLists();
+
+        // Assert
+        assertEquals(List.of(listId, emptyListId), taskLists.stream().map(TaskListDetails::id).toList());
+        assertEquals(new TaskItem(taskIds.get(0), "Task 0", "Description 0"), taskLists.get(0).tasks().get(0));
+        assertEquals(taskIds, taskLists.get(0).tasks().stream().map(TaskItem::id).toList());
+        assertTrue(taskLists.get(1).tasks().isEmpty());
+    }
+
+    /**
+     * Test for paging through task lists and their summaries.
+     */
+    @Test
+    void testTaskListPages() {
+        logger.info("Running testTaskListPages");
+
+        // Arrange
+        Long secondId = taskService.createTaskList("Second").getId();
+        Long thirdId = taskService.createTaskList("Third").getId();
+
+        // Act
+        CursorPage<TaskListDetails> first = taskService.getTaskListPage(null, 2);
+        CursorPage<TaskListDetails> last = taskService.getTaskListPage(first.nextCursor(), 2);
+        CursorPage<TaskListSummary> summaries = taskService.getTaskListSummaries(null, 10);
+
+        // Assert
+        assertEquals(List.of(listId, secondId), first.items().stream().map(TaskListDetails::id).toList());
+        assertEquals(3, first.items().get(0).tasks().size());
+        assertEquals(secondId, first.nextCursor());
+        assertEquals(List.of(thirdId), last.items().stream().map(TaskListDetails::id).toList());
+        assertNull(last.nextCursor());
+        assertEquals(List.of(new TaskListSummary(listId, "Work", 3), new TaskListSummary(secondId, "Second", 0),
+                new TaskListSummary(thirdId, "Third", 0)), summaries.items());
+    }
+
+    /**
+     * Test for adding a task to a missing task list.
+     */
+    @Test
+    void testAddTaskToListNotFound() {
+        logger.info("Running testAddTaskToListNotFound");
+
+        // Act & Assert
+        assertThrows(TaskListNotFoundException.class,
+                () -> taskService.addTaskToList(MISSING_ID, "Task", "Description"));
+    }
+
+    /**
+     * Test for updating a task, conditionally and unconditionally.
+     */
+    @Test
+    void testUpdateTask() {
+        logger.info("Running testUpdateTask");
+
+        // Arrange
+        Long taskId = taskIds.get(1);
+
+        // Act
+        taskService.updateTask(taskId, "Renamed", "Changed", 0L);
+
+        // Assert
+        TaskDetails task = taskService.getTaskById(taskId);
+        assertEquals("Renamed", task.name());
+        assertEquals("Changed", task.description());
+        assertEquals(1L, task.version());
+        assertEquals("Work", task.taskList().name());
+        assertThrows(TaskVersionConflictException.class, () -> taskService.updateTask(taskId, "Stale", "Stale", 0L));
+        assertThrows(TaskNotFoundException.class, () -> taskService.updateTask(MISSING_ID, "Name", "Description", null));
+    }
+
+    /**
+     * Test for deleting a task and a missing task.
+     */
+    @Test
+    void testDeleteTask() {
+        logger.info("Running testDeleteTask");
+
+        // Act
+        taskService.deleteTask(taskIds.get(0));
+
+        // Assert
+        assertThrows(TaskNotFoundException.class, () -> taskService.getTaskById(taskIds.get(0)));
+        assertThrows(TaskNotFoundException.class, () -> taskService.deleteTask(taskIds.get(0)));
+        assertEquals(2, taskService.getTaskPage(listId, null, 10).items().size());
+    }
+
+    /**
+     * Test for deleting a task list together with its tasks.
+     */
+    @Test
+    void testDeleteTaskList() {
+        logger.info("Running testDeleteTaskList");
+
+        // Act
+        taskService.deleteTaskList(listId);
+
+        // Assert
+        assertTrue(taskService.getAllTaskLists().isEmpty());
+        for (Long taskId : taskIds) {
+            assertThrows(TaskNotFoundException.class, () -> taskService.getTaskById(taskId));
+        }
+        assertThrows(TaskListNotFoundException.class, () -> taskService.deleteTaskList(listId));
+    }
+
+    /**
+     * Test for moving a task to another list, which appends it and bumps its version.
+     */
+    @Test
+    void testMoveTaskToList() {
+        logger.info("Running testMoveTaskToList");
+
+        // Arrange
+        Long otherListId = taskService.createTaskList("Other").getId();
+
+        // Act
+        taskService.moveTaskToList(taskIds.get(0), otherListId, null);
+
+        // Assert
+        TaskDetails task = taskService.getTaskById(taskIds.get(0));
+        assertEquals(otherListId, task.taskList().id());
+        assertEquals(1L, task.version());
+        assertEquals(List.of(taskIds.get(1), taskIds.get(2)), itemIds(listId));
+        assertThrows(TaskListNotFoundException.class,
+                () -> taskService.moveTaskToList(taskIds.get(1), MISSING_ID, null));
+        assertThrows(TaskNotFoundException.class, () -> taskService.moveTaskToList(MISSING_ID, otherListId, null));
+        assertThrows(TaskVersionConflictException.class,
+                () -> taskService.moveTaskToList(taskIds.get(0), listId, 0L));
+    }
+
+    /**
+     * Test for moving a task next to another one, within its list and into another list.
+     */
+    @Test
+    void testMoveTaskToPosition() {
+        logger.info("Running testMoveTaskToPosition");
+
+        // Arrange
+        Long otherListId = taskService.createTaskList("Other").getId();
+        Long otherTaskId = taskService.addTaskToList(otherListId, "Other", "Description").getId();
+
+        // Act
+        taskService.moveTaskToList(taskIds.get(2), listId, new TaskPosition(taskIds.get(0), null), null);
+        taskService.moveTaskToList(taskIds.get(1), otherListId, new TaskPosition(null, otherTaskId), null);
+
+        // Assert
+        assertEquals(List.of(taskIds.get(0), taskIds.get(2)), itemIds(listId));
+        assertEquals(List.of(taskIds.get(1), otherTaskId), itemIds(otherListId));
+        assertThrows(TaskNotFoundException.class, () -> taskService.moveTaskToList(taskIds.get(0), listId,
+                new TaskPosition(otherTaskId, null), null));
+    }
+
+    /**
+     * Test for paging through the tasks of a list and rebalancing its rank keys.
+     */
+    @Test
+    void testTaskPagesAndRebalance() {
+        logger.info("Running testTaskPagesAndRebalance");
+
+        // Arrange
+        for (int i = 0; i < 30; i++) {
+            Long taskId = taskService.addTaskToList(listId, "Inserted " + i, "Description").getId();
+            taskService.moveTaskToList(taskId, listId, new TaskPosition(taskIds.get(0), null), null);
+        }
+        List<Long> order = itemIds(listId);
+
+        // Act
+        int rewritten = rankRebalancer.rebalance(listId);
+        List<Long> paged = new ArrayList<>();
+        Long after = null;
+        do {
+            CursorPage<TaskItem> page = taskService.getTaskPage(listId, after, 7);
+            page.items().forEach(item -> paged.add(item.id()));
+            after = page.nextCursor();
+        } while (after != null);
+
+        // Assert
+        assertTrue(rewritten > 0);
+        assertEquals(order, paged);
+        assertThrows(TaskListNotFoundException.class, () -> taskService.getTaskPage(MISSING_ID, null, 10));
+    }
+
+    /**
+     * Test that moves without a position, single or batched, append the tasks behind the target
+     * list's tasks with keys of their own.
+     */
+    @Test
+    void testMovesWithoutPositionAppend() {
+        logger.info("Running testMovesWithoutPositionAppend");
+
+        // Arrange
+        Long otherListId = taskService.createTaskList("Other").getId();
+        Long otherTaskId = taskService.addTaskToList(otherListId, "Other", "Description").getId();
+
+        // Act
+        taskService.moveTaskToList(taskIds.get(0), otherListId, null);
+        taskService.moveTasks(List.of(taskIds.get(2), taskIds.get(1)), otherListId);
+        taskService.moveTaskToList(otherTaskId, otherListId, null);
+
+        // Assert
+        assertEquals(List.of(taskIds.get(0), taskIds.get(2), taskIds.get(1), otherTaskId), itemIds(otherListId));
+    }
+
+    /**
+     * Test that two tasks sharing a rank key are told apart again once their list is rebalanced,
+     * so a task can then be placed between them.
+     */
+    @Test
+    void testTiedKeysAreRebalanced() {
+        logger.info("Running testTiedKeysAreRebalanced");
+
+        // Arrange
+        taskStore.moveTaskToRank(taskIds.get(1), listId, taskStore.findLastRankKey(listId), null);
+        taskService.moveTaskToList(taskIds.get(0), listId, new TaskPosition(taskIds.get(1), null), null);
+        assertEquals(List.of(taskIds.get(1), taskIds.get(2), taskIds.get(0)), itemIds(listId));
+
+        // Act
+        rankRebalancer.rebalance(listId);
+        taskService.moveTaskToList(taskIds.get(0), listId, new TaskPosition(taskIds.get(1), null), null);
+
+        // Assert
+        assertEquals(List.of(taskIds.get(1), taskIds.get(0), taskIds.get(2)), itemIds(listId));
+    }
+
+    /**
+     * Test that rebalancing a list waits while a move holds the list's rank lock.
+     */
+    @Test
+    void testRebalanceWaitsForRankLock() throws Exception {
+        logger.info("Running testRebalanceWaitsForRankLock");
+
+        // Arrange
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> move = executor.submit(() -> taskStore.withRankLock(listId, () -> {
+                locked.countDown();
+                return awaitQuietly(release);
+            }));
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+            // Act
+            Future<Integer> rebalance = executor.submit(() -> rankRebalancer.rebalance(listId));
+            Thread.sleep(200);
+            boolean finishedWhileLocked = rebalance.isDone();
+            release.countDown();
+
+            // Assert
+            assertFalse(finishedWhileLocked);
+            move.get(5, TimeUnit.SECONDS);
+            rebalance.get(5, TimeUnit.SECONDS);
+            assertEquals(taskIds, itemIds(listId));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test for the batch operations, which report missing tasks instead of failing.
+     */
+    @Test
+    void testBatchOperations() {
+        logger.info("Running testBatchOperations");
+
+        // Arrange
+        Long otherListId = taskService.createTaskList("Other").getId();
+
+        // Act
+        TaskBatchResult moved = taskService.moveTasks(List.of(taskIds.get(0), MISSING_ID, taskIds.get(0)), otherListId);
+        TaskBatchResult updated = taskService.updateTasks(List.of(taskIds.get(1), taskIds.get(2)), "Done", "Closed");
+        TaskBatchResult deleted = taskService.deleteTasks(List.of(taskIds.get(2), MISSING_ID));
+
+        // Assert
+        assertEquals(new TaskBatchResult(List.of(taskIds.get(0)), List.of(MISSING_ID)), moved);
+        assertEquals(new TaskBatchResult(List.of(taskIds.get(1), taskIds.get(2)), List.of()), updated);
+        assertEquals(new TaskBatchResult(List.of(taskIds.get(2)), List.of(MISSING_ID)), deleted);
+        assertEquals(List.of(taskIds.get(0)), itemIds(otherListId));
+        assertEquals("Done", taskService.getTaskById(taskIds.get(1)).name());
+        assertThrows(TaskListNotFoundException.class, () -> taskService.moveTasks(taskIds, MISSING_ID));
+    }
+
+    /**
+     * Test that imported tasks are appended to their lists and exported with the rest of the board.
+     */
+    @Test
+    void testImportAndExport() throws Exception {
+        logger.info("Running testImportAndExport");
+
+        // Arrange
+        List<TaskImportItem> items = List.of(new TaskImportItem(listId, "Imported", "Description"),
+                new TaskImportItem(MISSING_ID, "Orphan", "Description"));
+        List<TaskImportResult> results = new ArrayList<>();
+
+        // Act
+        taskImportService.importTasks(items.iterator(), null, results::add);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        boardExportService.exportBoard(out);
+
+        // Assert
+        assertEquals(TaskImportResult.Status.CREATED, results.get(0).status());
+        assertEquals(TaskImportResult.Status.REJECTED, results.get(1).status());
+        List<Long> ids = itemIds(listId);
+        assertEquals(results.get(0).taskId(), ids.get(ids.size() - 1));
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1 + 4, lines.length);
+        assertTrue(lines[0].contains("\"type\":\"taskList\""));
+        assertTrue(lines[4].contains("\"name\":\"Imported\""));
+    }
+
+    /**
+     * Test that the board snapshot follows every kind of write, matching a fresh read of the
+     * board, while earlier snapshots and unchanged lists stay as they were.
+     */
+    @Test
+    void testSnapshotFollowsWrites() throws Exception {
+        logger.info("Running testSnapshotFollowsWrites");
+
+        // Arrange
+        Long otherListId = taskService.createTaskList("Other").getId();
+        BoardSnapshots.Snapshot initial = boardSnapshots.current();
+        List<TaskListDetails> initialLists = List.copyOf(initial.taskLists());
+
+        // Act
+        taskService.updateTask(taskIds.get(0), "Renamed", "Changed", null);
+        BoardSnapshots.Snapshot afterUpdate = boardSnapshots.current();
+        Long addedId = taskService.addTaskToList(otherListId, "Added", "Description").getId();
+        taskService.moveTaskToList(taskIds.get(1), otherListId, new TaskPosition(null, addedId), null);
+        taskService.moveTaskToList(taskIds.get(2), otherListId, null);
+        taskService.deleteTask(taskIds.get(0));
+        taskService.updateTasks(List.of(addedId), "Batch", "Batch");
+        Long thirdListId = taskService.createTaskList("Third").getId();
+        taskImportService.importTasks(List.of(new TaskImportItem(thirdListId, "Imported", "Description")).iterator(),
+                null, result -> { });
+        taskService.deleteTasks(List.of(taskIds.get(2)));
+        Long emptyListId = taskService.createTaskList("Empty").getId();
+        taskService.deleteTaskList(emptyListId);
+        BoardSnapshots.Snapshot latest = boardSnapshots.current();
+
+        // Assert
+        assertEquals(initialLists, initial.taskLists());
+        assertSame(initial.taskLists().get(1), afterUpdate.taskLists().get(1));
+        assertEquals("Renamed", afterUpdate.taskLists().get(0).tasks().get(0).name());
+        List<TaskListDetails> expected = taskService.getAllTaskLists();
+        assertEquals(expected, latest.taskLists());
+        assertArrayEquals(objectMapper.writeValueAsBytes(expected), latest.openJson().readAllBytes());
+        assertEquals(objectMapper.writeValueAsBytes(expected).length, latest.jsonLength());
+        assertEquals(List.of(listId, otherListId, thirdListId), latest.taskLists().stream().map(TaskListDetails::id).toList());
+        assertEquals(List.of(taskIds.get(1), addedId), latest.taskLists().get(1).tasks().stream().map(TaskItem::id).toList());
+    }
+
+    /**
+     * Test that tasks are filtered by status, assignee and due date across lists, in ID order and page by page.
+     */
+    @Test
+    void testFindTasksByLifecycle() {
+        logger.info("Running testFindTasksByLifecycle");
+
+        // Arrange
+        Long otherListId = taskService.createTaskList("Other").getId();
+        Long otherTaskId = taskService.addTaskToList(otherListId, "Other", "Description").getId();
+        LocalDate today = LocalDate.of(2024, 5, 1);
+        taskService.updateTaskLifecycle(taskIds.get(0),
+                new TaskLifecycle(TaskStatus.TODO, TaskPriority.HIGH, today.minusDays(1), "ada"), null);
+        taskService.updateTaskLifecycle(taskIds.get(1),
+                new TaskLifecycle(TaskStatus.DONE, TaskPriority.LOW, today.minusDays(2), "ada"), null);
+        taskService.updateTaskLifecycle(taskIds.get(2),
+                new TaskLifecycle(TaskStatus.IN_PROGRESS, null, today, "grace"), null);
+        taskService.updateTaskLifecycle(otherTaskId,
+                new TaskLifecycle(TaskStatus.IN_PROGRESS, null, null, "ada"), null);
+        Set<TaskStatus> open = Set.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS);
+
+        // Act
+        List<TaskOverview> mine = taskService.findTasks(new TaskFilter(open, "ada", null), null, null).items();
+        List<TaskOverview> overdue = taskService.findTasks(new TaskFilter(open, null, today), null, null).items();
+        CursorPage<TaskOverview> firstPage = taskService.findTasks(new TaskFilter(null, null, null), null, 3);
+        CursorPage<TaskOverview> lastPage = taskService.findTasks(new TaskFilter(null, null, null),
+                firstPage.nextCursor(), 3);
+
+        // Assert
+        assertEquals(List.of(taskIds.get(0), otherTaskId), mine.stream().map(TaskOverview::id).toList());
+        assertEquals(new TaskOverview(taskIds.get(0), "Task 0", "Description 0", 1L, TaskStatus.TODO,
+                TaskPriority.HIGH, today.minusDays(1), "ada", listId), mine.get(0));
+        assertEquals(otherListId, mine.get(1).taskListId());
+        assertEquals(List.of(taskIds.get(0)), overdue.stream().map(TaskOverview::id).toList());
+        assertEquals(taskIds, firstPage.items().stream().map(TaskOverview::id).toList());
+        assertEquals(List.of(otherTaskId), lastPage.items().stream().map(TaskOverview::id).toList());
+        assertNull(lastPage.nextCursor());
+    }
+
+    /**
+     * Test that new tasks start with the default lifecycle and that lifecycle changes are versioned.
+     */
+    @Test
+    void testUpdateTaskLifecycle() {
+        logger.info("Running testUpdateTaskLifecycle");
+
+        // Arrange
+        Long taskId = taskIds.get(0);
+        TaskLifecycle lifecycle = new TaskLifecycle(TaskStatus.IN_PROGRESS, TaskPriority.HIGH, LocalDate.of(2024, 5, 1), "ada");
+        TaskOverview created = taskService.findTasks(new TaskFilter(null, null, null), null, 1).items().get(0);
+
+        // Act
+        taskService.updateTaskLifecycle(taskId, lifecycle, 0L);
+        TaskOverview updated = taskService.findTasks(new TaskFilter(null, "ada", null), null, null).items().get(0);
+
+        // Assert
+        assertEquals(new TaskOverview(taskId, "Task 0", "Description 0", 0L, TaskStatus.TODO, TaskPriority.MEDIUM,
+                null, null, listId), created);
+        assertEquals(new TaskOverview(taskId, "Task 0", "Description 0", 1L, TaskStatus.IN_PROGRESS,
+                TaskPriority.HIGH, LocalDate.of(2024, 5, 1), "ada", listId), updated);
+        assertEquals(1L, taskService.getTaskById(taskId).version());
+        assertThrows(TaskVersionConflictException.class, () -> taskService.updateTaskLifecycle(taskId, lifecycle, 0L));
+        assertThrows(TaskNotFoundException.class, () -> taskService.updateTaskLifecycle(MISSING_ID, lifecycle, null));
+        assertThrows(InvalidTaskException.class, () -> taskService.updateTaskLifecycle(taskId,
+                new TaskLifecycle(null, null, null, " "), null));
+        assertThrows(InvalidTaskException.class, () -> taskService.updateTaskLifecycle(taskId,
+                new TaskLifecycle(null, null, null, "a".repeat(65)), null));
+        assertEquals(1L, taskService.getTaskById(taskId).version());
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private List<Long> itemIds(Long taskListId) {
+        return taskService.getTaskPage(taskListId, null, TaskService.MAX_PAGE_SIZE).items().stream()
+                .map(TaskItem::id)
+                .toList();
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.taskboard.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.taskboard.dto.TaskDetails;
+import com.example.taskboard.dto.TaskItem;
+import com.example.taskboard.dto.TaskListDetails;
+import com.example.taskboard.exception.TaskNotFoundException;
+import com.example.taskboard.repository.TaskListRepository;
+import com.example.taskboard.repository.TaskRepository;
+import com.example.taskboard.service.BoardSnapshots;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Integration tests for the TaskService running on the JPA task store behind the write-behind queue.
+ * The queue is only flushed by the tests and by the reads and writes that require it.
+ */
+@SpringBootTest(properties = {"taskboard.write-behind.enabled=true",
+        "taskboard.write-behind.flush-delay-millis=3600000"})
+@ActiveProfiles("test")
+public class WriteBehindTaskStoreTest extends TaskStoreContractTest {
+
+    private static final Logger logger = Logger.getLogger(WriteBehindTaskStoreTest.class.getName());
+
+    @Autowired
+    private WriteBehindTaskStore taskStore;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BoardSnapshots boardSnapshots;
+
+    @Override
+    protected void clearStore() {
+        taskStore.flush();
+        taskRepository.deleteAllInBatch();
+        taskListRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Test that repeated updates are acknowledged, visible and versioned before they are written,
+     * and are written as one row change carrying the final version.
+     */
+    @Test
+    void testUpdatesAreCoalescedUntilFlushed() {
+        logger.info("Running testUpdatesAreCoalescedUntilFlushed");
+
+        // Arrange
+        Long taskId = taskService.getTaskPage(taskService.getAllTaskLists().get(0).id(), null, 1).items().get(0).id();
+        Long otherListId = taskService.createTaskList("Other").getId();
+        long flushes = meterRegistry.get("taskboard.write-behind.flush").timer().count();
+
+        // Act
+        taskService.updateTask(taskId, "First", "First", 0L);
+        taskService.updateTask(taskId, "Second", "Second", 1L);
+        taskService.moveTaskToList(taskId, otherListId, 2L);
+        TaskDetails queued = taskService.getTaskById(taskId);
+        Map<String, Object> rowBeforeFlush = row(taskId);
+        double pending = meterRegistry.get("taskboard.write-behind.pending").gauge().value();
+        taskStore.flush();
+
+        // Assert
+        assertEquals(new TaskDetails(taskId, "Second", "Second", 3L, otherListId, "Other"), queued);
+        assertEquals(0L, ((Number) rowBeforeFlush.get("VERSION")).longValue());
+        assertEquals("Task 0", rowBeforeFlush.get("NAME"));
+        assertEquals(1.0, pending);
+        Map<String, Object> row = row(taskId);
+        assertEquals(3L, ((Number) row.get("VERSION")).longValue());
+        assertEquals("Second", row.get("NAME"));
+        assertEquals(otherListId, ((Number) row.get("TASK_LIST_ID")).longValue());
+        assertEquals(flushes + 1, meterRegistry.get("taskboard.write-behind.flush").timer().count());
+        assertEquals(0.0, meterRegistry.get("taskboard.write-behind.pending").gauge().value());
+    }
+
+    /**
+     * Test that reads spanning a board see queued moves, by flushing them first.
+     */
+    @Test
+    void testBoardReadsSeeQueuedMoves() {
+        logger.info("Running testBoardReadsSeeQueuedMoves");
+
+        // Arrange
+        Long listId = taskService.getAllTaskLists().get(0).id();
+        Long taskId = taskService.getTaskPage(listId, null, 1).items().get(0).id();
+        Long otherListId = taskService.createTaskList("Other").getId();
+        taskService.moveTaskToList(taskId, otherListId, null);
+
+        // Act
+        List<TaskListDetails> taskLists = taskService.getAllTaskLists();
+
+        // Assert
+        assertEquals(2, taskLists.get(0).tasks().size());
+        assertEquals(List.of(taskId), taskLists.get(1).tasks().stream().map(TaskItem::id).toList());
+        assertEquals(1L, ((Number) row(taskId).get("VERSION")).longValue());
+    }
+
+    /**
+     * Test that the board snapshot follows queued updates and moves without flushing them, and
+     * still matches the board once they are written.
+     */
+    @Test
+    void testSnapshotFollowsQueueWithoutFlushing() {
+        logger.info("Running testSnapshotFollowsQueueWithoutFlushing");
+
+        // Arrange
+        Long listId = taskService.getAllTaskLists().get(0).id();
+        List<Long> taskIds = taskService.getTaskPage(listId, null, 10).items().stream().map(TaskItem::id).toList();
+        Long otherListId = taskService.createTaskList("Other").getId();
+        Long otherTaskId = taskService.addTaskToList(otherListId, "Other", "Description").getId();
+        boardSnapshots.current();
+        long flushes = meterRegistry.get("taskboard.write-behind.flush").timer().count();
+
+        // Act
+        taskService.updateTask(taskIds.get(0), "Queued", "Queued", null);
+        taskService.moveTaskToList(taskIds.get(0), otherListId, null);
+        taskService.moveTaskToList(taskIds.get(1), otherListId, null);
+        List<TaskListDetails> queued = List.copyOf(boardSnapshots.current().taskLists());
+
+        // Assert
+        assertEquals(flushes, meterRegistry.get("taskboard.write-behind.flush").timer().count());
+        assertEquals(0L, ((Number) row(taskIds.get(0)).get("VERSION")).longValue());
+        assertEquals(List.of(taskIds.get(2)), queued.get(0).tasks().stream().map(TaskItem::id).toList());
+        assertEquals(List.of(otherTaskId, taskIds.get(0), taskIds.get(1)),
+                queued.get(1).tasks().stream().map(TaskItem::id).toList());
+        assertEquals("Queued", queued.get(1).tasks().get(1).name());
+        assertEquals(taskService.getAllTaskLists(), queued);
+    }
+
+    /**
+     * Test that a queued change to a task deleted behind the queue's back is discarded on flush.
+     */
+    @Test
+    void testChangeToTaskDeletedElsewhereIsDiscarded() {
+        logger.info("Running testChangeToTaskDeletedElsewhereIsDiscarded");
+
+        // Arrange
+        Long taskId = taskService.getTaskPage(taskService.getAllTaskLists().get(0).id(), null, 1).items().get(0).id();
+        double dropped = meterRegistry.get("taskboard.write-behind.dropped").counter().count();
+        taskService.updateTask(taskId, "Lost", "Lost", null);
+        jdbcTemplate.update("DELETE FROM task WHERE id = ?", taskId);
+
+        // Act
+        taskStore.flush();
+
+        // Assert
+        assertEquals(dropped + 1, meterRegistry.get("taskboard.write-behind.dropped").counter().count());
+        assertThrows(TaskNotFoundException.class, () -> taskService.getTaskById(taskId));
+    }
+
+    /**
+     * Test that every queued change is written when the application stops.
+     */
+    @Test
+    void testQueueIsDrainedOnShutdown() {
+        logger.info("Running testQueueIsDrainedOnShutdown");
+
+        // Arrange
+        Long taskId = taskService.getTaskPage(taskService.getAllTaskLists().get(0).id(), null, 1).items().get(0).id();
+        taskService.updateTask(taskId, "Kept", "Kept", null);
+
+        // Act
+        taskStore.drain();
+
+        // Assert
+        assertEquals("Kept", row(taskId).get("NAME"));
+    }
+
+    private Map<String, Object> row(Long taskId) {
+        return jdbcTemplate.queryForMap("SELECT name, version, task_list_id FROM task WHERE id = ?", taskId);
+    }
+}